@@ -0,0 +1,285 @@
+package com.exchange.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Grafo de moedas para taxas cruzadas.
+ * As taxas ativas ficam numa matriz densa indexada pelos ids do CurrencyRegistry; o melhor caminho
+ * é o de menos saltos e, entre esses, o de maior taxa resultante. Os caminhos calculados ficam em cache
+ * e, a cada nova fotografia de taxas, só são descartados os que dependem de uma aresta que mudou.
+ */
+@Slf4j
+@Component
+public class CurrencyGraph {
+
+    @Autowired
+    private ExchangeRateSnapshotHolder snapshotHolder;
+
+    @Autowired
+    private CurrencyRegistry currencyRegistry;
+
+    @Value("${app.conversion.cross-rate.max-hops:3}")
+    private int maxHops;
+
+    private final ConcurrentHashMap<Long, CrossRatePath> paths = new ConcurrentHashMap<>();
+
+    private final Object rebuildLock = new Object();
+
+    private volatile RateMatrix matrix;
+
+    /**
+     * Melhor caminho de from até to, ou vazio se não houver caminho em até max-hops saltos
+     */
+    public Optional<CrossRatePath> findPath(String fromCurrencyPrefix, String toCurrencyPrefix) {
+        RateMatrix current = current();
+        int from = currencyRegistry.idOf(fromCurrencyPrefix);
+        int to = currencyRegistry.idOf(toCurrencyPrefix);
+        if (!current.contains(from) || !current.contains(to) || from == to) {
+            return Optional.empty();
+        }
+
+        long key = pairKey(from, to);
+        CrossRatePath cached = paths.get(key);
+        if (cached == null) {
+            CrossRatePath computed = search(current, from, to);
+            cached = computed != null ? computed : CrossRatePath.NONE;
+            paths.put(key, cached);
+            // A matriz pode ter mudado durante a busca: descarta o resultado calculado sobre a anterior
+            if (matrix != current) {
+                paths.remove(key, cached);
+            }
+        }
+        return cached != CrossRatePath.NONE ? Optional.of(cached) : Optional.empty();
+    }
+
+    public int cachedPaths() {
+        return paths.size();
+    }
+
+    /**
+     * Matriz correspondente à fotografia corrente, reconstruída quando a versão muda
+     */
+    private RateMatrix current() {
+        ExchangeRateSnapshot snapshot = snapshotHolder.current();
+        RateMatrix current = matrix;
+        if (current != null && current.version >= snapshot.getVersion()) {
+            return current;
+        }
+
+        synchronized (rebuildLock) {
+            current = matrix;
+            if (current != null && current.version >= snapshot.getVersion()) {
+                return current;
+            }
+            RateMatrix next = RateMatrix.build(snapshot, currencyRegistry);
+            matrix = next;
+            if (current == null) {
+                paths.clear();
+            } else {
+                invalidateChangedEdges(current, next);
+            }
+            return next;
+        }
+    }
+
+    /**
+     * Compara as matrizes aresta a aresta.
+     * Aresta removida ou taxa menor: só os caminhos que passam por ela deixam de ser válidos.
+     * Aresta nova ou taxa maior: qualquer caminho pode ter ficado pior que um novo, então tudo é descartado.
+     */
+    private void invalidateChangedEdges(RateMatrix previous, RateMatrix next) {
+        int size = Math.max(previous.size, next.size);
+        int invalidated = 0;
+        for (int from = 0; from < size; from++) {
+            for (int to = 0; to < size; to++) {
+                BigDecimal before = previous.rate(from, to);
+                BigDecimal after = next.rate(from, to);
+                if (before == null && after == null) {
+                    continue;
+                }
+                if (before == null || (after != null && after.compareTo(before) > 0)) {
+                    log.debug("Aresta {} → {} nova ou com taxa maior, descartando todos os caminhos",
+                        currencyRegistry.prefixOf(from), currencyRegistry.prefixOf(to));
+                    paths.clear();
+                    return;
+                }
+                if (after == null || after.compareTo(before) < 0) {
+                    int edgeFrom = from;
+                    int edgeTo = to;
+                    int sizeBefore = paths.size();
+                    paths.values().removeIf(path -> path.usesEdge(edgeFrom, edgeTo));
+                    invalidated += sizeBefore - paths.size();
+                }
+            }
+        }
+        if (invalidated > 0) {
+            log.debug("{} caminhos de taxa cruzada descartados", invalidated);
+        }
+    }
+
+    /**
+     * Busca em largura por camadas: cada moeda é alcançada no menor número de saltos possível,
+     * guardando a maior taxa acumulada entre os predecessores daquela camada
+     */
+    private CrossRatePath search(RateMatrix current, int from, int to) {
+        int size = current.size;
+        BigDecimal[] best = new BigDecimal[size];
+        int[] parent = new int[size];
+        boolean[] visited = new boolean[size];
+        Arrays.fill(parent, -1);
+
+        best[from] = BigDecimal.ONE;
+        visited[from] = true;
+        List<Integer> frontier = List.of(from);
+
+        for (int hop = 1; hop <= maxHops && !frontier.isEmpty(); hop++) {
+            List<Integer> reached = new ArrayList<>();
+            for (int node : frontier) {
+                for (int next = 0; next < size; next++) {
+                    BigDecimal rate = current.rate(node, next);
+                    if (rate == null || visited[next]) {
+                        continue;
+                    }
+                    BigDecimal candidate = best[node].multiply(rate);
+                    if (best[next] == null) {
+                        reached.add(next);
+                    }
+                    if (best[next] == null || candidate.compareTo(best[next]) > 0) {
+                        best[next] = candidate;
+                        parent[next] = node;
+                    }
+                }
+            }
+            for (int node : reached) {
+                visited[node] = true;
+            }
+            if (visited[to]) {
+                return CrossRatePath.of(parent, from, to, best[to], currencyRegistry);
+            }
+            frontier = reached;
+        }
+        return null;
+    }
+
+    private static long pairKey(int from, int to) {
+        return ((long) from << 32) | (to & 0xffffffffL);
+    }
+
+    /**
+     * Matriz imutável das taxas ativas, indexada pelos ids internos das moedas
+     */
+    private static final class RateMatrix {
+        private final long version;
+        private final int size;
+        private final BigDecimal[][] rates;
+        private final boolean[] active;
+
+        private RateMatrix(long version, int size, BigDecimal[][] rates, boolean[] active) {
+            this.version = version;
+            this.size = size;
+            this.rates = rates;
+            this.active = active;
+        }
+
+        private static RateMatrix build(ExchangeRateSnapshot snapshot, CurrencyRegistry registry) {
+            for (String prefix : snapshot.getActiveCurrencies()) {
+                registry.intern(prefix);
+            }
+            snapshot.forEachRate((from, to, rate) -> {
+                registry.intern(from);
+                registry.intern(to);
+            });
+
+            int size = registry.size();
+            BigDecimal[][] rates = new BigDecimal[size][size];
+            boolean[] active = new boolean[size];
+            for (String prefix : snapshot.getActiveCurrencies()) {
+                active[registry.idOf(prefix)] = true;
+            }
+            snapshot.forEachRate((from, to, rate) -> {
+                int fromId = registry.idOf(from);
+                int toId = registry.idOf(to);
+                if (fromId < size && toId < size && active[fromId] && active[toId]) {
+                    rates[fromId][toId] = rate;
+                }
+            });
+            return new RateMatrix(snapshot.getVersion(), size, rates, active);
+        }
+
+        private boolean contains(int id) {
+            return id >= 0 && id < size && active[id];
+        }
+
+        private BigDecimal rate(int from, int to) {
+            return from < size && to < size ? rates[from][to] : null;
+        }
+    }
+
+    /**
+     * Caminho de conversão entre duas moedas e a taxa resultante (produto exato das taxas)
+     */
+    public static final class CrossRatePath {
+        private static final CrossRatePath NONE = new CrossRatePath(new int[0], List.of(), null);
+
+        private final int[] nodes;
+        private final List<String> prefixes;
+        private final BigDecimal rate;
+
+        private CrossRatePath(int[] nodes, List<String> prefixes, BigDecimal rate) {
+            this.nodes = nodes;
+            this.prefixes = prefixes;
+            this.rate = rate;
+        }
+
+        private static CrossRatePath of(int[] parent, int from, int to, BigDecimal rate, CurrencyRegistry registry) {
+            List<Integer> reversed = new ArrayList<>();
+            for (int node = to; node != -1; node = node == from ? -1 : parent[node]) {
+                reversed.add(node);
+            }
+            Collections.reverse(reversed);
+
+            int[] nodes = new int[reversed.size()];
+            List<String> prefixes = new ArrayList<>(reversed.size());
+            for (int i = 0; i < nodes.length; i++) {
+                nodes[i] = reversed.get(i);
+                prefixes.add(registry.prefixOf(nodes[i]));
+            }
+            return new CrossRatePath(nodes, List.copyOf(prefixes), rate);
+        }
+
+        /**
+         * Moedas percorridas, da origem ao destino
+         */
+        public List<String> getPrefixes() {
+            return prefixes;
+        }
+
+        public BigDecimal getRate() {
+            return rate;
+        }
+
+        public int getHops() {
+            return Math.max(0, nodes.length - 1);
+        }
+
+        private boolean usesEdge(int from, int to) {
+            for (int i = 0; i + 1 < nodes.length; i++) {
+                if (nodes[i] == from && nodes[i + 1] == to) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package com.exchange.cache;
+
+import com.exchange.domain.dto.CurrencyInfo;
+import com.exchange.domain.entity.Currency;
+import com.exchange.domain.event.CurrencyChangedEvent;
+import com.exchange.repository.CurrencyRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Registro local de moedas.
+ * Cada prefix recebe um id inteiro pequeno e estável durante a vida do processo,
+ * e as consultas de existência e de metadados são respondidas em memória.
+ */
+@Slf4j
+@Component
+public class CurrencyRegistry {
+
+    public static final int UNKNOWN_ID = -1;
+
+    @Autowired
+    private CurrencyRepository currencyRepository;
+
+    private final ConcurrentHashMap<String, Integer> idsByPrefix = new ConcurrentHashMap<>();
+
+    private volatile String[] prefixesById = new String[0];
+
+    private final AtomicReference<State> state = new AtomicReference<>();
+
+    private final AtomicLong versionSequence = new AtomicLong();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        State loaded = refresh();
+        log.info("Registro de moedas carregado: versão {}, {} prefixos conhecidos", loaded.version, prefixesById.length);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public void onCurrencyChanged(CurrencyChangedEvent event) {
+        State refreshed = refresh();
+        log.debug("Registro de moedas atualizado para versão {} após {}", refreshed.version, event);
+    }
+
+    /**
+     * Recarrega todas as linhas de currencies (ativas e inativas)
+     */
+    public State refresh() {
+        long version = versionSequence.incrementAndGet();
+        List<Currency> currencies = currencyRepository.findAll();
+
+        for (Currency currency : currencies) {
+            intern(currency.getPrefix());
+        }
+
+        CurrencyInfo[] activeById = new CurrencyInfo[prefixesById.length];
+        for (Currency currency : currencies) {
+            if (Boolean.TRUE.equals(currency.getIsActive())) {
+                activeById[idOf(currency.getPrefix())] = new CurrencyInfo(
+                    currency.getPrefix(), currency.getName(), currency.getDescription());
+            }
+        }
+
+        State candidate = new State(version, activeById);
+        return state.accumulateAndGet(candidate, (previous, next) ->
+            previous == null || previous.version < next.version ? next : previous);
+    }
+
+    /**
+     * Retorna o id do prefix, criando um novo se ainda não existir
+     */
+    public int intern(String prefix) {
+        Integer id = idsByPrefix.get(prefix);
+        if (id != null) {
+            return id;
+        }
+        synchronized (this) {
+            id = idsByPrefix.get(prefix);
+            if (id == null) {
+                String[] grown = Arrays.copyOf(prefixesById, prefixesById.length + 1);
+                id = grown.length - 1;
+                grown[id] = prefix;
+                prefixesById = grown;
+                idsByPrefix.put(prefix, id);
+            }
+            return id;
+        }
+    }
+
+    /**
+     * Retorna o id do prefix ou UNKNOWN_ID se ele nunca foi visto
+     */
+    public int idOf(String prefix) {
+        if (prefix == null) {
+            return UNKNOWN_ID;
+        }
+        Integer id = idsByPrefix.get(prefix);
+        return id != null ? id : UNKNOWN_ID;
+    }
+
+    public String prefixOf(int id) {
+        String[] prefixes = prefixesById;
+        return id >= 0 && id < prefixes.length ? prefixes[id] : null;
+    }
+
+    /**
+     * Quantidade de prefixos já internados (limite superior exclusivo dos ids)
+     */
+    public int size() {
+        return prefixesById.length;
+    }
+
+    public long getVersion() {
+        return current().version;
+    }
+
+    public boolean isActive(String prefix) {
+        return current().activeInfo(idOf(prefix)) != null;
+    }
+
+    public boolean isActive(int id) {
+        return current().activeInfo(id) != null;
+    }
+
+    /**
+     * Metadados da moeda ativa. Retorna uma cópia para que o registro não seja alterado por quem chama
+     */
+    public Optional<CurrencyInfo> findActive(String prefix) {
+        CurrencyInfo info = current().activeInfo(idOf(prefix));
+        return info != null
+            ? Optional.of(new CurrencyInfo(info.getCode(), info.getName(), info.getDescription()))
+            : Optional.empty();
+    }
+
+    private State current() {
+        State current = state.get();
+        return current != null ? current : refresh();
+    }
+
+    /**
+     * Estado imutável das moedas ativas, indexado pelo id interno
+     */
+    public static final class State {
+        private final long version;
+        private final CurrencyInfo[] activeById;
+
+        private State(long version, CurrencyInfo[] activeById) {
+            this.version = version;
+            this.activeById = activeById;
+        }
+
+        public long getVersion() {
+            return version;
+        }
+
+        private CurrencyInfo activeInfo(int id) {
+            return id >= 0 && id < activeById.length ? activeById[id] : null;
+        }
+    }
+}
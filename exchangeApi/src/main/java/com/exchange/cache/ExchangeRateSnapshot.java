@@ -0,0 +1,123 @@
+package com.exchange.cache;
+
+import com.exchange.domain.entity.Currency;
+import com.exchange.domain.entity.ExchangeRate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Fotografia imutável e versionada das moedas ativas e das taxas de câmbio ativas.
+ * Nunca é alterada depois de criada: mudanças geram uma nova instância.
+ */
+public final class ExchangeRateSnapshot {
+
+    private final long version;
+    private final Set<String> activeCurrencies;
+    private final Map<String, RateEntry> ratesByPair;
+
+    private ExchangeRateSnapshot(long version, Set<String> activeCurrencies, Map<String, RateEntry> ratesByPair) {
+        this.version = version;
+        this.activeCurrencies = activeCurrencies;
+        this.ratesByPair = ratesByPair;
+    }
+
+    /**
+     * Monta a fotografia a partir das linhas ativas do banco.
+     * As taxas devem vir ordenadas por created_at DESC: a primeira de cada par prevalece.
+     */
+    public static ExchangeRateSnapshot of(long version, Collection<Currency> currencies, Collection<ExchangeRate> rates) {
+        Set<String> activeCurrencies = new HashSet<>();
+        for (Currency currency : currencies) {
+            activeCurrencies.add(currency.getPrefix());
+        }
+
+        Map<String, RateEntry> ratesByPair = new HashMap<>();
+        for (ExchangeRate rate : rates) {
+            ratesByPair.putIfAbsent(pairKey(rate.getFromCurrencyPrefix(), rate.getToCurrencyPrefix()), new RateEntry(rate));
+        }
+
+        return new ExchangeRateSnapshot(version, Set.copyOf(activeCurrencies), Map.copyOf(ratesByPair));
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public boolean isCurrencyActive(String prefix) {
+        return prefix != null && activeCurrencies.contains(prefix);
+    }
+
+    public Set<String> getActiveCurrencies() {
+        return activeCurrencies;
+    }
+
+    /**
+     * Busca a taxa ativa do par. Retorna sempre uma cópia, nunca a instância interna.
+     */
+    public Optional<ExchangeRate> findRate(String fromCurrencyPrefix, String toCurrencyPrefix) {
+        if (fromCurrencyPrefix == null || toCurrencyPrefix == null) {
+            return Optional.empty();
+        }
+        RateEntry entry = ratesByPair.get(pairKey(fromCurrencyPrefix, toCurrencyPrefix));
+        return entry != null ? Optional.of(entry.toEntity()) : Optional.empty();
+    }
+
+    public boolean hasRate(String fromCurrencyPrefix, String toCurrencyPrefix) {
+        return ratesByPair.containsKey(pairKey(fromCurrencyPrefix, toCurrencyPrefix));
+    }
+
+    public int size() {
+        return ratesByPair.size();
+    }
+
+    /**
+     * Percorre todas as taxas ativas da fotografia
+     */
+    public void forEachRate(RateVisitor visitor) {
+        for (RateEntry entry : ratesByPair.values()) {
+            visitor.visit(entry.fromCurrencyPrefix, entry.toCurrencyPrefix, entry.rate);
+        }
+    }
+
+    @FunctionalInterface
+    public interface RateVisitor {
+        void visit(String fromCurrencyPrefix, String toCurrencyPrefix, BigDecimal rate);
+    }
+
+    private static String pairKey(String fromCurrencyPrefix, String toCurrencyPrefix) {
+        return fromCurrencyPrefix + ':' + toCurrencyPrefix;
+    }
+
+    /**
+     * Valores copiados da entidade no momento da montagem da fotografia
+     */
+    private static final class RateEntry {
+        private final String fromCurrencyPrefix;
+        private final String toCurrencyPrefix;
+        private final BigDecimal rate;
+        private final LocalDateTime createdAt;
+        private final LocalDateTime updatedAt;
+
+        private RateEntry(ExchangeRate rate) {
+            this.fromCurrencyPrefix = rate.getFromCurrencyPrefix();
+            this.toCurrencyPrefix = rate.getToCurrencyPrefix();
+            this.rate = rate.getRate();
+            this.createdAt = rate.getCreatedAt();
+            this.updatedAt = rate.getUpdatedAt();
+        }
+
+        private ExchangeRate toEntity() {
+            ExchangeRate entity = new ExchangeRate(fromCurrencyPrefix, toCurrencyPrefix, rate);
+            entity.setCreatedAt(createdAt);
+            entity.setUpdatedAt(updatedAt);
+            return entity;
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.exchange.cache;
+
+import com.exchange.domain.entity.Currency;
+import com.exchange.domain.entity.ExchangeRate;
+import com.exchange.domain.event.CurrencyChangedEvent;
+import com.exchange.domain.event.ExchangeRateChangedEvent;
+import com.exchange.repository.CurrencyRepository;
+import com.exchange.repository.ExchangeRateRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Mantém a fotografia corrente de taxas e moedas ativas.
+ * Leituras são apenas um get atômico; a troca acontece após o commit das escritas.
+ */
+@Slf4j
+@Component
+public class ExchangeRateSnapshotHolder {
+
+    @Autowired
+    private ExchangeRateRepository exchangeRateRepository;
+
+    @Autowired
+    private CurrencyRepository currencyRepository;
+
+    private final AtomicReference<ExchangeRateSnapshot> current = new AtomicReference<>();
+
+    private final AtomicLong versionSequence = new AtomicLong();
+
+    /**
+     * Retorna a fotografia corrente, carregando-a na primeira chamada se necessário
+     */
+    public ExchangeRateSnapshot current() {
+        ExchangeRateSnapshot snapshot = current.get();
+        return snapshot != null ? snapshot : refresh();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        ExchangeRateSnapshot snapshot = refresh();
+        log.info("Fotografia de taxas carregada: versão {}, {} pares ativos", snapshot.getVersion(), snapshot.size());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public void onExchangeRateChanged(ExchangeRateChangedEvent event) {
+        ExchangeRateSnapshot snapshot = refresh();
+        log.debug("Fotografia de taxas atualizada para versão {} após {}", snapshot.getVersion(), event);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public void onCurrencyChanged(CurrencyChangedEvent event) {
+        ExchangeRateSnapshot snapshot = refresh();
+        log.debug("Fotografia de taxas atualizada para versão {} após {}", snapshot.getVersion(), event);
+    }
+
+    /**
+     * Recarrega moedas e taxas ativas e publica uma nova fotografia.
+     * A versão é reservada antes da leitura, então uma recarga mais antiga nunca
+     * sobrescreve uma mais nova que tenha terminado antes dela.
+     */
+    public ExchangeRateSnapshot refresh() {
+        long version = versionSequence.incrementAndGet();
+
+        List<Currency> currencies = currencyRepository.findByIsActiveTrue();
+        List<ExchangeRate> rates = exchangeRateRepository.findAllActive();
+        ExchangeRateSnapshot candidate = ExchangeRateSnapshot.of(version, currencies, rates);
+
+        return current.accumulateAndGet(candidate, (previous, next) ->
+            previous == null || previous.getVersion() < next.getVersion() ? next : previous);
+    }
+}
@@ -0,0 +1,163 @@
+package com.exchange.cache;
+
+import com.exchange.cache.ProductMultiplierTable.EffectiveRate;
+import com.exchange.domain.dto.KingdomInfo;
+import com.exchange.util.ConversionCalculator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Quadro de cotações por reino: taxa efetiva (taxa × qualidade do reino × bônus de owner) de cada par
+ * ativo, numa matriz densa indexada pelos ids do CurrencyRegistry. Uma conversão padrão fica em uma
+ * consulta ao array e uma multiplicação pela quantidade.
+ * O quadro de um reino é refeito quando muda a fotografia de taxas ou a qualidade/owner do reino;
+ * na troca de fotografia só as células cuja taxa mudou são recalculadas.
+ * As taxas efetivas por produto ficam em {@link ProductMultiplierTable}.
+ */
+@Slf4j
+@Component
+public class KingdomQuoteBoard {
+
+    @Autowired
+    private ExchangeRateSnapshotHolder snapshotHolder;
+
+    @Autowired
+    private CurrencyRegistry currencyRegistry;
+
+    @Value("${app.conversion.quote-board.max-kingdoms:1000}")
+    private int maxKingdoms;
+
+    private final ConcurrentHashMap<Long, Board> boards = new ConcurrentHashMap<>();
+
+    /**
+     * Taxa efetiva do par para o reino. Usa a célula pré-calculada quando a taxa informada é a mesma
+     * da fotografia corrente; caso contrário (taxa vinda de outra fonte) calcula na hora
+     */
+    public EffectiveRate quote(String fromCurrencyPrefix, String toCurrencyPrefix, BigDecimal rate, KingdomInfo kingdomInfo) {
+        BigDecimal kingdomQuality = kingdomInfo.getQualityRate();
+        boolean owner = kingdomInfo.getIsOwner();
+        if (kingdomInfo.getId() == null) {
+            return new EffectiveRate(compile(rate, kingdomQuality, owner));
+        }
+
+        Board board = boardFor(kingdomInfo.getId(), kingdomQuality, owner);
+        int cell = board.cellOf(currencyRegistry.idOf(fromCurrencyPrefix), currencyRegistry.idOf(toCurrencyPrefix));
+        if (cell >= 0 && board.quotes[cell] != null && same(board.baseRates[cell], rate)) {
+            return board.quotes[cell];
+        }
+        return new EffectiveRate(compile(rate, kingdomQuality, owner));
+    }
+
+    public int size() {
+        return boards.size();
+    }
+
+    /**
+     * Quadro do reino correspondente à fotografia corrente e aos valores atuais do reino
+     */
+    private Board boardFor(Long kingdomId, BigDecimal kingdomQuality, boolean owner) {
+        ExchangeRateSnapshot snapshot = snapshotHolder.current();
+        int width = currencyRegistry.size();
+
+        Board board = boards.get(kingdomId);
+        if (board != null && board.isCurrent(snapshot.getVersion(), width, kingdomQuality, owner)) {
+            return board;
+        }
+
+        if (board == null && boards.size() >= maxKingdoms) {
+            boards.clear();
+        }
+        return boards.compute(kingdomId, (id, previous) ->
+            previous != null && previous.isCurrent(snapshot.getVersion(), width, kingdomQuality, owner)
+                ? previous
+                : rebuild(id, previous, snapshot, width, kingdomQuality, owner));
+    }
+
+    /**
+     * Monta o quadro a partir da fotografia, reaproveitando as células do quadro anterior
+     * cuja taxa e valores do reino não mudaram
+     */
+    private Board rebuild(Long kingdomId, Board previous, ExchangeRateSnapshot snapshot, int width,
+                          BigDecimal kingdomQuality, boolean owner) {
+        Board board = new Board(snapshot.getVersion(), width, kingdomQuality, owner);
+        boolean reusable = previous != null && previous.owner == owner && same(previous.kingdomQuality, kingdomQuality);
+        int[] recomputed = {0};
+
+        snapshot.forEachRate((from, to, rate) -> {
+            int cell = board.cellOf(currencyRegistry.idOf(from), currencyRegistry.idOf(to));
+            if (cell < 0) {
+                return;
+            }
+            board.baseRates[cell] = rate;
+            if (reusable) {
+                int previousCell = previous.cellOf(currencyRegistry.idOf(from), currencyRegistry.idOf(to));
+                if (previousCell >= 0 && previous.quotes[previousCell] != null && same(previous.baseRates[previousCell], rate)) {
+                    board.quotes[cell] = previous.quotes[previousCell];
+                    return;
+                }
+            }
+            board.quotes[cell] = new EffectiveRate(compile(rate, kingdomQuality, owner));
+            recomputed[0]++;
+        });
+
+        log.debug("Quadro de cotações do reino {} atualizado para a versão {}: {} células recalculadas",
+            kingdomId, snapshot.getVersion(), recomputed[0]);
+        return board;
+    }
+
+    /**
+     * Produto exato (sem arredondamento), igual à multiplicação em cadeia do ConversionCalculator
+     */
+    private static BigDecimal compile(BigDecimal rate, BigDecimal kingdomQuality, boolean owner) {
+        return rate
+            .multiply(kingdomQuality)
+            .multiply(owner ? ConversionCalculator.OWNER_BONUS : BigDecimal.ONE);
+    }
+
+    /**
+     * equals do BigDecimal também compara a escala, então só reaproveita valores exatamente iguais
+     */
+    private static boolean same(BigDecimal cached, BigDecimal current) {
+        return cached == current || (cached != null && cached.equals(current));
+    }
+
+    /**
+     * Quadro imutável depois de publicado: células indexadas por from × largura + to
+     */
+    private static final class Board {
+        private final long version;
+        private final int width;
+        private final BigDecimal kingdomQuality;
+        private final boolean owner;
+        private final BigDecimal[] baseRates;
+        private final EffectiveRate[] quotes;
+
+        private Board(long version, int width, BigDecimal kingdomQuality, boolean owner) {
+            this.version = version;
+            this.width = width;
+            this.kingdomQuality = kingdomQuality;
+            this.owner = owner;
+            this.baseRates = new BigDecimal[width * width];
+            this.quotes = new EffectiveRate[width * width];
+        }
+
+        private boolean isCurrent(long snapshotVersion, int registrySize, BigDecimal kingdomQuality, boolean owner) {
+            return version >= snapshotVersion
+                && width == registrySize
+                && this.owner == owner
+                && same(this.kingdomQuality, kingdomQuality);
+        }
+
+        private int cellOf(int from, int to) {
+            if (from < 0 || to < 0 || from >= width || to >= width) {
+                return -1;
+            }
+            return from * width + to;
+        }
+    }
+}
@@ -0,0 +1,231 @@
+package com.exchange.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Cache local limitado com TTL, revalidação condicional por ETag e coalescência de buscas.
+ * Várias threads que erram a mesma chave ao mesmo tempo esperam uma única busca remota.
+ */
+@Slf4j
+public class NearCache<K, V> {
+
+    /**
+     * Busca remota de um valor. Recebe o ETag da entrada em cache (ou null) para revalidação condicional
+     */
+    @FunctionalInterface
+    public interface Fetcher<K, V> {
+        FetchResult<V> fetch(K key, String etag);
+    }
+
+    private final String name;
+    private final int maxEntries;
+    private final long ttlNanos;
+
+    private final ConcurrentHashMap<K, Entry<V>> entries = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<K, CompletableFuture<Entry<V>>> inFlight = new ConcurrentHashMap<>();
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter coalesced;
+    private final Counter revalidated;
+    private final Counter staleServed;
+
+    public NearCache(String name, int maxEntries, Duration ttl, MeterRegistry meterRegistry) {
+        this.name = name;
+        this.maxEntries = maxEntries;
+        this.ttlNanos = ttl.toNanos();
+
+        this.hits = counter(meterRegistry, "hit");
+        this.misses = counter(meterRegistry, "miss");
+        this.coalesced = counter(meterRegistry, "coalesced");
+        this.revalidated = counter(meterRegistry, "not_modified");
+        this.staleServed = counter(meterRegistry, "stale");
+        meterRegistry.gauge("near_cache.size", Tags.of("cache", name), entries, Map::size);
+    }
+
+    /**
+     * Retorna o valor em cache ou busca remotamente, no máximo uma busca por chave em andamento
+     */
+    public V get(K key, Fetcher<K, V> fetcher) {
+        Entry<V> entry = entries.get(key);
+        if (entry != null && !entry.isExpired(System.nanoTime())) {
+            hits.increment();
+            return entry.value;
+        }
+
+        CompletableFuture<Entry<V>> mine = new CompletableFuture<>();
+        CompletableFuture<Entry<V>> leader = inFlight.putIfAbsent(key, mine);
+        if (leader != null) {
+            coalesced.increment();
+            return valueOf(await(leader));
+        }
+
+        try {
+            // Outra busca pode ter terminado entre a leitura acima e o registro desta
+            Entry<V> current = entries.get(key);
+            if (current != null && !current.isExpired(System.nanoTime())) {
+                hits.increment();
+                mine.complete(current);
+                return current.value;
+            }
+
+            misses.increment();
+            Entry<V> loaded = load(key, current, fetcher);
+            mine.complete(loaded);
+            return valueOf(loaded);
+        } catch (RuntimeException e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    public void invalidate(K key) {
+        entries.remove(key);
+    }
+
+    public void invalidateAll() {
+        entries.clear();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private Entry<V> load(K key, Entry<V> stale, Fetcher<K, V> fetcher) {
+        FetchResult<V> result;
+        try {
+            result = fetcher.fetch(key, stale != null ? stale.etag : null);
+        } catch (RuntimeException e) {
+            if (stale == null) {
+                throw e;
+            }
+            // Serve o valor vencido enquanto a origem estiver indisponível
+            staleServed.increment();
+            log.warn("Falha ao revalidar {} no cache {}, servindo valor vencido: {}", key, name, e.getMessage());
+            return stale;
+        }
+
+        if (result.isNotModified() && stale != null) {
+            revalidated.increment();
+            return store(key, new Entry<>(stale.value, stale.etag, System.nanoTime() + ttlNanos));
+        }
+
+        if (result.getValue() == null) {
+            entries.remove(key);
+            return null;
+        }
+
+        return store(key, new Entry<>(result.getValue(), result.getEtag(), System.nanoTime() + ttlNanos));
+    }
+
+    private Entry<V> store(K key, Entry<V> entry) {
+        entries.put(key, entry);
+        if (entries.size() > maxEntries) {
+            evict();
+        }
+        return entry;
+    }
+
+    /**
+     * Remove primeiro as entradas vencidas e, se ainda passar do limite, as primeiras da iteração
+     */
+    private void evict() {
+        long now = System.nanoTime();
+        entries.values().removeIf(entry -> entry.isExpired(now));
+
+        Iterator<K> keys = entries.keySet().iterator();
+        while (entries.size() > maxEntries && keys.hasNext()) {
+            keys.next();
+            keys.remove();
+        }
+    }
+
+    private Entry<V> await(CompletableFuture<Entry<V>> leader) {
+        try {
+            return leader.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private V valueOf(Entry<V> entry) {
+        return entry != null ? entry.value : null;
+    }
+
+    private Counter counter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("near_cache.requests")
+            .tag("cache", name)
+            .tag("result", result)
+            .register(meterRegistry);
+    }
+
+    private static final class Entry<V> {
+        private final V value;
+        private final String etag;
+        private final long expiresAtNanos;
+
+        private Entry(V value, String etag, long expiresAtNanos) {
+            this.value = value;
+            this.etag = etag;
+            this.expiresAtNanos = expiresAtNanos;
+        }
+
+        private boolean isExpired(long now) {
+            return now - expiresAtNanos >= 0;
+        }
+    }
+
+    /**
+     * Resultado de uma busca remota: valor novo, "não modificado" ou ausente
+     */
+    public static final class FetchResult<V> {
+        private final V value;
+        private final String etag;
+        private final boolean notModified;
+
+        private FetchResult(V value, String etag, boolean notModified) {
+            this.value = value;
+            this.etag = etag;
+            this.notModified = notModified;
+        }
+
+        public static <V> FetchResult<V> of(V value, String etag) {
+            return new FetchResult<>(value, etag, false);
+        }
+
+        public static <V> FetchResult<V> notModified() {
+            return new FetchResult<>(null, null, true);
+        }
+
+        public static <V> FetchResult<V> notFound() {
+            return new FetchResult<>(null, null, false);
+        }
+
+        public V getValue() {
+            return value;
+        }
+
+        public String getEtag() {
+            return etag;
+        }
+
+        public boolean isNotModified() {
+            return notModified;
+        }
+    }
+}
@@ -0,0 +1,200 @@
+package com.exchange.cache;
+
+import com.exchange.domain.dto.KingdomInfo;
+import com.exchange.domain.dto.ProductInfo;
+import com.exchange.domain.event.ExchangeRateChangedEvent;
+import com.exchange.domain.event.ProductExchangeRateChangedEvent;
+import com.exchange.util.ConversionCalculator;
+import com.exchange.util.FixedPointMoney;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Tabela de taxas efetivas pré-calculadas por (produto, reino, par de moedas).
+ * A taxa efetiva é taxa × multiplicador do produto × demanda × qualidade × qualidade do reino × bônus de owner,
+ * de modo que cada conversão fica em uma única multiplicação pela quantidade.
+ * Cada entrada guarda os valores de entrada usados e só é reaproveitada se eles não mudaram;
+ * os eventos de alteração apenas liberam as entradas que ficaram obsoletas.
+ */
+@Slf4j
+@Component
+public class ProductMultiplierTable {
+
+    @Value("${app.conversion.multiplier-cache.max-entries:10000}")
+    private int maxEntries;
+
+    private final ConcurrentHashMap<Key, Entry> entries = new ConcurrentHashMap<>();
+
+    /**
+     * Retorna a taxa efetiva, reaproveitando a calculada anteriormente quando as entradas são as mesmas
+     */
+    public EffectiveRate effectiveRate(String fromCurrencyPrefix, String toCurrencyPrefix, BigDecimal finalRate,
+                                    BigDecimal productMultiplier, ProductInfo productInfo, KingdomInfo kingdomInfo) {
+        BigDecimal demand = productInfo.getDemandQuantifier();
+        BigDecimal quality = productInfo.getQualityQualifier();
+        BigDecimal kingdomQuality = kingdomInfo.getQualityRate();
+        boolean owner = kingdomInfo.getIsOwner();
+
+        if (productInfo.getId() == null || kingdomInfo.getId() == null) {
+            return new EffectiveRate(compile(finalRate, productMultiplier, demand, quality, kingdomQuality, owner));
+        }
+
+        Key key = new Key(productInfo.getId(), kingdomInfo.getId(), fromCurrencyPrefix, toCurrencyPrefix);
+        Entry entry = entries.get(key);
+        if (entry != null && entry.matches(finalRate, productMultiplier, demand, quality, kingdomQuality, owner)) {
+            return entry.effectiveRate;
+        }
+
+        EffectiveRate effectiveRate = new EffectiveRate(
+            compile(finalRate, productMultiplier, demand, quality, kingdomQuality, owner));
+        if (entries.size() >= maxEntries) {
+            entries.clear();
+        }
+        entries.put(key, new Entry(finalRate, productMultiplier, demand, quality, kingdomQuality, owner, effectiveRate));
+        return effectiveRate;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onProductExchangeRateChanged(ProductExchangeRateChangedEvent event) {
+        entries.keySet().removeIf(key -> key.productId.equals(event.getProductId())
+            && key.matchesPair(event.getFromCurrencyPrefix(), event.getToCurrencyPrefix()));
+        log.debug("Multiplicadores do produto {} invalidados após {}", event.getProductId(), event);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onExchangeRateChanged(ExchangeRateChangedEvent event) {
+        entries.keySet().removeIf(key -> key.matchesPair(event.getFromCurrencyPrefix(), event.getToCurrencyPrefix()));
+        log.debug("Multiplicadores do par {} → {} invalidados", event.getFromCurrencyPrefix(), event.getToCurrencyPrefix());
+    }
+
+    /**
+     * Produto exato (sem arredondamento): o resultado final é idêntico ao da multiplicação em cadeia
+     */
+    private BigDecimal compile(BigDecimal finalRate, BigDecimal productMultiplier, BigDecimal demand,
+                               BigDecimal quality, BigDecimal kingdomQuality, boolean owner) {
+        return finalRate
+            .multiply(productMultiplier)
+            .multiply(demand)
+            .multiply(quality)
+            .multiply(kingdomQuality)
+            .multiply(owner ? ConversionCalculator.OWNER_BONUS : BigDecimal.ONE);
+    }
+
+    private static final class Key {
+        private final Long productId;
+        private final Long kingdomId;
+        private final String fromCurrencyPrefix;
+        private final String toCurrencyPrefix;
+
+        private Key(Long productId, Long kingdomId, String fromCurrencyPrefix, String toCurrencyPrefix) {
+            this.productId = productId;
+            this.kingdomId = kingdomId;
+            this.fromCurrencyPrefix = fromCurrencyPrefix;
+            this.toCurrencyPrefix = toCurrencyPrefix;
+        }
+
+        private boolean matchesPair(String from, String to) {
+            return Objects.equals(fromCurrencyPrefix, from) && Objects.equals(toCurrencyPrefix, to);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key other)) {
+                return false;
+            }
+            return productId.equals(other.productId)
+                && kingdomId.equals(other.kingdomId)
+                && Objects.equals(fromCurrencyPrefix, other.fromCurrencyPrefix)
+                && Objects.equals(toCurrencyPrefix, other.toCurrencyPrefix);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(productId, kingdomId, fromCurrencyPrefix, toCurrencyPrefix);
+        }
+    }
+
+    private static final class Entry {
+        private final BigDecimal finalRate;
+        private final BigDecimal productMultiplier;
+        private final BigDecimal demand;
+        private final BigDecimal quality;
+        private final BigDecimal kingdomQuality;
+        private final boolean owner;
+        private final EffectiveRate effectiveRate;
+
+        private Entry(BigDecimal finalRate, BigDecimal productMultiplier, BigDecimal demand, BigDecimal quality,
+                      BigDecimal kingdomQuality, boolean owner, EffectiveRate effectiveRate) {
+            this.finalRate = finalRate;
+            this.productMultiplier = productMultiplier;
+            this.demand = demand;
+            this.quality = quality;
+            this.kingdomQuality = kingdomQuality;
+            this.owner = owner;
+            this.effectiveRate = effectiveRate;
+        }
+
+        /**
+         * equals do BigDecimal também compara a escala, então só reaproveita entradas exatamente iguais
+         */
+        private boolean matches(BigDecimal finalRate, BigDecimal productMultiplier, BigDecimal demand,
+                                BigDecimal quality, BigDecimal kingdomQuality, boolean owner) {
+            return this.owner == owner
+                && same(this.finalRate, finalRate)
+                && same(this.productMultiplier, productMultiplier)
+                && same(this.demand, demand)
+                && same(this.quality, quality)
+                && same(this.kingdomQuality, kingdomQuality);
+        }
+
+        private static boolean same(BigDecimal cached, BigDecimal current) {
+            return cached == current || cached.equals(current);
+        }
+    }
+
+    /**
+     * Taxa efetiva em BigDecimal e, quando cabe, também em ponto fixo (unscaled, scale)
+     */
+    public static final class EffectiveRate {
+        private final BigDecimal value;
+        private final long unscaled;
+        private final int scale;
+
+        EffectiveRate(BigDecimal value) {
+            this.value = value;
+            boolean fits = FixedPointMoney.fits(value);
+            this.unscaled = fits ? FixedPointMoney.unscaled(value) : FixedPointMoney.OVERFLOW;
+            this.scale = fits ? value.scale() : 0;
+        }
+
+        public BigDecimal getValue() {
+            return value;
+        }
+
+        public boolean isFixed() {
+            return unscaled != FixedPointMoney.OVERFLOW;
+        }
+
+        public long getUnscaled() {
+            return unscaled;
+        }
+
+        public int getScale() {
+            return scale;
+        }
+    }
+}
@@ -0,0 +1,238 @@
+package com.exchange.cache;
+
+import com.exchange.domain.entity.ExchangeRateAggregate;
+import com.exchange.domain.enums.AggregateInterval;
+import com.exchange.domain.event.ExchangeRateChangedEvent;
+import com.exchange.repository.ExchangeRateAggregateRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Linha de base móvel das taxas de câmbio, por par de moedas.
+ * Mantém média e volatilidade exponenciais (EWMA) e mínimo/máximo da janela corrente e da anterior,
+ * com estado O(1) por par. É semeada na subida com os agregados por minuto (exchange_rate_aggregates,
+ * que guardam todas as alterações, ao contrário de exchange_rates) e atualizada a cada alteração de taxa,
+ * então a análise de risco consulta apenas memória.
+ */
+@Slf4j
+@Component
+public class RateBaselineEngine {
+
+    private static final int BASE_RATE_SCALE = 8;
+
+    @Autowired
+    private ExchangeRateAggregateRepository aggregateRepository;
+
+    @Value("${app.risk.baseline.alpha:0.2}")
+    private double alpha;
+
+    @Value("${app.risk.baseline.window:1d}")
+    private Duration window;
+
+    @Value("${app.risk.baseline.seed-days:30}")
+    private int seedDays;
+
+    private final ConcurrentHashMap<String, RateBaseline> baselines = new ConcurrentHashMap<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        LocalDateTime since = LocalDateTime.now().minusDays(seedDays);
+        seed(aggregateRepository.findHistorySince(AggregateInterval.MINUTE.name(), since));
+        log.info("Linha de base de taxas semeada: {} pares, {} dias de histórico", baselines.size(), seedDays);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onExchangeRateChanged(ExchangeRateChangedEvent event) {
+        if (event.getChangeType() == ExchangeRateChangedEvent.ChangeType.DEACTIVATED || event.getRate() == null) {
+            return;
+        }
+        observe(event.getFromCurrencyPrefix(), event.getToCurrencyPrefix(), event.getRate(), LocalDateTime.now());
+    }
+
+    /**
+     * Incorpora uma nova taxa observada para o par
+     */
+    public RateBaseline observe(String fromCurrencyPrefix, String toCurrencyPrefix, BigDecimal rate, LocalDateTime observedAt) {
+        long observedAtMillis = observedAt.toInstant(ZoneOffset.UTC).toEpochMilli();
+        return baselines.compute(pairKey(fromCurrencyPrefix, toCurrencyPrefix), (key, previous) ->
+            previous == null
+                ? RateBaseline.first(rate.doubleValue(), observedAtMillis, window.toMillis())
+                : previous.next(rate.doubleValue(), observedAtMillis, alpha, window.toMillis()));
+    }
+
+    public Optional<RateBaseline> find(String fromCurrencyPrefix, String toCurrencyPrefix) {
+        return Optional.ofNullable(baselines.get(pairKey(fromCurrencyPrefix, toCurrencyPrefix)));
+    }
+
+    /**
+     * Taxa de referência (média móvel) do par, sem acesso ao banco
+     */
+    public Optional<BigDecimal> findBaseRate(String fromCurrencyPrefix, String toCurrencyPrefix) {
+        RateBaseline baseline = baselines.get(pairKey(fromCurrencyPrefix, toCurrencyPrefix));
+        return baseline != null ? Optional.of(baseline.getBaseRate()) : Optional.empty();
+    }
+
+    /**
+     * Reconstrói a linha de base de cada par a partir dos buckets (do mais antigo para o mais recente):
+     * uma observação por bucket, no fechamento, com a mínima e a máxima do bucket na faixa da janela.
+     * Não sobrescreve um par que já recebeu alterações desde a subida.
+     */
+    void seed(Iterable<ExchangeRateAggregate> buckets) {
+        Map<String, RateBaseline> seeded = new HashMap<>();
+        for (ExchangeRateAggregate bucket : buckets) {
+            long observedAtMillis = bucket.getLastAt().toInstant(ZoneOffset.UTC).toEpochMilli();
+            double close = bucket.getCloseRate().doubleValue();
+            double low = bucket.getLowRate().doubleValue();
+            double high = bucket.getHighRate().doubleValue();
+            seeded.compute(pairKey(bucket.getFromCurrencyPrefix(), bucket.getToCurrencyPrefix()), (key, previous) ->
+                (previous == null
+                    ? RateBaseline.first(close, observedAtMillis, window.toMillis())
+                    : previous.next(close, observedAtMillis, alpha, window.toMillis()))
+                    .withRange(low, high));
+        }
+        seeded.forEach(baselines::putIfAbsent);
+    }
+
+    private static String pairKey(String fromCurrencyPrefix, String toCurrencyPrefix) {
+        return fromCurrencyPrefix + ":" + toCurrencyPrefix;
+    }
+
+    /**
+     * Estatísticas imutáveis de um par. Cada observação gera uma nova instância.
+     */
+    public static final class RateBaseline {
+        private final double mean;
+        private final double variance;
+        private final long samples;
+        private final long windowStartMillis;
+        private final double windowMin;
+        private final double windowMax;
+        private final double previousWindowMin;
+        private final double previousWindowMax;
+        private final double lastRate;
+        private final double windowOpen;
+        private final double previousWindowClose;
+        private final BigDecimal baseRate;
+        private final BigDecimal referenceRate;
+
+        private RateBaseline(double mean, double variance, long samples, long windowStartMillis,
+                             double windowMin, double windowMax, double previousWindowMin, double previousWindowMax,
+                             double lastRate, double windowOpen, double previousWindowClose) {
+            this.mean = mean;
+            this.variance = variance;
+            this.samples = samples;
+            this.windowStartMillis = windowStartMillis;
+            this.windowMin = windowMin;
+            this.windowMax = windowMax;
+            this.previousWindowMin = previousWindowMin;
+            this.previousWindowMax = previousWindowMax;
+            this.lastRate = lastRate;
+            this.windowOpen = windowOpen;
+            this.previousWindowClose = previousWindowClose;
+            this.baseRate = toBaseRate(mean);
+            this.referenceRate = toBaseRate(Double.isNaN(previousWindowClose) ? windowOpen : previousWindowClose);
+        }
+
+        private static RateBaseline first(double rate, long observedAtMillis, long windowMillis) {
+            return new RateBaseline(rate, 0, 1, windowStart(observedAtMillis, windowMillis),
+                rate, rate, Double.NaN, Double.NaN, rate, rate, Double.NaN);
+        }
+
+        private RateBaseline next(double rate, long observedAtMillis, double alpha, long windowMillis) {
+            // Média e variância exponenciais incrementais
+            double delta = rate - mean;
+            double nextMean = mean + alpha * delta;
+            double nextVariance = (1 - alpha) * (variance + alpha * delta * delta);
+
+            // Janelas fixas: ao virar a janela, a corrente passa a ser a anterior e a última taxa vira o fechamento
+            long start = windowStart(observedAtMillis, windowMillis);
+            if (start > windowStartMillis) {
+                boolean adjacent = start - windowStartMillis == windowMillis;
+                return new RateBaseline(nextMean, nextVariance, samples + 1, start, rate, rate,
+                    adjacent ? windowMin : Double.NaN, adjacent ? windowMax : Double.NaN, rate, rate, lastRate);
+            }
+            return new RateBaseline(nextMean, nextVariance, samples + 1, windowStartMillis,
+                Math.min(windowMin, rate), Math.max(windowMax, rate), previousWindowMin, previousWindowMax, rate,
+                windowOpen, previousWindowClose);
+        }
+
+        /**
+         * Amplia a faixa da janela corrente com a mínima e a máxima de um bucket já observado
+         */
+        private RateBaseline withRange(double low, double high) {
+            return new RateBaseline(mean, variance, samples, windowStartMillis,
+                Math.min(windowMin, low), Math.max(windowMax, high), previousWindowMin, previousWindowMax, lastRate,
+                windowOpen, previousWindowClose);
+        }
+
+        private static long windowStart(long observedAtMillis, long windowMillis) {
+            return observedAtMillis - Math.floorMod(observedAtMillis, windowMillis);
+        }
+
+        private static BigDecimal toBaseRate(double mean) {
+            BigDecimal rounded = BigDecimal.valueOf(mean).setScale(BASE_RATE_SCALE, RoundingMode.HALF_UP).stripTrailingZeros();
+            return rounded.scale() < 0 ? rounded.setScale(0) : rounded;
+        }
+
+        /**
+         * Média móvel exponencial, já arredondada para uso como taxa de referência
+         */
+        public BigDecimal getBaseRate() {
+            return baseRate;
+        }
+
+        /**
+         * Taxa de referência fixa durante a janela: o fechamento da janela anterior ou, sem ela, a abertura
+         * da janela corrente. Ao contrário da média móvel, não acompanha a taxa atual
+         */
+        public BigDecimal getReferenceRate() {
+            return referenceRate;
+        }
+
+        public double getMean() {
+            return mean;
+        }
+
+        public double getVolatility() {
+            return Math.sqrt(variance);
+        }
+
+        public long getSamples() {
+            return samples;
+        }
+
+        public double getLastRate() {
+            return lastRate;
+        }
+
+        /**
+         * Mínimo da janela corrente e da anterior
+         */
+        public double getWindowMin() {
+            return Double.isNaN(previousWindowMin) ? windowMin : Math.min(windowMin, previousWindowMin);
+        }
+
+        /**
+         * Máximo da janela corrente e da anterior
+         */
+        public double getWindowMax() {
+            return Double.isNaN(previousWindowMax) ? windowMax : Math.max(windowMax, previousWindowMax);
+        }
+    }
+}
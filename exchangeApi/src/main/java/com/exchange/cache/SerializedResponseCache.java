@@ -0,0 +1,205 @@
+package com.exchange.cache;
+
+import com.exchange.domain.event.CurrencyChangedEvent;
+import com.exchange.domain.event.ExchangeRateChangedEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.DigestUtils;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Cache de respostas GET já serializadas em JSON, por caminho + query.
+ * Cada entrada guarda a versão da fotografia de taxas e do registro de moedas com que foi montada
+ * e só é servida enquanto essas versões forem as correntes; os eventos de alteração, após o commit,
+ * também descartam as entradas do escopo afetado.
+ * O ETag é o hash do conteúdo, então um If-None-Match igual é respondido com 304 sem chamar os services.
+ */
+@Slf4j
+@Component
+public class SerializedResponseCache {
+
+    /**
+     * De quais dados a resposta depende
+     */
+    public enum Scope {
+        EXCHANGE_RATES,
+        CURRENCIES
+    }
+
+    @Autowired
+    private ExchangeRateSnapshotHolder snapshotHolder;
+
+    @Autowired
+    private CurrencyRegistry currencyRegistry;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.response-cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.response-cache.max-entries:10000}")
+    private int maxEntries;
+
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+
+    private Counter hits;
+
+    private Counter notModified;
+
+    private Counter misses;
+
+    @PostConstruct
+    void initMetrics() {
+        hits = counter("hit");
+        notModified = counter("not_modified");
+        misses = counter("miss");
+        meterRegistry.gauge("response_cache.size", entries, Map::size);
+    }
+
+    /**
+     * Responde a partir do cache ou chama loader. Só respostas 200 com corpo são guardadas;
+     * as demais são devolvidas como o loader as montou
+     */
+    public ResponseEntity<?> serve(Scope scope, String key, String ifNoneMatch, Supplier<ResponseEntity<?>> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+
+        // Versões lidas antes da carga: se os dados mudarem durante ela, a entrada já nasce vencida
+        long ratesVersion = scope == Scope.EXCHANGE_RATES ? snapshotHolder.current().getVersion() : 0;
+        long currenciesVersion = currencyRegistry.getVersion();
+
+        Entry entry = entries.get(key);
+        if (entry != null && entry.isCurrent(ratesVersion, currenciesVersion)) {
+            if (matches(ifNoneMatch, entry.etag)) {
+                notModified.increment();
+                return notModified(entry.etag);
+            }
+            hits.increment();
+            return ok(entry);
+        }
+
+        misses.increment();
+        ResponseEntity<?> response = loader.get();
+        if (response.getStatusCode() != HttpStatus.OK || response.getBody() == null) {
+            return response;
+        }
+
+        byte[] body;
+        try {
+            body = objectMapper.writeValueAsBytes(response.getBody());
+        } catch (JsonProcessingException e) {
+            log.warn("Resposta de {} não pôde ser serializada para o cache: {}", key, e.getMessage());
+            return response;
+        }
+
+        Entry loaded = new Entry(scope, ratesVersion, currenciesVersion, body);
+        if (entries.size() >= maxEntries) {
+            entries.clear();
+        }
+        entries.put(key, loaded);
+
+        if (matches(ifNoneMatch, loaded.etag)) {
+            notModified.increment();
+            return notModified(loaded.etag);
+        }
+        return ok(loaded);
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onExchangeRateChanged(ExchangeRateChangedEvent event) {
+        invalidate(Scope.EXCHANGE_RATES);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCurrencyChanged(CurrencyChangedEvent event) {
+        // As respostas de taxas também trazem nome e descrição das moedas
+        entries.clear();
+    }
+
+    private void invalidate(Scope scope) {
+        entries.values().removeIf(entry -> entry.scope == scope);
+    }
+
+    private ResponseEntity<byte[]> ok(Entry entry) {
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_JSON)
+            .eTag(entry.etag)
+            .cacheControl(CacheControl.noCache())
+            .body(entry.body);
+    }
+
+    private ResponseEntity<Void> notModified(String etag) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+            .eTag(etag)
+            .cacheControl(CacheControl.noCache())
+            .build();
+    }
+
+    /**
+     * If-None-Match pode trazer vários ETags, fracos (W/) ou *
+     */
+    private static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String value = candidate.trim();
+            if (value.startsWith("W/")) {
+                value = value.substring(2);
+            }
+            if (value.equals("*") || value.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private Counter counter(String result) {
+        return Counter.builder("response_cache.requests").tag("result", result).register(meterRegistry);
+    }
+
+    private static final class Entry {
+        private final Scope scope;
+        private final long ratesVersion;
+        private final long currenciesVersion;
+        private final byte[] body;
+        private final String etag;
+
+        private Entry(Scope scope, long ratesVersion, long currenciesVersion, byte[] body) {
+            this.scope = scope;
+            this.ratesVersion = ratesVersion;
+            this.currenciesVersion = currenciesVersion;
+            this.body = body;
+            this.etag = '"' + DigestUtils.md5DigestAsHex(body) + '"';
+        }
+
+        private boolean isCurrent(long ratesVersion, long currenciesVersion) {
+            return this.ratesVersion == ratesVersion && this.currenciesVersion == currenciesVersion;
+        }
+    }
+}
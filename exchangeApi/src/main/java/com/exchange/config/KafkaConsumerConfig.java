@@ -1,8 +1,10 @@
 package com.exchange.config;
 
-import com.exchange.domain.command.ConversionCommand;
+import com.exchange.domain.dto.ConversionMessageCommand;
 import com.exchange.domain.dto.ConversionRequest;
 import com.exchange.domain.dto.ConversionResponse;
+import com.messaging.command.ConversionCommand;
+import com.messaging.kafka.CompactMessageDeserializer;
 import lombok.extern.log4j.Log4j2;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
 import org.apache.kafka.common.serialization.StringDeserializer;
@@ -15,7 +17,6 @@ import org.springframework.kafka.core.ConsumerFactory;
 import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
 import org.springframework.kafka.listener.ContainerProperties;
 import org.springframework.kafka.support.serializer.ErrorHandlingDeserializer;
-import org.springframework.kafka.support.serializer.JsonDeserializer;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -33,12 +34,26 @@ public class KafkaConsumerConfig {
     @Value("${spring.kafka.consumer.group-id:exchange-api-group}")
     protected String groupId;
 
+    @Value("${app.kafka.batch.max-poll-records:500}")
+    private int batchMaxPollRecords;
+
+    @Value("${app.kafka.batch.concurrency:1}")
+    private int batchConcurrency;
+
+    @Value("${app.kafka.batch.ack-mode:MANUAL}")
+    private ContainerProperties.AckMode batchAckMode;
+
+    @Value("${app.kafka.parallel.max-poll-records:500}")
+    private int parallelMaxPollRecords;
+
+    @Value("${app.kafka.parallel.concurrency:1}")
+    private int parallelConcurrency;
+
     // Factory genérica para Object (mantida para compatibilidade)
     public ConsumerFactory<String, Object> consumerFactory() {
         final Map<String, Object> configProps = new HashMap<>();
 
-        final JsonDeserializer<Object> jsonDeserializer = new JsonDeserializer<>();
-        jsonDeserializer.addTrustedPackages("*");
+        final var valueDeserializer = new ErrorHandlingDeserializer<Object>(new CompactMessageDeserializer<>());
 
         configProps.put(BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
         configProps.put(GROUP_ID_CONFIG, groupId);
@@ -47,21 +62,18 @@ public class KafkaConsumerConfig {
         configProps.put(PARTITION_ASSIGNMENT_STRATEGY_CONFIG, "org.apache.kafka.clients.consumer.RoundRobinAssignor");
 
         configProps.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
-        configProps.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, JsonDeserializer.class);
-
         configProps.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ErrorHandlingDeserializer.class);
         configProps.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, ErrorHandlingDeserializer.class);
-        configProps.put(ErrorHandlingDeserializer.VALUE_DESERIALIZER_CLASS, JsonDeserializer.class.getName());
+        configProps.put(ErrorHandlingDeserializer.VALUE_DESERIALIZER_CLASS, CompactMessageDeserializer.class.getName());
 
-        return new DefaultKafkaConsumerFactory<>(configProps, new StringDeserializer(), jsonDeserializer);
+        return new DefaultKafkaConsumerFactory<>(configProps, new StringDeserializer(), valueDeserializer);
     }
 
     // Factory específica para ConversionCommand
     public ConsumerFactory<String, ConversionCommand> conversionCommandConsumerFactory() {
         final Map<String, Object> configProps = new HashMap<>();
 
-        final JsonDeserializer<ConversionCommand> jsonDeserializer = new JsonDeserializer<>(ConversionCommand.class);
-        jsonDeserializer.addTrustedPackages("*");
+        final var valueDeserializer = new ErrorHandlingDeserializer<>(new CompactMessageDeserializer<>(ConversionCommand.class));
 
         configProps.put(BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
         configProps.put(GROUP_ID_CONFIG, groupId);
@@ -72,17 +84,16 @@ public class KafkaConsumerConfig {
         configProps.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
         configProps.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ErrorHandlingDeserializer.class);
         configProps.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, ErrorHandlingDeserializer.class);
-        configProps.put(ErrorHandlingDeserializer.VALUE_DESERIALIZER_CLASS, JsonDeserializer.class.getName());
+        configProps.put(ErrorHandlingDeserializer.VALUE_DESERIALIZER_CLASS, CompactMessageDeserializer.class.getName());
 
-        return new DefaultKafkaConsumerFactory<>(configProps, new StringDeserializer(), jsonDeserializer);
+        return new DefaultKafkaConsumerFactory<>(configProps, new StringDeserializer(), valueDeserializer);
     }
 
     // Exemplo: Factory específica para ConversionRequest (se necessário)
     public ConsumerFactory<String, ConversionRequest> conversionRequestConsumerFactory() {
         final Map<String, Object> configProps = new HashMap<>();
 
-        final JsonDeserializer<ConversionRequest> jsonDeserializer = new JsonDeserializer<>(ConversionRequest.class);
-        jsonDeserializer.addTrustedPackages("*");
+        final var valueDeserializer = new ErrorHandlingDeserializer<>(new CompactMessageDeserializer<>(ConversionRequest.class));
 
         configProps.put(BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
         configProps.put(GROUP_ID_CONFIG, groupId);
@@ -93,30 +104,56 @@ public class KafkaConsumerConfig {
         configProps.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
         configProps.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ErrorHandlingDeserializer.class);
         configProps.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, ErrorHandlingDeserializer.class);
-        configProps.put(ErrorHandlingDeserializer.VALUE_DESERIALIZER_CLASS, JsonDeserializer.class.getName());
+        configProps.put(ErrorHandlingDeserializer.VALUE_DESERIALIZER_CLASS, CompactMessageDeserializer.class.getName());
 
-        return new DefaultKafkaConsumerFactory<>(configProps, new StringDeserializer(), jsonDeserializer);
+        return new DefaultKafkaConsumerFactory<>(configProps, new StringDeserializer(), valueDeserializer);
+    }
+
+    // Factory em lote para ConversionMessageCommand: até max-poll-records comandos por poll
+    public ConsumerFactory<String, ConversionMessageCommand> conversionMessageCommandBatchConsumerFactory() {
+        final Map<String, Object> configProps = new HashMap<>();
+
+        // Lido no esquema compartilhado e convertido para a representação usada pelo listener em lote
+        final var valueDeserializer = new ErrorHandlingDeserializer<>(
+            CompactMessageDeserializer.mapping(ConversionCommand.class, ConversionMessageCommand::from));
+
+        configProps.put(BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        configProps.put(GROUP_ID_CONFIG, groupId);
+        configProps.put(MAX_POLL_RECORDS_CONFIG, String.valueOf(batchMaxPollRecords));
+        configProps.put(SESSION_TIMEOUT_MS_CONFIG, "60000");
+        configProps.put(PARTITION_ASSIGNMENT_STRATEGY_CONFIG, "org.apache.kafka.clients.consumer.RoundRobinAssignor");
+
+        configProps.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+        configProps.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ErrorHandlingDeserializer.class);
+        configProps.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, ErrorHandlingDeserializer.class);
+        configProps.put(ErrorHandlingDeserializer.VALUE_DESERIALIZER_CLASS, CompactMessageDeserializer.class.getName());
+
+        return new DefaultKafkaConsumerFactory<>(configProps, new StringDeserializer(), valueDeserializer);
     }
 
     // Método genérico para criar factories específicas para qualquer tipo
     public <T> ConsumerFactory<String, T> createTypedConsumerFactory(Class<T> targetType) {
+        return createTypedConsumerFactory(targetType, 1);
+    }
+
+    // Variante com quantidade de registros por poll configurável, usada pelos listeners em lote
+    public <T> ConsumerFactory<String, T> createTypedConsumerFactory(Class<T> targetType, int maxPollRecords) {
         final Map<String, Object> configProps = new HashMap<>();
 
-        final JsonDeserializer<T> jsonDeserializer = new JsonDeserializer<>(targetType);
-        jsonDeserializer.addTrustedPackages("*");
+        final var valueDeserializer = new ErrorHandlingDeserializer<>(new CompactMessageDeserializer<>(targetType));
 
         configProps.put(BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
         configProps.put(GROUP_ID_CONFIG, groupId);
-        configProps.put(MAX_POLL_RECORDS_CONFIG, "1");
+        configProps.put(MAX_POLL_RECORDS_CONFIG, String.valueOf(maxPollRecords));
         configProps.put(SESSION_TIMEOUT_MS_CONFIG, "60000");
         configProps.put(PARTITION_ASSIGNMENT_STRATEGY_CONFIG, "org.apache.kafka.clients.consumer.RoundRobinAssignor");
 
         configProps.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
         configProps.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ErrorHandlingDeserializer.class);
         configProps.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, ErrorHandlingDeserializer.class);
-        configProps.put(ErrorHandlingDeserializer.VALUE_DESERIALIZER_CLASS, JsonDeserializer.class.getName());
+        configProps.put(ErrorHandlingDeserializer.VALUE_DESERIALIZER_CLASS, CompactMessageDeserializer.class.getName());
 
-        return new DefaultKafkaConsumerFactory<>(configProps, new StringDeserializer(), jsonDeserializer);
+        return new DefaultKafkaConsumerFactory<>(configProps, new StringDeserializer(), valueDeserializer);
     }
 
     @Bean
@@ -149,6 +186,34 @@ public class KafkaConsumerConfig {
         return factory;
     }
 
+    /**
+     * Container em lote: o listener recebe a lista inteira do poll e confirma os offsets uma vez por lote.
+     * O ack-mode deve ser manual (MANUAL ou MANUAL_IMMEDIATE), pois o listener decide quando confirmar.
+     */
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, ConversionMessageCommand> batchConversionCommandListenerContainerFactory() {
+        final var factory = new ConcurrentKafkaListenerContainerFactory<String, ConversionMessageCommand>();
+        factory.setConcurrency(batchConcurrency);
+        factory.setConsumerFactory(conversionMessageCommandBatchConsumerFactory());
+        factory.setBatchListener(true);
+        factory.getContainerProperties().setAckMode(batchAckMode);
+        return factory;
+    }
+
+    /**
+     * Container em lote para o processamento paralelo ordenado por chave.
+     * O listener confirma os offsets só até o primeiro registro ainda não processado.
+     */
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, ConversionCommand> parallelConversionCommandListenerContainerFactory() {
+        final var factory = new ConcurrentKafkaListenerContainerFactory<String, ConversionCommand>();
+        factory.setConcurrency(parallelConcurrency);
+        factory.setConsumerFactory(createTypedConsumerFactory(ConversionCommand.class, parallelMaxPollRecords));
+        factory.setBatchListener(true);
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL);
+        return factory;
+    }
+
     // Método genérico para criar container factories específicas
     public <T> ConcurrentKafkaListenerContainerFactory<String, T> createTypedListenerContainerFactory(Class<T> targetType) {
         final var factory = new ConcurrentKafkaListenerContainerFactory<String, T>();
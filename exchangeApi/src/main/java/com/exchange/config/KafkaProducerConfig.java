@@ -1,5 +1,6 @@
 package com.exchange.config;
 
+import com.messaging.kafka.CompactMessageSerializer;
 import org.apache.kafka.clients.producer.ProducerConfig;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
@@ -8,9 +9,9 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.kafka.core.DefaultKafkaProducerFactory;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.kafka.support.serializer.JsonSerializer;
 import org.apache.kafka.common.serialization.StringSerializer;
 
+import java.time.Duration;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -22,14 +23,48 @@ public class KafkaProducerConfig {
     @Value("${spring.kafka.producer.bootstrap-servers:localhost:9092}")
     private String bootstrapServers;
 
+    @Value("${app.kafka.producer.high-throughput:true}")
+    private boolean highThroughput;
+
+    @Value("${app.kafka.producer.linger:10ms}")
+    private Duration linger;
+
+    @Value("${app.kafka.producer.batch-size:65536}")
+    private int batchSize;
+
+    @Value("${app.kafka.producer.compression:lz4}")
+    private String compression;
+
+    // Comandos e eventos no formato binário compacto; desligado, tudo sai em JSON
+    @Value("${app.kafka.producer.binary-enabled:true}")
+    private boolean binaryEnabled;
+
     @Bean
     public KafkaTemplate<String, Object> kafkaTemplate() {
         Map<String, Object> props =
                 new HashMap<>(kafkaProperties.buildProducerProperties());
         props.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
         props.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
-        props.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, JsonSerializer.class);
+        props.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, CompactMessageSerializer.class);
+        props.put(CompactMessageSerializer.BINARY_ENABLED, binaryEnabled);
+        applyThroughputTuning(props);
 
         return new KafkaTemplate<>(new DefaultKafkaProducerFactory<>(props));
     }
-} 
\ No newline at end of file
+
+    /**
+     * Modo de alto volume: o producer espera até linger para juntar registros em lotes de até
+     * batch-size bytes por partição, comprimidos, com producer idempotente (sem duplicatas em retries)
+     */
+    private void applyThroughputTuning(Map<String, Object> props) {
+        if (!highThroughput) {
+            return;
+        }
+        props.put(ProducerConfig.LINGER_MS_CONFIG, (int) linger.toMillis());
+        props.put(ProducerConfig.BATCH_SIZE_CONFIG, batchSize);
+        props.put(ProducerConfig.COMPRESSION_TYPE_CONFIG, compression);
+        props.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
+        props.put(ProducerConfig.ACKS_CONFIG, "all");
+        props.put(ProducerConfig.MAX_IN_FLIGHT_REQUESTS_PER_CONNECTION, 5);
+    }
+}
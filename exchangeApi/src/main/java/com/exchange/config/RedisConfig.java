@@ -1,17 +1,23 @@
 package com.exchange.config;
 
+import com.exchange.util.TransactionDataRedisSerializer;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
 @Configuration
 public class RedisConfig {
     
+    @Value("${app.transactions.binary-codec.enabled:true}")
+    private boolean binaryCodecEnabled;
+    
     @Bean
     public RedisTemplate<String, Object> redisTemplate(RedisConnectionFactory connectionFactory) {
         RedisTemplate<String, Object> template = new RedisTemplate<>();
@@ -26,10 +32,23 @@ public class RedisConfig {
         template.setHashKeySerializer(new StringRedisSerializer());
         
         // Serializer para valores (JSON) com suporte a LocalDateTime
-        template.setValueSerializer(new GenericJackson2JsonRedisSerializer(objectMapper));
-        template.setHashValueSerializer(new GenericJackson2JsonRedisSerializer(objectMapper));
+        GenericJackson2JsonRedisSerializer jsonSerializer = new GenericJackson2JsonRedisSerializer(objectMapper);
+        
+        // TransactionData em formato binário compacto; entradas JSON antigas continuam legíveis
+        template.setValueSerializer(new TransactionDataRedisSerializer(jsonSerializer, objectMapper, binaryCodecEnabled));
+        template.setHashValueSerializer(jsonSerializer);
         
         template.afterPropertiesSet();
         return template;
     }
-} 
\ No newline at end of file
+    
+    /**
+     * Container das assinaturas pub/sub (invalidação do cache local de transações)
+     */
+    @Bean
+    public RedisMessageListenerContainer redisMessageListenerContainer(RedisConnectionFactory connectionFactory) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        return container;
+    }
+}
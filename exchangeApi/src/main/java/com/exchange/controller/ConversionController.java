@@ -0,0 +1,66 @@
+package com.exchange.controller;
+
+import com.exchange.domain.dto.ConversionRequest;
+import com.exchange.service.ConversionService;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+
+@RestController
+@RequestMapping("/api/v1/conversions")
+@Tag(name = "Conversões", description = "Endpoints para conversão de moedas e produtos")
+public class ConversionController {
+    
+    @Autowired
+    private ConversionService conversionService;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    @PostMapping(value = "/batch", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(
+        summary = "Converter em lote",
+        description = "Recebe um array JSON ou um stream NDJSON de ConversionRequest e devolve, em NDJSON e na mesma ordem, " +
+                      "um ConversionResponse por item. Taxas, produtos e reinos repetidos são buscados uma única vez por lote."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Lote processado; itens inválidos retornam status NOT_APPROVED")
+    })
+    public ResponseEntity<StreamingResponseBody> convertBatch(HttpServletRequest httpRequest) throws IOException {
+        InputStream body = httpRequest.getInputStream();
+        
+        StreamingResponseBody stream = out -> {
+            try (MappingIterator<ConversionRequest> requests =
+                     objectMapper.readerFor(ConversionRequest.class).readValues(body)) {
+                conversionService.convertBatch(requests, response -> {
+                    try {
+                        out.write(objectMapper.writeValueAsBytes(response));
+                        out.write('\n');
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+            out.flush();
+        };
+        
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_NDJSON)
+            .body(stream);
+    }
+}
@@ -1,5 +1,6 @@
 package com.exchange.controller;
 
+import com.exchange.cache.SerializedResponseCache;
 import com.exchange.domain.dto.CurrencyInfo;
 import com.exchange.domain.dto.ErrorResponse;
 import com.exchange.domain.dto.PageRequest;
@@ -16,7 +17,9 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -32,22 +35,34 @@ public class CurrencyController {
     @Autowired
     private CurrencyService currencyService;
     
+    @Autowired
+    private SerializedResponseCache responseCache;
+    
     @GetMapping
     @Operation(
         summary = "Listar moedas",
-        description = "Retorna lista paginada de moedas com filtros opcionais"
+        description = "Retorna lista paginada de moedas com filtros opcionais. " +
+                     "A resposta traz ETag; com If-None-Match igual retorna 304 sem corpo"
     )
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Moedas listadas com sucesso"),
+        @ApiResponse(responseCode = "304", description = "Lista não mudou desde o ETag informado em If-None-Match"),
         @ApiResponse(responseCode = "400", description = "Parâmetros de paginação inválidos")
     })
-    public ResponseEntity<PageResponse<CurrencyInfo>> getCurrencies(
+    public ResponseEntity<?> getCurrencies(
         @Parameter(description = "Se deve retornar apenas moedas ativas", example = "true") 
         @RequestParam(value = "activeOnly", defaultValue = "true") Boolean activeOnly,
-        @Parameter(description = "Parâmetros de paginação") PageRequest pageRequest
+        @Parameter(description = "Parâmetros de paginação") PageRequest pageRequest,
+        @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+        HttpServletRequest request
     ) {
-        PageResponse<CurrencyInfo> currencies = currencyService.getCurrencies(activeOnly, pageRequest);
-        return ResponseEntity.ok(currencies);
+        String key = request.getQueryString() != null
+            ? request.getRequestURI() + '?' + request.getQueryString()
+            : request.getRequestURI();
+        return responseCache.serve(SerializedResponseCache.Scope.CURRENCIES, key, ifNoneMatch, () -> {
+            PageResponse<CurrencyInfo> currencies = currencyService.getCurrencies(activeOnly, pageRequest);
+            return ResponseEntity.ok(currencies);
+        });
     }
     
     @GetMapping("/{code}")
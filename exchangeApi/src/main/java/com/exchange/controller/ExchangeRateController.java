@@ -1,14 +1,22 @@
 package com.exchange.controller;
 
+import com.exchange.cache.SerializedResponseCache;
 import com.exchange.domain.dto.ExchangeRateRequest;
 import com.exchange.domain.dto.ExchangeRateResponse;
 import com.exchange.domain.dto.ExchangeRateSimpleResponse;
+import com.exchange.domain.dto.ExchangeRateStatsResponse;
 import com.exchange.domain.dto.ErrorResponse;
 import com.exchange.domain.dto.PageRequest;
 import com.exchange.domain.dto.PageResponse;
+import com.exchange.domain.dto.SliceResponse;
 import com.exchange.domain.entity.ExchangeRate;
+import com.exchange.domain.enums.AggregateInterval;
 import com.exchange.domain.mapper.ExchangeRateMapper;
+import com.exchange.service.ExchangeRateAggregateService;
+import com.exchange.service.ExchangeRateExportService;
+import com.exchange.service.ExchangeRateExportService.ExportFormat;
 import com.exchange.service.ExchangeRateService;
+import com.exchange.service.ExchangeRateStreamService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -17,19 +25,29 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.OutputStream;
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Arrays;
+import java.util.Locale;
+import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.zip.GZIPOutputStream;
 
 @RestController
 @RequestMapping("/api/v1/exchange-rates")
@@ -42,6 +60,18 @@ public class ExchangeRateController {
     @Autowired
     private ExchangeRateMapper exchangeRateMapper;
     
+    @Autowired
+    private ExchangeRateAggregateService exchangeRateAggregateService;
+    
+    @Autowired
+    private ExchangeRateStreamService exchangeRateStreamService;
+    
+    @Autowired
+    private SerializedResponseCache responseCache;
+    
+    @Autowired
+    private ExchangeRateExportService exchangeRateExportService;
+    
     @GetMapping
     @Operation(
         summary = "Listar taxas de câmbio",
@@ -118,10 +148,171 @@ public class ExchangeRateController {
         return ResponseEntity.ok(pageResponse);
     }
     
+    @GetMapping("/scroll")
+    @Operation(
+        summary = "Listar taxas de câmbio por cursor",
+        description = "Paginação por keyset (created_at + par), sem contagem total: o custo de cada fatia não cresce " +
+                     "com a profundidade. Reenvie nextCursor para obter a fatia seguinte"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Fatia de taxas listada com sucesso"),
+        @ApiResponse(responseCode = "400", description = "Cursor inválido")
+    })
+    public ResponseEntity<?> scrollExchangeRates(
+        @Parameter(description = "Código da moeda de origem") @RequestParam(value = "fromCurrency", required = false) String fromCurrency,
+        @Parameter(description = "Código da moeda de destino") @RequestParam(value = "toCurrency", required = false) String toCurrency,
+        @Parameter(description = "Se deve retornar apenas taxas ativas", example = "true") 
+        @RequestParam(value = "activeOnly", defaultValue = "true") Boolean activeOnly,
+        @Parameter(description = "Cursor devolvido pela fatia anterior (omitir na primeira)") 
+        @RequestParam(value = "cursor", required = false) String cursor,
+        @Parameter(description = "Tamanho da fatia (máximo 100)", example = "20") 
+        @RequestParam(value = "size", defaultValue = "20") Integer size
+    ) {
+        SliceResponse<ExchangeRate> slice;
+        try {
+            slice = exchangeRateService.scrollExchangeRates(fromCurrency, toCurrency, activeOnly, cursor, size);
+        } catch (IllegalArgumentException e) {
+            ErrorResponse errorResponse = createErrorResponse(
+                "Cursor inválido",
+                e.getMessage(),
+                Arrays.asList("Use o nextCursor exatamente como devolvido pela fatia anterior", "Omita cursor para começar do início"),
+                "Use GET /api/v1/exchange-rates/scroll"
+            );
+            return ResponseEntity.badRequest().body(errorResponse);
+        }
+        
+        List<ExchangeRateSimpleResponse> responses = exchangeRateMapper.entityListToSimpleResponseList(slice.getContent());
+        return ResponseEntity.ok(new SliceResponse<>(responses, slice.getSize(), slice.getHasNext(), slice.getNextCursor()));
+    }
+    
+    @GetMapping("/export")
+    @Operation(
+        summary = "Exportar histórico de taxas",
+        description = "Transmite o histórico de taxas em NDJSON ou CSV direto de um cursor do banco, sem carregar o " +
+                     "período inteiro em memória. Com Accept-Encoding: gzip a saída é comprimida"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Exportação iniciada"),
+        @ApiResponse(responseCode = "400", description = "Formato ou período inválido")
+    })
+    public ResponseEntity<StreamingResponseBody> exportExchangeRates(
+        @Parameter(description = "Código da moeda de origem") @RequestParam(value = "fromCurrency", required = false) String fromCurrency,
+        @Parameter(description = "Código da moeda de destino") @RequestParam(value = "toCurrency", required = false) String toCurrency,
+        @Parameter(description = "Data inicial (inclusive)", example = "2024-01-01") 
+        @RequestParam(value = "startDate", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+        @Parameter(description = "Data final (inclusive)", example = "2024-01-31") 
+        @RequestParam(value = "endDate", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+        @Parameter(description = "Se deve incluir taxas desativadas", example = "false") 
+        @RequestParam(value = "includeInactive", defaultValue = "false") Boolean includeInactive,
+        @Parameter(description = "Formato de saída: ndjson ou csv", example = "ndjson") 
+        @RequestParam(value = "format", defaultValue = "ndjson") String format,
+        @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding
+    ) {
+        ExportFormat exportFormat;
+        try {
+            exportFormat = ExportFormat.valueOf(format.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            ErrorResponse errorResponse = createErrorResponse(
+                "Formato de exportação inválido",
+                "O formato '" + format + "' não é suportado",
+                Arrays.asList("Use format=ndjson ou format=csv"),
+                "Use GET /api/v1/exchange-rates/export?format=ndjson"
+            );
+            throw new RejectedRequestException(HttpStatus.BAD_REQUEST, errorResponse);
+        }
+        if (startDate != null && endDate != null && startDate.isAfter(endDate)) {
+            ErrorResponse errorResponse = createErrorResponse(
+                "Período inválido",
+                "A data inicial " + startDate + " é posterior à data final " + endDate,
+                Arrays.asList("Informe startDate anterior ou igual a endDate"),
+                "Use GET /api/v1/exchange-rates/export?startDate=2024-01-01&endDate=2024-01-31"
+            );
+            throw new RejectedRequestException(HttpStatus.BAD_REQUEST, errorResponse);
+        }
+        
+        boolean gzip = acceptEncoding != null && acceptEncoding.toLowerCase(Locale.ROOT).contains("gzip");
+        StreamingResponseBody stream = out -> {
+            OutputStream target = gzip ? new GZIPOutputStream(out, 8192) : out;
+            exchangeRateExportService.export(fromCurrency, toCurrency, startDate, endDate, includeInactive,
+                exportFormat, target);
+            if (target instanceof GZIPOutputStream gzipStream) {
+                gzipStream.finish();
+            }
+            out.flush();
+        };
+        
+        String fileName = exportFormat == ExportFormat.CSV ? "exchange-rates.csv" : "exchange-rates.ndjson";
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+            .contentType(exportFormat == ExportFormat.CSV ? new MediaType("text", "csv") : MediaType.APPLICATION_NDJSON)
+            .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"")
+            .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(stream);
+    }
+    
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(
+        summary = "Stream de alterações de taxas",
+        description = "Server-Sent Events com cada taxa criada, atualizada ou desativada, logo após o commit. " +
+                      "Clientes lentos recebem só os eventos mais recentes"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Stream aberto",
+            content = @Content(
+                mediaType = "text/event-stream",
+                examples = @ExampleObject(
+                    name = "Alteração de taxa",
+                    value = """
+                    id:42
+                    event:rate-change
+                    data:{"sequence":42,"from":"ORO","to":"TIB","rate":2.6,"changeType":"UPDATED","changedAt":"2024-01-15T10:30:00"}
+                    """
+                )
+            )
+        ),
+        @ApiResponse(responseCode = "400", description = "Lista de pares inválida"),
+        @ApiResponse(responseCode = "503", description = "Limite de assinantes atingido")
+    })
+    public ResponseEntity<SseEmitter> streamExchangeRates(
+        @Parameter(description = "Pares no formato FROM:TO separados por vírgula (padrão: todos)", example = "ORO:TIB,TIB:ORO")
+        @RequestParam(value = "pairs", required = false) String pairs
+    ) {
+        Set<String> pairKeys = new HashSet<>();
+        if (pairs != null && !pairs.isBlank()) {
+            for (String pair : pairs.split(",")) {
+                String[] parts = pair.trim().toUpperCase().split(":");
+                if (parts.length != 2 || parts[0].isBlank() || parts[1].isBlank()) {
+                    ErrorResponse errorResponse = createErrorResponse(
+                        "Par de moedas inválido",
+                        "O par '" + pair.trim() + "' não está no formato FROM:TO",
+                        Arrays.asList("Informe os pares como ORO:TIB,TIB:ORO", "Omita pairs para receber todos os pares"),
+                        "Use GET /api/v1/exchange-rates/stream?pairs=ORO:TIB"
+                    );
+                    throw new RejectedRequestException(HttpStatus.BAD_REQUEST, errorResponse);
+                }
+                pairKeys.add(ExchangeRateStreamService.pairKey(parts[0].trim(), parts[1].trim()));
+            }
+        }
+        
+        return exchangeRateStreamService.subscribe(pairKeys)
+            .map(emitter -> ResponseEntity.ok().contentType(MediaType.TEXT_EVENT_STREAM).body(emitter))
+            .orElseThrow(() -> new RejectedRequestException(HttpStatus.SERVICE_UNAVAILABLE, createErrorResponse(
+                "Stream indisponível",
+                "O limite de assinantes do stream de taxas foi atingido",
+                Arrays.asList("Tente novamente em alguns instantes"),
+                "Use GET /api/v1/exchange-rates/{fromCurrency}/{toCurrency} enquanto isso"
+            )));
+    }
+    
     @GetMapping("/{fromCurrency}/{toCurrency}")
     @Operation(
         summary = "Buscar taxa de câmbio específica",
-        description = "Retorna a taxa de câmbio ativa para um par de moedas específico"
+        description = "Retorna a taxa de câmbio ativa para um par de moedas específico. " +
+                     "A resposta traz ETag; com If-None-Match igual retorna 304 sem corpo"
     )
     @ApiResponses(value = {
         @ApiResponse(
@@ -157,6 +348,7 @@ public class ExchangeRateController {
                 )
             )
         ),
+        @ApiResponse(responseCode = "304", description = "Taxa não mudou desde o ETag informado em If-None-Match"),
         @ApiResponse(
             responseCode = "404", 
             description = "Taxa não encontrada",
@@ -186,8 +378,15 @@ public class ExchangeRateController {
         @Parameter(description = "Código da moeda de origem", example = "ORO") 
         @PathVariable String fromCurrency,
         @Parameter(description = "Código da moeda de destino", example = "TIB") 
-        @PathVariable String toCurrency
+        @PathVariable String toCurrency,
+        @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+        HttpServletRequest request
     ) {
+        return responseCache.serve(SerializedResponseCache.Scope.EXCHANGE_RATES, request.getRequestURI(), ifNoneMatch,
+            () -> loadExchangeRate(fromCurrency, toCurrency));
+    }
+    
+    private ResponseEntity<?> loadExchangeRate(String fromCurrency, String toCurrency) {
         var rateOpt = exchangeRateService.findActiveRate(fromCurrency, toCurrency);
         
         if (rateOpt.isPresent()) {
@@ -208,6 +407,38 @@ public class ExchangeRateController {
         }
     }
     
+    @GetMapping("/{fromCurrency}/{toCurrency}/stats")
+    @Operation(
+        summary = "Estatísticas de taxa de câmbio",
+        description = "Retorna abertura, máxima, mínima, fechamento e média do par por minuto, hora ou dia, " +
+                      "a partir dos agregados pré-calculados"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Estatísticas calculadas com sucesso"),
+        @ApiResponse(responseCode = "400", description = "Intervalo ou período inválido"),
+        @ApiResponse(responseCode = "404", description = "Moeda não encontrada")
+    })
+    public ResponseEntity<ExchangeRateStatsResponse> getExchangeRateStats(
+        @Parameter(description = "Código da moeda de origem", example = "ORO") 
+        @PathVariable String fromCurrency,
+        @Parameter(description = "Código da moeda de destino", example = "TIB") 
+        @PathVariable String toCurrency,
+        @Parameter(description = "Resolução dos buckets: MINUTE, HOUR ou DAY", example = "DAY") 
+        @RequestParam(value = "interval", defaultValue = "DAY") AggregateInterval interval,
+        @Parameter(description = "Data inicial (padrão: 30 dias atrás)", example = "2024-01-01") 
+        @RequestParam(value = "startDate", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+        @Parameter(description = "Data final (padrão: hoje)", example = "2024-01-31") 
+        @RequestParam(value = "endDate", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate
+    ) {
+        LocalDate end = endDate != null ? endDate : LocalDate.now();
+        LocalDate start = startDate != null ? startDate : end.minusDays(30);
+        
+        ExchangeRateStatsResponse stats = exchangeRateAggregateService.getStats(
+            fromCurrency, toCurrency, interval, start, end
+        );
+        return ResponseEntity.ok(stats);
+    }
+    
     @PostMapping
     @Operation(
         summary = "Criar nova taxa de câmbio",
@@ -348,6 +579,33 @@ public class ExchangeRateController {
                                            List<String> suggestions, String action) {
         return new ErrorResponse(message, details, suggestions, action);
     }
-    
+
+    /**
+     * Erros dos endpoints de streaming: o tipo de retorno precisa declarar o corpo do stream
+     * (senão o Spring não o trata como assíncrono), então a resposta de erro sai por aqui
+     */
+    @ExceptionHandler(RejectedRequestException.class)
+    public ResponseEntity<ErrorResponse> handleRejectedRequest(RejectedRequestException e) {
+        return ResponseEntity.status(e.getStatus()).contentType(MediaType.APPLICATION_JSON).body(e.getErrorResponse());
+    }
+
+    static final class RejectedRequestException extends RuntimeException {
+        private final HttpStatus status;
+        private final ErrorResponse errorResponse;
+
+        RejectedRequestException(HttpStatus status, ErrorResponse errorResponse) {
+            super(errorResponse.getMessage());
+            this.status = status;
+            this.errorResponse = errorResponse;
+        }
+
+        HttpStatus getStatus() {
+            return status;
+        }
+
+        ErrorResponse getErrorResponse() {
+            return errorResponse;
+        }
+    }
 
 } 
\ No newline at end of file
@@ -0,0 +1,66 @@
+package com.exchange.controller;
+
+import com.exchange.domain.dto.ErrorResponse;
+import com.exchange.domain.dto.ProductExchangeRateResponse;
+import com.exchange.domain.dto.SliceResponse;
+import com.exchange.domain.entity.ProductExchangeRate;
+import com.exchange.domain.mapper.ProductExchangeRateMapper;
+import com.exchange.service.ProductExchangeRateService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Arrays;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/product-exchange-rates")
+@Tag(name = "Taxas de Câmbio por Produto", description = "Endpoints de consulta das taxas específicas de produtos")
+public class ProductExchangeRateController {
+
+    @Autowired
+    private ProductExchangeRateService productExchangeRateService;
+
+    @GetMapping("/scroll")
+    @Operation(
+        summary = "Listar taxas ativas de produtos por cursor",
+        description = "Paginação por keyset (created_at + produto + par), sem contagem total: o custo de cada fatia " +
+                     "não cresce com a profundidade. Reenvie nextCursor para obter a fatia seguinte"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Fatia de taxas listada com sucesso"),
+        @ApiResponse(responseCode = "400", description = "Cursor inválido")
+    })
+    public ResponseEntity<?> scrollActiveRates(
+        @Parameter(description = "Cursor devolvido pela fatia anterior (omitir na primeira)")
+        @RequestParam(value = "cursor", required = false) String cursor,
+        @Parameter(description = "Tamanho da fatia (máximo 100)", example = "20")
+        @RequestParam(value = "size", defaultValue = "20") Integer size
+    ) {
+        SliceResponse<ProductExchangeRate> slice;
+        try {
+            slice = productExchangeRateService.scrollActiveRates(cursor, size);
+        } catch (IllegalArgumentException e) {
+            ErrorResponse errorResponse = createErrorResponse(
+                "Cursor inválido",
+                e.getMessage(),
+                Arrays.asList("Use o nextCursor exatamente como devolvido pela fatia anterior", "Omita cursor para começar do início"),
+                "Use GET /api/v1/product-exchange-rates/scroll"
+            );
+            return ResponseEntity.badRequest().body(errorResponse);
+        }
+
+        List<ProductExchangeRateResponse> responses = ProductExchangeRateMapper.entityListToResponseList(slice.getContent());
+        return ResponseEntity.ok(new SliceResponse<>(responses, slice.getSize(), slice.getHasNext(), slice.getNextCursor()));
+    }
+
+    private ErrorResponse createErrorResponse(String message, String details,
+                                           List<String> suggestions, String action) {
+        return new ErrorResponse(message, details, suggestions, action);
+    }
+}
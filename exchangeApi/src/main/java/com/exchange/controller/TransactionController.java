@@ -0,0 +1,71 @@
+package com.exchange.controller;
+
+import com.exchange.domain.dto.ConversionResponse;
+import com.exchange.domain.dto.ErrorResponse;
+import com.exchange.service.ConversionService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/v1/transactions")
+@Tag(name = "Transações", description = "Endpoints para confirmação de conversões solicitadas")
+public class TransactionController {
+    
+    @Autowired
+    private ConversionService conversionService;
+    
+    @PostMapping("/{transactionId}/confirm")
+    @Operation(
+        summary = "Confirmar transação",
+        description = "Confirma uma conversão REQUESTED pelo preço travado na cotação. " +
+                      "A operação é idempotente: repetir a confirmação devolve o mesmo resultado sem gerar um novo evento."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Transação confirmada",
+            content = @Content(mediaType = "application/json", schema = @Schema(implementation = ConversionResponse.class))
+        ),
+        @ApiResponse(responseCode = "404", description = "Transação não encontrada ou expirada")
+    })
+    public ResponseEntity<?> confirmTransaction(
+        @Parameter(description = "Id da transação devolvido na conversão")
+        @PathVariable UUID transactionId
+    ) {
+        Optional<ConversionResponse> confirmed = conversionService.confirmTransaction(transactionId);
+        
+        if (confirmed.isPresent()) {
+            return ResponseEntity.ok(confirmed.get());
+        } else {
+            ErrorResponse errorResponse = createErrorResponse(
+                "Transação não encontrada",
+                "A transação " + transactionId + " não existe ou expirou",
+                Arrays.asList(
+                    "Verifique o id da transação",
+                    "Cotações expiram 30 minutos após a conversão"
+                ),
+                "Solicite uma nova conversão para obter outra cotação"
+            );
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(errorResponse);
+        }
+    }
+    
+    private ErrorResponse createErrorResponse(String message, String details,
+                                           List<String> suggestions, String action) {
+        return new ErrorResponse(message, details, suggestions, action);
+    }
+}
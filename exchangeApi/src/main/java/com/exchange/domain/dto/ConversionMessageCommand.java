@@ -1,5 +1,6 @@
 package com.exchange.domain.dto;
 
+import com.messaging.command.ConversionCommand;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -46,4 +47,23 @@ public class ConversionMessageCommand {
         this.timestamp = LocalDateTime.now();
         this.correlationId = UUID.randomUUID().toString();
     }
-} 
\ No newline at end of file
+
+    /**
+     * Converte o comando do esquema compartilhado
+     */
+    public static ConversionMessageCommand from(ConversionCommand command) {
+        ConversionMessageCommand result = new ConversionMessageCommand();
+        result.setCommandId(command.getCommandId());
+        result.setTransactionId(command.getTransactionId());
+        result.setFromCurrencyCode(command.getFromCurrencyCode());
+        result.setToCurrencyCode(command.getToCurrencyCode());
+        result.setQuantityProduct(command.getQuantityProduct());
+        result.setQuantityCurrency(command.getQuantityCurrency());
+        result.setProductId(command.getProductId());
+        result.setKingdomId(command.getKingdomId());
+        result.setConversionDate(command.getConversionDate());
+        result.setTimestamp(command.getTimestamp());
+        result.setCorrelationId(command.getCorrelationId());
+        return result;
+    }
+}
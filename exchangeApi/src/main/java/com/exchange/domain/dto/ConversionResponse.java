@@ -19,6 +19,9 @@ public class ConversionResponse {
     private String fromCurrencyCode;
     private String toCurrencyCode;
     
+    // Moedas percorridas quando a taxa foi cruzada (nulo em conversão direta)
+    private List<String> conversionPath;
+    
     // Guard Rail
     private TransactionStatus status;
     private String reason;
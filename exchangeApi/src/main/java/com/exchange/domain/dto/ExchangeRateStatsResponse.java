@@ -0,0 +1,47 @@
+package com.exchange.domain.dto;
+
+import com.exchange.domain.enums.AggregateInterval;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+@Schema(description = "Estatísticas de um par de moedas em um período")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExchangeRateStatsResponse {
+    
+    @Schema(description = "Moeda de origem", example = "ORO")
+    private String fromCurrency;
+    
+    @Schema(description = "Moeda de destino", example = "TIB")
+    private String toCurrency;
+    
+    @Schema(description = "Resolução dos buckets", example = "HOUR")
+    private AggregateInterval interval;
+    
+    @Schema(description = "Data inicial (inclusive)", example = "2024-01-01")
+    private LocalDate startDate;
+    
+    @Schema(description = "Data final (inclusive)", example = "2024-01-31")
+    private LocalDate endDate;
+    
+    @Schema(description = "Menor taxa do período", example = "2.4")
+    private BigDecimal min;
+    
+    @Schema(description = "Maior taxa do período", example = "2.6")
+    private BigDecimal max;
+    
+    @Schema(description = "Média das taxas do período", example = "2.5")
+    private BigDecimal average;
+    
+    @Schema(description = "Quantidade de alterações no período", example = "12")
+    private Long samples;
+    
+    @Schema(description = "Buckets OHLC em ordem cronológica")
+    private List<RateBucketResponse> buckets;
+}
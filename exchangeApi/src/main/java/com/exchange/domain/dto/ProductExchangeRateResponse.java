@@ -0,0 +1,33 @@
+package com.exchange.domain.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Schema(description = "Taxa de câmbio específica de um produto")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductExchangeRateResponse {
+
+    @Schema(description = "ID do produto", example = "1")
+    private Long productId;
+
+    @Schema(description = "Código da moeda de origem", example = "ORO")
+    private String fromCurrencyCode;
+
+    @Schema(description = "Código da moeda de destino", example = "TIB")
+    private String toCurrencyCode;
+
+    @Schema(description = "Taxa base", example = "2.5")
+    private BigDecimal baseRate;
+
+    @Schema(description = "Multiplicador do produto", example = "1.2")
+    private BigDecimal productMultiplier;
+
+    @Schema(description = "Última atualização")
+    private LocalDateTime lastUpdated;
+}
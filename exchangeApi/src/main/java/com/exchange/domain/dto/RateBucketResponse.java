@@ -0,0 +1,36 @@
+package com.exchange.domain.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Schema(description = "Bucket OHLC de taxas")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RateBucketResponse {
+    
+    @Schema(description = "Início do bucket", example = "2024-01-15T10:00:00")
+    private LocalDateTime bucketStart;
+    
+    @Schema(description = "Primeira taxa do bucket", example = "2.5")
+    private BigDecimal open;
+    
+    @Schema(description = "Maior taxa do bucket", example = "2.6")
+    private BigDecimal high;
+    
+    @Schema(description = "Menor taxa do bucket", example = "2.4")
+    private BigDecimal low;
+    
+    @Schema(description = "Última taxa do bucket", example = "2.55")
+    private BigDecimal close;
+    
+    @Schema(description = "Média das taxas do bucket", example = "2.52")
+    private BigDecimal average;
+    
+    @Schema(description = "Quantidade de alterações no bucket", example = "3")
+    private Long samples;
+}
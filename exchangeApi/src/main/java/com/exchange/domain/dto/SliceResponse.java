@@ -0,0 +1,26 @@
+package com.exchange.domain.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.util.List;
+
+@Schema(description = "Fatia de resultados paginada por cursor, sem contagem total")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SliceResponse<T> {
+
+    @Schema(description = "Lista de itens")
+    private List<T> content;
+
+    @Schema(description = "Tamanho da fatia", example = "20")
+    private Integer size;
+
+    @Schema(description = "Se existem mais itens depois desta fatia", example = "true")
+    private Boolean hasNext;
+
+    @Schema(description = "Cursor para a próxima fatia (nulo quando hasNext é false)", example = "MjAyNC0wMS0xNVQxMDozMDowMHxPUk98VElC")
+    private String nextCursor;
+}
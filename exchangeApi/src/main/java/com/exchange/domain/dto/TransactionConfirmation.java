@@ -0,0 +1,19 @@
+package com.exchange.domain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Resultado da confirmação de uma transação travada no Redis
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransactionConfirmation {
+    
+    private TransactionData transactionData;
+    
+    // false quando a transação já havia sido confirmada antes (repetição idempotente)
+    private boolean firstConfirmation;
+}
@@ -0,0 +1,68 @@
+package com.exchange.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+
+/**
+ * Bucket OHLC de um par de moedas numa resolução (MINUTE, HOUR ou DAY)
+ */
+@Entity
+@Table(name = "exchange_rate_aggregates")
+@IdClass(ExchangeRateAggregateId.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExchangeRateAggregate {
+    
+    @Id
+    @Column(name = "from_currency_prefix", nullable = false, length = 10)
+    private String fromCurrencyPrefix;
+    
+    @Id
+    @Column(name = "to_currency_prefix", nullable = false, length = 10)
+    private String toCurrencyPrefix;
+    
+    @Id
+    @Column(name = "resolution", nullable = false, length = 10)
+    private String resolution;
+    
+    @Id
+    @Column(name = "bucket_start", nullable = false)
+    private LocalDateTime bucketStart;
+    
+    @Column(name = "open_rate", nullable = false, precision = 10, scale = 4)
+    private BigDecimal openRate;
+    
+    @Column(name = "high_rate", nullable = false, precision = 10, scale = 4)
+    private BigDecimal highRate;
+    
+    @Column(name = "low_rate", nullable = false, precision = 10, scale = 4)
+    private BigDecimal lowRate;
+    
+    @Column(name = "close_rate", nullable = false, precision = 10, scale = 4)
+    private BigDecimal closeRate;
+    
+    @Column(name = "rate_sum", nullable = false, precision = 20, scale = 4)
+    private BigDecimal rateSum;
+    
+    @Column(name = "sample_count", nullable = false)
+    private Long sampleCount;
+    
+    @Column(name = "first_at", nullable = false)
+    private LocalDateTime firstAt;
+    
+    @Column(name = "last_at", nullable = false)
+    private LocalDateTime lastAt;
+    
+    /**
+     * Média das taxas do bucket
+     */
+    public BigDecimal getAverageRate() {
+        return rateSum.divide(BigDecimal.valueOf(sampleCount), 4, RoundingMode.HALF_UP);
+    }
+}
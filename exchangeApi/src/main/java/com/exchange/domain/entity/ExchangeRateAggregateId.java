@@ -0,0 +1,22 @@
+package com.exchange.domain.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExchangeRateAggregateId implements Serializable {
+
+    private String fromCurrencyPrefix;
+
+    private String toCurrencyPrefix;
+
+    private String resolution;
+
+    private LocalDateTime bucketStart;
+}
@@ -0,0 +1,26 @@
+package com.exchange.domain.enums;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Resolução dos agregados OHLC de taxas
+ */
+public enum AggregateInterval {
+    MINUTE(ChronoUnit.MINUTES),
+    HOUR(ChronoUnit.HOURS),
+    DAY(ChronoUnit.DAYS);
+
+    private final ChronoUnit unit;
+
+    AggregateInterval(ChronoUnit unit) {
+        this.unit = unit;
+    }
+
+    /**
+     * Início do bucket que contém o instante
+     */
+    public LocalDateTime bucketStart(LocalDateTime at) {
+        return at.truncatedTo(unit);
+    }
+}
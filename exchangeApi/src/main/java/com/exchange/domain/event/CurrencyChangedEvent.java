@@ -0,0 +1,24 @@
+package com.exchange.domain.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Evento interno publicado quando uma moeda é criada, atualizada ou desativada.
+ * Entregue aos listeners somente após o commit da transação.
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class CurrencyChangedEvent {
+
+    public enum ChangeType {
+        CREATED,
+        UPDATED,
+        DEACTIVATED
+    }
+
+    private final String prefix;
+    private final ChangeType changeType;
+}
@@ -0,0 +1,28 @@
+package com.exchange.domain.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.math.BigDecimal;
+
+/**
+ * Evento interno publicado quando uma taxa de câmbio é criada, atualizada ou desativada.
+ * Entregue aos listeners somente após o commit da transação.
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class ExchangeRateChangedEvent {
+
+    public enum ChangeType {
+        SAVED,
+        UPDATED,
+        DEACTIVATED
+    }
+
+    private final String fromCurrencyPrefix;
+    private final String toCurrencyPrefix;
+    private final BigDecimal rate;
+    private final ChangeType changeType;
+}
@@ -0,0 +1,25 @@
+package com.exchange.domain.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Evento interno publicado quando uma taxa de câmbio de produto é criada ou desativada.
+ * Entregue aos listeners somente após o commit da transação.
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class ProductExchangeRateChangedEvent {
+
+    public enum ChangeType {
+        SAVED,
+        DEACTIVATED
+    }
+
+    private final Long productId;
+    private final String fromCurrencyPrefix;
+    private final String toCurrencyPrefix;
+    private final ChangeType changeType;
+}
@@ -0,0 +1,12 @@
+package com.exchange.domain.exception;
+
+public class ConversionLookupException extends RuntimeException {
+    
+    public ConversionLookupException(String message) {
+        super(message);
+    }
+    
+    public ConversionLookupException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -6,18 +6,23 @@ import com.exchange.domain.dto.ExchangeRateResponse;
 import com.exchange.domain.dto.ExchangeRateSimpleResponse;
 import com.exchange.domain.entity.ExchangeRate;
 import com.exchange.domain.enums.TransactionStatus;
+import com.exchange.domain.exception.CurrencyNotFoundException;
 import com.exchange.service.CurrencyService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 import java.math.BigDecimal;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
  * Mapper para conversão entre ExchangeRate (entidade) e DTOs
- * Conversão manual com busca de informações das moedas
+ * Conversão manual com busca de informações das moedas; nas listas as moedas da página
+ * são resolvidas de uma vez e compartilhadas entre as respostas
  */
 @Component
 public class ExchangeRateMapper {
@@ -50,19 +55,9 @@ public class ExchangeRateMapper {
             return null;
         }
         
-        ExchangeRateResponse response = new ExchangeRateResponse();
-        
-        // Dados básicos
-        response.setRate(entity.getRate());
-        response.setLastUpdated(entity.getUpdatedAt() != null ? entity.getUpdatedAt() : entity.getCreatedAt());
-
         CurrencyInfo fromCurrency = currencyService.getCurrencyByPrefix(entity.getFromCurrencyPrefix());
         CurrencyInfo toCurrency = currencyService.getCurrencyByPrefix(entity.getToCurrencyPrefix());
-        response.setFromCurrency(fromCurrency);
-        response.setToCurrency(toCurrency);
-
-
-        return response;
+        return toResponse(entity, fromCurrency, toCurrency);
     }
     
     /**
@@ -73,19 +68,10 @@ public class ExchangeRateMapper {
             return null;
         }
         
-        ExchangeRateSimpleResponse response = new ExchangeRateSimpleResponse();
-        
-        // Dados básicos
-        response.setRate(entity.getRate());
-        response.setLastUpdated(entity.getUpdatedAt() != null ? entity.getUpdatedAt() : entity.getCreatedAt());
-        
         // Informações das moedas
         CurrencyInfo fromCurrency = currencyService.getCurrencyByPrefix(entity.getFromCurrencyPrefix());
         CurrencyInfo toCurrency = currencyService.getCurrencyByPrefix(entity.getToCurrencyPrefix());
-        response.setFromCurrency(fromCurrency);
-        response.setToCurrency(toCurrency);
-        
-        return response;
+        return toSimpleResponse(entity, fromCurrency, toCurrency);
     }
     
     /**
@@ -96,8 +82,11 @@ public class ExchangeRateMapper {
             return new ArrayList<>();
         }
         
+        Map<String, CurrencyInfo> currencies = resolveCurrencies(entities);
         return entities.stream()
-            .map(this::entityToSimpleResponse)
+            .map(entity -> entity == null ? null : toSimpleResponse(entity,
+                currencyOf(currencies, entity.getFromCurrencyPrefix()),
+                currencyOf(currencies, entity.getToCurrencyPrefix())))
             .collect(Collectors.toList());
     }
     
@@ -109,11 +98,64 @@ public class ExchangeRateMapper {
             return new ArrayList<>();
         }
         
+        Map<String, CurrencyInfo> currencies = resolveCurrencies(entities);
         return entities.stream()
-            .map(this::entityToResponse)
+            .map(entity -> entity == null ? null : toResponse(entity,
+                currencyOf(currencies, entity.getFromCurrencyPrefix()),
+                currencyOf(currencies, entity.getToCurrencyPrefix())))
             .collect(Collectors.toList());
     }
     
+    private ExchangeRateResponse toResponse(ExchangeRate entity, CurrencyInfo fromCurrency, CurrencyInfo toCurrency) {
+        ExchangeRateResponse response = new ExchangeRateResponse();
+        
+        // Dados básicos
+        response.setRate(entity.getRate());
+        response.setLastUpdated(entity.getUpdatedAt() != null ? entity.getUpdatedAt() : entity.getCreatedAt());
+        
+        response.setFromCurrency(fromCurrency);
+        response.setToCurrency(toCurrency);
+        return response;
+    }
+    
+    private ExchangeRateSimpleResponse toSimpleResponse(ExchangeRate entity, CurrencyInfo fromCurrency, CurrencyInfo toCurrency) {
+        ExchangeRateSimpleResponse response = new ExchangeRateSimpleResponse();
+        
+        // Dados básicos
+        response.setRate(entity.getRate());
+        response.setLastUpdated(entity.getUpdatedAt() != null ? entity.getUpdatedAt() : entity.getCreatedAt());
+        
+        // Informações das moedas
+        response.setFromCurrency(fromCurrency);
+        response.setToCurrency(toCurrency);
+        return response;
+    }
+    
+    /**
+     * Resolve de uma vez as moedas distintas da lista
+     */
+    private Map<String, CurrencyInfo> resolveCurrencies(List<ExchangeRate> entities) {
+        Set<String> prefixes = new HashSet<>();
+        for (ExchangeRate entity : entities) {
+            if (entity != null) {
+                prefixes.add(entity.getFromCurrencyPrefix());
+                prefixes.add(entity.getToCurrencyPrefix());
+            }
+        }
+        return prefixes.isEmpty() ? Map.of() : currencyService.getCurrenciesByPrefixes(prefixes);
+    }
+    
+    /**
+     * Mesmo contrato de getCurrencyByPrefix: moeda sem cadastro ativo é erro
+     */
+    private static CurrencyInfo currencyOf(Map<String, CurrencyInfo> currencies, String prefix) {
+        CurrencyInfo currency = currencies.get(prefix);
+        if (currency == null) {
+            throw new CurrencyNotFoundException("Moeda ativa não encontrada: " + prefix);
+        }
+        return currency;
+    }
+    
     /**
      * Converte ExchangeRateResponse para ExchangeRate (para casos específicos)
      */
@@ -0,0 +1,45 @@
+package com.exchange.domain.mapper;
+
+import com.exchange.domain.dto.ProductExchangeRateResponse;
+import com.exchange.domain.entity.ProductExchangeRate;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Mapper para conversão entre ProductExchangeRate (entidade) e DTOs
+ */
+public class ProductExchangeRateMapper {
+
+    /**
+     * Converte ProductExchangeRate para ProductExchangeRateResponse
+     */
+    public static ProductExchangeRateResponse entityToResponse(ProductExchangeRate entity) {
+        if (entity == null) {
+            return null;
+        }
+
+        ProductExchangeRateResponse response = new ProductExchangeRateResponse();
+        response.setProductId(entity.getProductId());
+        response.setFromCurrencyCode(entity.getFromCurrencyPrefix());
+        response.setToCurrencyCode(entity.getToCurrencyPrefix());
+        response.setBaseRate(entity.getBaseRate());
+        response.setProductMultiplier(entity.getProductMultiplier());
+        response.setLastUpdated(entity.getUpdatedAt() != null ? entity.getUpdatedAt() : entity.getCreatedAt());
+
+        return response;
+    }
+
+    /**
+     * Converte lista de ProductExchangeRate para lista de ProductExchangeRateResponse
+     */
+    public static List<ProductExchangeRateResponse> entityListToResponseList(List<ProductExchangeRate> entities) {
+        if (entities == null) {
+            return List.of();
+        }
+
+        return entities.stream()
+            .map(ProductExchangeRateMapper::entityToResponse)
+            .collect(Collectors.toList());
+    }
+}
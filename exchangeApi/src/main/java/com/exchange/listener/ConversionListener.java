@@ -1,13 +1,13 @@
 package com.exchange.listener;
 
-import com.exchange.domain.command.ConversionCommand;
 import com.exchange.domain.dto.ConversionMessageEvent;
-import com.exchange.domain.event.GenericApplicationEvent;
+import com.exchange.service.ConversionCommandDeduplicator;
 import com.exchange.service.ConversionService;
 import com.exchange.util.SendMessege;
 import com.exchange.domain.dto.ConversionRequest;
 import com.exchange.domain.dto.ConversionResponse;
 import com.exchange.domain.enums.TransactionStatus;
+import com.messaging.command.ConversionCommand;
 import lombok.extern.log4j.Log4j2;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.kafka.annotation.KafkaListener;
@@ -20,6 +20,7 @@ import org.springframework.stereotype.Service;
 import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
 
 /**
  * Listener para comandos de conversão usando factory específica.
@@ -34,6 +35,9 @@ public class ConversionListener {
     
     @Autowired
     private SendMessege sendCommand;
+    
+    @Autowired
+    private ConversionCommandDeduplicator deduplicator;
 
     /**
      * Listener que recebe diretamente ConversionCommand sem conversão manual.
@@ -42,7 +46,8 @@ public class ConversionListener {
     @KafkaListener(
         topics = "conversion-commands",
         groupId = "exchange-api-group",
-        containerFactory = "conversionCommandListenerContainerFactory"
+        containerFactory = "conversionCommandListenerContainerFactory",
+        autoStartup = "#{!${app.kafka.batch.enabled:false} and !${app.kafka.parallel.enabled:false}}"
     )
     public void handleConversionCommand(@Payload ConversionCommand command, 
                                        @Header(KafkaHeaders.RECEIVED_TOPIC) String topic,
@@ -54,17 +59,24 @@ public class ConversionListener {
             log.info("Recebido comando de conversão da partição {} offset {}", partition, offset);
             log.info("Comando recebido: {}", command);
             
-            // Converter para ConversionRequest
-            ConversionRequest request = convertToConversionRequest(command);
+            // Converter e criar evento de resultado, uma única vez por commandId
+            Optional<ConversionMessageEvent> event = deduplicator.process(command.getCommandId(), () -> {
+                ConversionRequest request = convertToConversionRequest(command);
+                ConversionResponse response = conversionService.convert(request);
+                return createConversionEvent(command, response);
+            });
             
-            // Processar a conversão
-            ConversionResponse response = conversionService.convert(request);
-            
-            // Criar evento de resultado
-            ConversionMessageEvent event = createConversionEvent(command, response);
+            if (event.isEmpty()) {
+                // Reservado por outro consumidor, que pode ter caído antes de gravar o resultado:
+                // volta para a fila até haver resultado ou a reserva expirar
+                log.info("Comando {} reservado por outro consumidor, reentrega em {}",
+                        command.getCommandId(), deduplicator.getInFlightBackoff());
+                ack.nack(deduplicator.getInFlightBackoff());
+                return;
+            }
             
-            // Enviar evento
-            sendCommand.sendConversionEvent(event);
+            // Enviar evento (o resultado em cache, se for uma reentrega)
+            sendCommand.sendConversionEvent(event.get());
             
             // Confirmar processamento
             ack.acknowledge();
@@ -93,7 +105,7 @@ public class ConversionListener {
         request.setQuantityCurrency(command.getQuantityCurrency());
         request.setProductId(command.getProductId());
         request.setKingdomId(command.getKingdomId());
-        // Converter string para LocalDate se necessário
+        request.setConversionDate(command.getConversionDate());
         return request;
     }
     
@@ -0,0 +1,256 @@
+package com.exchange.listener;
+
+import com.exchange.domain.dto.ConversionMessageEvent;
+import com.exchange.domain.dto.ConversionRequest;
+import com.exchange.domain.dto.ConversionResponse;
+import com.exchange.domain.enums.TransactionStatus;
+import com.exchange.service.ConversionCommandDeduplicator;
+import com.exchange.service.ConversionService;
+import com.exchange.service.strategy.BatchConversionLookups;
+import com.exchange.service.strategy.DirectConversionLookups;
+import com.exchange.util.SendMessege;
+import com.messaging.command.ConversionCommand;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.log4j.Log4j2;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Processa comandos de conversão em paralelo dentro da partição, mantendo a ordem por chave.
+ * Registros com o mesmo transactionId (ou kingdomId, na falta dele) ficam na mesma fila e rodam
+ * em ordem; filas diferentes rodam ao mesmo tempo em virtual threads.
+ * Os offsets são confirmados por partição, até o primeiro registro ainda não processado daquela
+ * partição; cada partição com pendência volta para o seu primeiro pendente e é reentregue dali,
+ * sem afetar o que já foi concluído nas outras partições do mesmo poll.
+ */
+@Service
+@Log4j2
+public class ParallelConversionListener {
+
+    @Autowired
+    private ConversionService conversionService;
+
+    @Autowired
+    private DirectConversionLookups directLookups;
+
+    @Autowired
+    private SendMessege sendCommand;
+
+    @Autowired
+    private ConversionCommandDeduplicator deduplicator;
+
+    @Value("${app.kafka.parallel.batch-timeout:60s}")
+    private Duration batchTimeout;
+
+    @Value("${app.kafka.parallel.redeliver-backoff:1s}")
+    private Duration redeliverBackoff;
+
+    private final ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor();
+
+    private final Semaphore inFlight;
+
+    public ParallelConversionListener(@Value("${app.kafka.parallel.max-in-flight:256}") int maxInFlight) {
+        this.inFlight = new Semaphore(maxInFlight);
+    }
+
+    @KafkaListener(
+        topics = "conversion-commands",
+        groupId = "exchange-api-group",
+        containerFactory = "parallelConversionCommandListenerContainerFactory",
+        autoStartup = "${app.kafka.parallel.enabled:false}"
+    )
+    public void handleConversionCommands(List<ConsumerRecord<String, ConversionCommand>> records,
+                                         Consumer<?, ?> consumer) {
+        int size = records.size();
+        AtomicIntegerArray processed = new AtomicIntegerArray(size);
+        BatchConversionLookups lookups = new BatchConversionLookups(directLookups);
+        AtomicBoolean inFlightSeen = new AtomicBoolean();
+        List<ConversionCommand> commands = new ArrayList<>(size);
+
+        // Agrupa os índices por chave, preservando a ordem dos offsets em cada fila
+        Map<String, List<Integer>> lanes = new LinkedHashMap<>();
+        for (int i = 0; i < size; i++) {
+            ConversionCommand command = records.get(i).value();
+            commands.add(command);
+            if (command == null) {
+                // Falha de desserialização: não há o que processar
+                log.warn("Comando de conversão inválido ignorado no índice {}", i);
+                processed.set(i, 1);
+                continue;
+            }
+            lanes.computeIfAbsent(keyOf(command, i), key -> new ArrayList<>()).add(i);
+        }
+
+        List<Future<?>> running = new ArrayList<>(lanes.size());
+        for (List<Integer> lane : lanes.values()) {
+            running.add(workers.submit(() -> runLane(commands, lane, processed, lookups, inFlightSeen)));
+        }
+
+        awaitLanes(running);
+
+        // Prefixo contíguo concluído de cada partição: o que pode ser confirmado e de onde reentregar
+        Map<TopicPartition, OffsetAndMetadata> commits = new HashMap<>();
+        Map<TopicPartition, Long> pending = new HashMap<>();
+        for (int i = 0; i < size; i++) {
+            ConsumerRecord<String, ConversionCommand> record = records.get(i);
+            TopicPartition partition = new TopicPartition(record.topic(), record.partition());
+            if (pending.containsKey(partition)) {
+                continue;
+            }
+            if (processed.get(i) == 1) {
+                commits.put(partition, new OffsetAndMetadata(record.offset() + 1));
+            } else {
+                pending.put(partition, record.offset());
+            }
+        }
+
+        if (!commits.isEmpty()) {
+            consumer.commitSync(commits);
+        }
+        if (pending.isEmpty()) {
+            log.info("Lote de {} comandos processado em {} filas", size, lanes.size());
+            return;
+        }
+
+        // Com comando reservado por outro consumidor, espera o suficiente para a reserva resolver
+        Duration backoff = inFlightSeen.get()
+            ? deduplicator.getInFlightBackoff()
+            : redeliverBackoff;
+        log.warn("Lote parcialmente processado: {} partições com pendências {}, reentregues em {}",
+            pending.size(), pending, backoff);
+        pending.forEach(consumer::seek);
+        try {
+            Thread.sleep(backoff.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        workers.shutdownNow();
+    }
+
+    /**
+     * Processa os registros de uma fila em ordem; para na primeira falha para não furar a ordem da chave
+     */
+    private void runLane(List<ConversionCommand> commands, List<Integer> lane, AtomicIntegerArray processed,
+                         BatchConversionLookups lookups, AtomicBoolean inFlightSeen) {
+        for (int index : lane) {
+            if (Thread.currentThread().isInterrupted()) {
+                return;
+            }
+            try {
+                inFlight.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            try {
+                if (!process(commands.get(index), lookups)) {
+                    // Reservado por outro consumidor: fica pendente para ser reentregue, e a fila para
+                    // aqui para não furar a ordem da chave
+                    log.info("Comando {} reservado por outro consumidor, será reentregue",
+                        commands.get(index).getCommandId());
+                    inFlightSeen.set(true);
+                    return;
+                }
+                processed.set(index, 1);
+            } catch (Exception e) {
+                log.error("Falha ao processar comando {}, fila interrompida", commands.get(index).getCommandId(), e);
+                return;
+            } finally {
+                inFlight.release();
+            }
+        }
+    }
+
+    /**
+     * Converte e publica o resultado, aguardando a confirmação do broker.
+     * Comandos já processados publicam o evento em cache; erros de conversão viram evento de erro,
+     * como no listener de um registro por vez. Retorna false se o commandId está reservado por outro
+     * consumidor: o registro não pode ser confirmado.
+     */
+    private boolean process(ConversionCommand command, BatchConversionLookups lookups) throws Exception {
+        Optional<ConversionMessageEvent> event;
+        try {
+            event = deduplicator.process(command.getCommandId(), () -> {
+                ConversionResponse response = conversionService.convert(convertToConversionRequest(command), lookups);
+                return new ConversionMessageEvent(command.getCommandId(), command.getCorrelationId(), response);
+            });
+        } catch (Exception e) {
+            log.error("Erro ao processar comando de conversão {}", command.getCommandId(), e);
+            event = Optional.of(new ConversionMessageEvent(command.getCommandId(), command.getCorrelationId(),
+                e.getMessage(), TransactionStatus.NOT_APPROVED));
+        }
+        if (event.isEmpty()) {
+            return false;
+        }
+        sendCommand.sendConversionEvent(event.get()).get();
+        return true;
+    }
+
+    private void awaitLanes(List<Future<?>> running) {
+        long deadline = System.nanoTime() + batchTimeout.toNanos();
+        try {
+            for (Future<?> lane : running) {
+                lane.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            }
+        } catch (TimeoutException e) {
+            log.warn("Tempo esgotado aguardando as filas do lote ({})", batchTimeout);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.error("Erro inesperado em fila do lote", e);
+        } finally {
+            for (Future<?> lane : running) {
+                lane.cancel(true);
+            }
+        }
+    }
+
+    private String keyOf(ConversionCommand command, int index) {
+        if (command.getTransactionId() != null) {
+            return "tx:" + command.getTransactionId();
+        }
+        if (command.getKingdomId() != null) {
+            return "kingdom:" + command.getKingdomId();
+        }
+        return "record:" + index;
+    }
+
+    private ConversionRequest convertToConversionRequest(ConversionCommand command) {
+        ConversionRequest request = new ConversionRequest();
+        request.setTransactionId(command.getTransactionId());
+        request.setFromCurrencyCode(command.getFromCurrencyCode());
+        request.setToCurrencyCode(command.getToCurrencyCode());
+        request.setQuantityProduct(command.getQuantityProduct());
+        request.setQuantityCurrency(command.getQuantityCurrency());
+        request.setProductId(command.getProductId());
+        request.setKingdomId(command.getKingdomId());
+        request.setConversionDate(command.getConversionDate());
+        return request;
+    }
+}
@@ -9,6 +9,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -20,6 +21,11 @@ public interface CurrencyRepository extends JpaRepository<Currency, CurrencyId>
      */
     Optional<Currency> findByPrefixAndIsActiveTrue(String prefix);
     
+    /**
+     * Busca moedas ativas de vários prefixes em uma única consulta (IN)
+     */
+    List<Currency> findByPrefixInAndIsActiveTrue(Collection<String> prefixes);
+    
     /**
      * Verificar se existe moeda ativa com o prefix
      */
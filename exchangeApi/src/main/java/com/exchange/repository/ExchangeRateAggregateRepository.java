@@ -0,0 +1,89 @@
+package com.exchange.repository;
+
+import com.exchange.domain.entity.ExchangeRateAggregate;
+import com.exchange.domain.entity.ExchangeRateAggregateId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface ExchangeRateAggregateRepository extends JpaRepository<ExchangeRateAggregate, ExchangeRateAggregateId> {
+    
+    /**
+     * Incorpora uma amostra ao bucket, criando-o se necessário
+     */
+    @Modifying
+    @Query(value = """
+        INSERT INTO exchange_rate_aggregates (
+            from_currency_prefix, to_currency_prefix, resolution, bucket_start,
+            open_rate, high_rate, low_rate, close_rate, rate_sum, sample_count, first_at, last_at
+        ) VALUES (
+            :fromPrefix, :toPrefix, :resolution, :bucketStart,
+            :rate, :rate, :rate, :rate, :rate, 1, :observedAt, :observedAt
+        )
+        ON CONFLICT (from_currency_prefix, to_currency_prefix, resolution, bucket_start) DO UPDATE SET
+            open_rate = CASE WHEN EXCLUDED.first_at < exchange_rate_aggregates.first_at
+                             THEN EXCLUDED.open_rate ELSE exchange_rate_aggregates.open_rate END,
+            high_rate = GREATEST(exchange_rate_aggregates.high_rate, EXCLUDED.high_rate),
+            low_rate = LEAST(exchange_rate_aggregates.low_rate, EXCLUDED.low_rate),
+            close_rate = CASE WHEN EXCLUDED.last_at >= exchange_rate_aggregates.last_at
+                              THEN EXCLUDED.close_rate ELSE exchange_rate_aggregates.close_rate END,
+            rate_sum = exchange_rate_aggregates.rate_sum + EXCLUDED.rate_sum,
+            sample_count = exchange_rate_aggregates.sample_count + EXCLUDED.sample_count,
+            first_at = LEAST(exchange_rate_aggregates.first_at, EXCLUDED.first_at),
+            last_at = GREATEST(exchange_rate_aggregates.last_at, EXCLUDED.last_at)
+        """, nativeQuery = true)
+    void upsertSample(
+        @Param("fromPrefix") String fromPrefix,
+        @Param("toPrefix") String toPrefix,
+        @Param("resolution") String resolution,
+        @Param("bucketStart") LocalDateTime bucketStart,
+        @Param("rate") BigDecimal rate,
+        @Param("observedAt") LocalDateTime observedAt
+    );
+    
+    /**
+     * Buckets de um par em um período, em ordem cronológica
+     */
+    @Query(value = """
+        SELECT * FROM exchange_rate_aggregates
+        WHERE from_currency_prefix = :fromPrefix
+        AND to_currency_prefix = :toPrefix
+        AND resolution = :resolution
+        AND bucket_start >= :start
+        AND bucket_start < :end
+        ORDER BY bucket_start ASC
+        """, nativeQuery = true)
+    List<ExchangeRateAggregate> findBuckets(
+        @Param("fromPrefix") String fromPrefix,
+        @Param("toPrefix") String toPrefix,
+        @Param("resolution") String resolution,
+        @Param("start") LocalDateTime start,
+        @Param("end") LocalDateTime end
+    );
+    
+    /**
+     * Buckets de uma resolução desde since, mais o bucket mais recente de cada par mesmo que mais antigo,
+     * em ordem cronológica. Fonte do histórico da linha de base de risco
+     */
+    @Query(value = """
+        SELECT * FROM exchange_rate_aggregates a
+        WHERE a.resolution = :resolution
+        AND (a.bucket_start >= :since
+             OR a.bucket_start = (SELECT MAX(b.bucket_start) FROM exchange_rate_aggregates b
+                                  WHERE b.from_currency_prefix = a.from_currency_prefix
+                                  AND b.to_currency_prefix = a.to_currency_prefix
+                                  AND b.resolution = a.resolution))
+        ORDER BY a.bucket_start ASC
+        """, nativeQuery = true)
+    List<ExchangeRateAggregate> findHistorySince(
+        @Param("resolution") String resolution,
+        @Param("since") LocalDateTime since
+    );
+}
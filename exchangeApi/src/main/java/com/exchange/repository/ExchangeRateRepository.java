@@ -10,6 +10,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -41,6 +42,13 @@ public interface ExchangeRateRepository extends JpaRepository<ExchangeRate, Exch
         @Param("toPrefix") String toPrefix
     );
     
+    /**
+     * Listar todas as taxas ativas, mais recentes primeiro
+     */
+    @Query(value = "SELECT * FROM exchange_rates WHERE is_active = true " +
+                   "ORDER BY created_at DESC", nativeQuery = true)
+    List<ExchangeRate> findAllActive();
+
     /**
      * Listar taxas ativas com paginação
      */
@@ -105,6 +113,47 @@ public interface ExchangeRateRepository extends JpaRepository<ExchangeRate, Exch
         Pageable pageable
     );
     
+    /**
+     * Primeira fatia da listagem por cursor, com filtros opcionais de par.
+     * Ordem (created_at, from, to) decrescente, coberta por idx_exchange_rates_keyset
+     */
+    @Query(value = """
+        SELECT * FROM exchange_rates
+        WHERE is_active = :activeOnly
+        AND (CAST(:fromPrefix AS VARCHAR) IS NULL OR from_currency_prefix = :fromPrefix)
+        AND (CAST(:toPrefix AS VARCHAR) IS NULL OR to_currency_prefix = :toPrefix)
+        ORDER BY created_at DESC, from_currency_prefix DESC, to_currency_prefix DESC
+        LIMIT :limit
+        """, nativeQuery = true)
+    List<ExchangeRate> findSliceFirst(
+        @Param("fromPrefix") String fromPrefix,
+        @Param("toPrefix") String toPrefix,
+        @Param("activeOnly") Boolean activeOnly,
+        @Param("limit") int limit
+    );
+    
+    /**
+     * Fatia seguinte ao cursor (created_at, from, to) da última linha já devolvida
+     */
+    @Query(value = """
+        SELECT * FROM exchange_rates
+        WHERE is_active = :activeOnly
+        AND (CAST(:fromPrefix AS VARCHAR) IS NULL OR from_currency_prefix = :fromPrefix)
+        AND (CAST(:toPrefix AS VARCHAR) IS NULL OR to_currency_prefix = :toPrefix)
+        AND (created_at, from_currency_prefix, to_currency_prefix) < (:cursorCreatedAt, :cursorFrom, :cursorTo)
+        ORDER BY created_at DESC, from_currency_prefix DESC, to_currency_prefix DESC
+        LIMIT :limit
+        """, nativeQuery = true)
+    List<ExchangeRate> findSliceAfter(
+        @Param("fromPrefix") String fromPrefix,
+        @Param("toPrefix") String toPrefix,
+        @Param("activeOnly") Boolean activeOnly,
+        @Param("cursorCreatedAt") LocalDateTime cursorCreatedAt,
+        @Param("cursorFrom") String cursorFrom,
+        @Param("cursorTo") String cursorTo,
+        @Param("limit") int limit
+    );
+    
     /**
      * Busca histórico de taxas para um par de moedas
      */
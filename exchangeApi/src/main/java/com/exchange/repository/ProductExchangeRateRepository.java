@@ -10,6 +10,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -63,6 +64,31 @@ public interface ProductExchangeRateRepository extends JpaRepository<ProductExch
                    "ORDER BY created_at DESC", nativeQuery = true)
     Page<ProductExchangeRate> findActiveWithPagination(Pageable pageable);
     
+    /**
+     * Primeira fatia das taxas ativas por cursor.
+     * Ordem (created_at, product_id, from, to) decrescente, coberta por idx_product_exchange_rates_keyset
+     */
+    @Query(value = "SELECT * FROM product_exchange_rates WHERE is_active = true " +
+                   "ORDER BY created_at DESC, product_id DESC, from_currency_prefix DESC, to_currency_prefix DESC " +
+                   "LIMIT :limit", nativeQuery = true)
+    List<ProductExchangeRate> findActiveSliceFirst(@Param("limit") int limit);
+    
+    /**
+     * Fatia de taxas ativas seguinte ao cursor (created_at, product_id, from, to)
+     */
+    @Query(value = "SELECT * FROM product_exchange_rates WHERE is_active = true " +
+                   "AND (created_at, product_id, from_currency_prefix, to_currency_prefix) " +
+                   "< (:cursorCreatedAt, :cursorProductId, :cursorFrom, :cursorTo) " +
+                   "ORDER BY created_at DESC, product_id DESC, from_currency_prefix DESC, to_currency_prefix DESC " +
+                   "LIMIT :limit", nativeQuery = true)
+    List<ProductExchangeRate> findActiveSliceAfter(
+        @Param("cursorCreatedAt") LocalDateTime cursorCreatedAt,
+        @Param("cursorProductId") Long cursorProductId,
+        @Param("cursorFrom") String cursorFrom,
+        @Param("cursorTo") String cursorTo,
+        @Param("limit") int limit
+    );
+    
     /**
      * Buscar taxas por produto e período
      */
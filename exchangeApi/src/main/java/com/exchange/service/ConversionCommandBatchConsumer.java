@@ -0,0 +1,154 @@
+package com.exchange.service;
+
+import com.exchange.domain.dto.ConversionMessageCommand;
+import com.exchange.domain.dto.ConversionMessageEvent;
+import com.exchange.domain.dto.ConversionRequest;
+import com.exchange.domain.dto.ConversionResponse;
+import com.exchange.util.SendMessege;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.messaging.handler.annotation.Payload;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Consome comandos de conversão em lote.
+ * Produto, reino e taxas são buscados uma vez por lote, os eventos de resultado saem em um único
+ * flush do producer e os offsets são confirmados uma vez, depois que o broker confirmou os envios.
+ * Ativado por app.kafka.batch.enabled, que desliga os listeners de um registro por vez.
+ */
+@Service
+@Slf4j
+public class ConversionCommandBatchConsumer {
+
+    @Autowired
+    private ConversionService conversionService;
+
+    @Autowired
+    private SendMessege eventProducer;
+
+    @Autowired
+    private ConversionCommandDeduplicator deduplicator;
+
+    @Value("${app.kafka.batch.publish-timeout:30s}")
+    private Duration publishTimeout;
+
+    @Value("${app.kafka.batch.redeliver-on-failure:true}")
+    private boolean redeliverOnFailure;
+
+    @Value("${app.kafka.batch.redeliver-backoff:1s}")
+    private Duration redeliverBackoff;
+
+    @KafkaListener(
+        topics = "conversion-commands",
+        groupId = "exchange-api-group",
+        containerFactory = "batchConversionCommandListenerContainerFactory",
+        autoStartup = "#{${app.kafka.batch.enabled:false} and !${app.kafka.parallel.enabled:false}}"
+    )
+    public void handleConversionCommands(@Payload List<ConversionMessageCommand> commands, Acknowledgment ack) {
+        log.info("Recebido lote de {} comandos de conversão", commands.size());
+
+        // Registros que falharam na desserialização chegam nulos e são descartados;
+        // comandos já processados reutilizam o evento em cache, na mesma posição do lote
+        List<ConversionMessageCommand> valid = new ArrayList<>(commands.size());
+        List<ConversionMessageEvent> cachedEvents = new ArrayList<>(commands.size());
+        List<ConversionMessageCommand> toConvert = new ArrayList<>(commands.size());
+        List<ConversionRequest> requests = new ArrayList<>(commands.size());
+        // Índice do primeiro comando reservado por outro consumidor: dali em diante o lote volta
+        int firstInFlight = -1;
+        for (int i = 0; i < commands.size(); i++) {
+            ConversionMessageCommand command = commands.get(i);
+            if (command == null) {
+                log.warn("Comando de conversão inválido descartado do lote");
+                continue;
+            }
+            ConversionCommandDeduplicator.Claim claim = deduplicator.claim(command.getCommandId());
+            if (claim.isDuplicate()) {
+                if (claim.getCachedEvent().isEmpty()) {
+                    // O dono da reserva pode ter caído antes de gravar o resultado: não confirmar
+                    firstInFlight = i;
+                    break;
+                }
+                valid.add(command);
+                cachedEvents.add(claim.getCachedEvent().get());
+                continue;
+            }
+            valid.add(command);
+            cachedEvents.add(null);
+            toConvert.add(command);
+            requests.add(convertToConversionRequest(command));
+        }
+
+        List<ConversionMessageEvent> events = new ArrayList<>(valid.size());
+        int converted = 0;
+        try {
+            List<ConversionResponse> responses = new ArrayList<>(requests.size());
+            conversionService.convertBatch(requests.iterator(), responses::add);
+
+            for (int i = 0; i < valid.size(); i++) {
+                if (cachedEvents.get(i) != null) {
+                    events.add(cachedEvents.get(i));
+                    continue;
+                }
+                ConversionMessageCommand command = toConvert.get(converted);
+                ConversionMessageEvent event = new ConversionMessageEvent(
+                    command.getCommandId(), command.getCorrelationId(), responses.get(converted));
+                deduplicator.complete(command.getCommandId(), event);
+                events.add(event);
+                converted++;
+            }
+        } catch (RuntimeException e) {
+            // Libera as reservas ainda sem resultado, senão a reentrega do lote esbarra nelas até a reserva vencer
+            for (int i = converted; i < toConvert.size(); i++) {
+                deduplicator.release(toConvert.get(i).getCommandId());
+            }
+            throw e;
+        }
+
+        try {
+            eventProducer.sendConversionEvents(events).get(publishTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (Exception e) {
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            if (redeliverOnFailure) {
+                log.error("Falha ao publicar eventos do lote, lote será reentregue em {}", redeliverBackoff, e);
+                ack.nack(0, redeliverBackoff);
+                return;
+            }
+            log.error("Falha ao publicar eventos do lote, offsets confirmados mesmo assim", e);
+        }
+
+        if (firstInFlight >= 0) {
+            log.info("Comando no índice {} reservado por outro consumidor: confirmando até ele, restante reentregue em {}",
+                firstInFlight, deduplicator.getInFlightBackoff());
+            ack.nack(firstInFlight, deduplicator.getInFlightBackoff());
+            return;
+        }
+
+        ack.acknowledge();
+        log.info("Lote de {} comandos de conversão processado", valid.size());
+    }
+
+    private ConversionRequest convertToConversionRequest(ConversionMessageCommand command) {
+        ConversionRequest request = new ConversionRequest();
+
+        request.setTransactionId(command.getTransactionId());
+        request.setFromCurrencyCode(command.getFromCurrencyCode());
+        request.setToCurrencyCode(command.getToCurrencyCode());
+        request.setQuantityProduct(command.getQuantityProduct());
+        request.setQuantityCurrency(command.getQuantityCurrency());
+        request.setProductId(command.getProductId());
+        request.setKingdomId(command.getKingdomId());
+        request.setConversionDate(command.getConversionDate());
+
+        return request;
+    }
+}
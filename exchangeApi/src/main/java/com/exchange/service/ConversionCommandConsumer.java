@@ -14,6 +14,8 @@ import org.springframework.messaging.handler.annotation.Header;
 import org.springframework.messaging.handler.annotation.Payload;
 import org.springframework.stereotype.Service;
 
+import java.util.Optional;
+
 @Service
 @Slf4j
 public class ConversionCommandConsumer {
@@ -23,6 +25,9 @@ public class ConversionCommandConsumer {
     
     @Autowired
     private SendMessege eventProducer;
+    
+    @Autowired
+    private ConversionCommandDeduplicator deduplicator;
 
     /**
      * Consome comandos de conversão e processa de forma assíncrona
@@ -30,7 +35,8 @@ public class ConversionCommandConsumer {
     @KafkaListener(
         topics = "conversion-commands",
         groupId = "exchange-api-group",
-        containerFactory = "kafkaListenerContainerFactory"
+        containerFactory = "kafkaListenerContainerFactory",
+        autoStartup = "#{!${app.kafka.batch.enabled:false} and !${app.kafka.parallel.enabled:false}}"
     )
     public void handleConversionCommand(
             @Payload ConversionMessageCommand command,
@@ -43,20 +49,28 @@ public class ConversionCommandConsumer {
             log.info("Recebido comando de conversão: {} da partição {} offset {}", 
                     command.getCommandId(), partition, offset);
             
-            // Converter o comando para ConversionRequest
-            ConversionRequest request = convertToConversionRequest(command);
-            
-            // Processar a conversão
-            var response = conversionService.convert(request);
+            // Converter e criar o evento de resultado, uma única vez por commandId
+            Optional<ConversionMessageEvent> event = deduplicator.process(command.getCommandId(), () -> {
+                ConversionRequest request = convertToConversionRequest(command);
+                var response = conversionService.convert(request);
+                return new ConversionMessageEvent(
+                    command.getCommandId(),
+                    command.getCorrelationId(),
+                    response
+                );
+            });
             
-            // Criar e enviar evento de resultado
-            ConversionMessageEvent event = new ConversionMessageEvent(
-                command.getCommandId(),
-                command.getCorrelationId(),
-                response
-            );
+            if (event.isEmpty()) {
+                // Reservado por outro consumidor, que pode ter caído antes de gravar o resultado:
+                // volta para a fila até haver resultado ou a reserva expirar
+                log.info("Comando {} reservado por outro consumidor, reentrega em {}",
+                        command.getCommandId(), deduplicator.getInFlightBackoff());
+                ack.nack(deduplicator.getInFlightBackoff());
+                return;
+            }
             
-            eventProducer.sendConversionEvent(event);
+            // Enviar evento (o resultado em cache, se for uma reentrega)
+            eventProducer.sendConversionEvent(event.get());
             
             // Confirmar o processamento
             ack.acknowledge();
@@ -0,0 +1,295 @@
+package com.exchange.service;
+
+import com.exchange.domain.dto.ConversionMessageEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Supplier;
+
+/**
+ * Deduplicação de comandos de conversão por commandId.
+ * O primeiro processamento reserva o commandId no Redis (SETNX com TTL curto) e, ao terminar, grava o
+ * evento de resultado com TTL longo; reentregas e reenvios do producer recebem esse evento em vez de
+ * converter de novo. Um filtro de Bloom local indica os commandIds que esta instância já viu, para
+ * ir direto ao resultado em cache nesses casos.
+ * Se o Redis estiver indisponível o comando é processado normalmente.
+ */
+@Service
+@Slf4j
+public class ConversionCommandDeduplicator {
+
+    private static final String KEY_PREFIX = "conversion:command:";
+    private static final String PROCESSING = "PROCESSING";
+
+    @Autowired
+    private StringRedisTemplate redisTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.kafka.dedup.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.kafka.dedup.processing-ttl:60s}")
+    private Duration processingTtl;
+
+    @Value("${app.kafka.dedup.result-ttl:24h}")
+    private Duration resultTtl;
+
+    @Value("${app.kafka.dedup.expected-commands:1000000}")
+    private int expectedCommands;
+
+    @Value("${app.kafka.dedup.in-flight-backoff:5s}")
+    private Duration inFlightBackoff;
+
+    private BloomFilter seen;
+
+    private Counter claimed;
+
+    private Counter suppressedCached;
+
+    private Counter suppressedInFlight;
+
+    @PostConstruct
+    void init() {
+        seen = new BloomFilter(expectedCommands);
+        claimed = Counter.builder("conversion.commands.deduplication").tag("result", "claimed").register(meterRegistry);
+        suppressedCached = Counter.builder("conversion.commands.deduplication").tag("result", "duplicate").register(meterRegistry);
+        suppressedInFlight = Counter.builder("conversion.commands.deduplication").tag("result", "in_flight").register(meterRegistry);
+    }
+
+    /**
+     * Processa o comando uma única vez.
+     * Retorna o evento a publicar (novo ou o que ficou em cache) ou vazio se o commandId está
+     * reservado por outro consumidor. Vazio não pode ser confirmado: o dono da reserva pode ter caído
+     * antes de gravar o resultado, então o registro deve voltar (nack com {@link #getInFlightBackoff()})
+     * até existir resultado ou a reserva expirar. Se a conversão lançar exceção, a reserva é
+     * liberada para que uma nova entrega possa tentar de novo.
+     */
+    public Optional<ConversionMessageEvent> process(String commandId, Supplier<ConversionMessageEvent> conversion) {
+        Claim claim = claim(commandId);
+        if (claim.isDuplicate()) {
+            return claim.getCachedEvent();
+        }
+
+        ConversionMessageEvent event;
+        try {
+            event = conversion.get();
+        } catch (RuntimeException e) {
+            release(commandId);
+            throw e;
+        }
+        complete(commandId, event);
+        return Optional.of(event);
+    }
+
+    /**
+     * Espera antes de reentregar um comando cuja reserva ainda está com outro consumidor
+     */
+    public Duration getInFlightBackoff() {
+        return inFlightBackoff;
+    }
+
+    /**
+     * Reserva o commandId. Comandos sem commandId, ou com a deduplicação desligada, sempre são novos
+     */
+    public Claim claim(String commandId) {
+        if (!enabled || commandId == null) {
+            return Claim.NEW;
+        }
+
+        String key = KEY_PREFIX + commandId;
+        try {
+            // Já visto por esta instância: provavelmente há resultado em cache
+            if (seen.mightContain(commandId)) {
+                Claim cached = cachedResult(commandId, redisTemplate.opsForValue().get(key));
+                if (cached != null) {
+                    return cached;
+                }
+            }
+
+            Boolean reserved = redisTemplate.opsForValue().setIfAbsent(key, PROCESSING, processingTtl);
+            seen.put(commandId);
+            if (Boolean.TRUE.equals(reserved)) {
+                claimed.increment();
+                return Claim.NEW;
+            }
+
+            Claim cached = cachedResult(commandId, redisTemplate.opsForValue().get(key));
+            // A reserva venceu entre o SETNX e o GET: trata como novo
+            return cached != null ? cached : Claim.NEW;
+        } catch (RuntimeException e) {
+            log.warn("Deduplicação indisponível para o comando {}, processando normalmente: {}", commandId, e.getMessage());
+            return Claim.NEW;
+        }
+    }
+
+    /**
+     * Guarda o evento de resultado do commandId reservado
+     */
+    public void complete(String commandId, ConversionMessageEvent event) {
+        if (!enabled || commandId == null) {
+            return;
+        }
+        try {
+            redisTemplate.opsForValue().set(KEY_PREFIX + commandId,
+                new String(objectMapper.writeValueAsBytes(event), StandardCharsets.UTF_8), resultTtl);
+        } catch (Exception e) {
+            log.warn("Não foi possível guardar o resultado do comando {}: {}", commandId, e.getMessage());
+        }
+    }
+
+    /**
+     * Libera a reserva de um comando que falhou
+     */
+    public void release(String commandId) {
+        if (!enabled || commandId == null) {
+            return;
+        }
+        try {
+            redisTemplate.delete(KEY_PREFIX + commandId);
+        } catch (RuntimeException e) {
+            log.warn("Não foi possível liberar a reserva do comando {}: {}", commandId, e.getMessage());
+        }
+    }
+
+    private Claim cachedResult(String commandId, String value) {
+        if (value == null) {
+            return null;
+        }
+        if (PROCESSING.equals(value)) {
+            suppressedInFlight.increment();
+            log.info("Comando {} reservado por outro consumidor, reentrega adiada", commandId);
+            return Claim.IN_FLIGHT;
+        }
+        try {
+            ConversionMessageEvent event = objectMapper.readValue(value, ConversionMessageEvent.class);
+            suppressedCached.increment();
+            log.info("Comando {} já processado, reutilizando o evento de resultado", commandId);
+            return Claim.duplicate(event);
+        } catch (Exception e) {
+            log.warn("Resultado em cache do comando {} ilegível, processando de novo: {}", commandId, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Resultado da reserva de um commandId
+     */
+    public static final class Claim {
+        private static final Claim NEW = new Claim(false, null);
+        private static final Claim IN_FLIGHT = new Claim(true, null);
+
+        private final boolean duplicate;
+        private final ConversionMessageEvent cachedEvent;
+
+        private Claim(boolean duplicate, ConversionMessageEvent cachedEvent) {
+            this.duplicate = duplicate;
+            this.cachedEvent = cachedEvent;
+        }
+
+        private static Claim duplicate(ConversionMessageEvent event) {
+            return new Claim(true, event);
+        }
+
+        /**
+         * Indica que o comando não deve ser convertido de novo
+         */
+        public boolean isDuplicate() {
+            return duplicate;
+        }
+
+        /**
+         * Evento de resultado já publicado antes; vazio se o comando ainda está reservado
+         * (o registro não deve ser confirmado)
+         */
+        public Optional<ConversionMessageEvent> getCachedEvent() {
+            return Optional.ofNullable(cachedEvent);
+        }
+    }
+
+    /**
+     * Filtro de Bloom com ~1% de falsos positivos para a capacidade informada.
+     * Ao passar da capacidade é limpo, já que os commandIds antigos perdem relevância
+     */
+    private static final class BloomFilter {
+        private static final int HASHES = 7;
+
+        private final AtomicLongArray bits;
+        private final long bitCount;
+        private final long capacity;
+        private final AtomicLong insertions = new AtomicLong();
+
+        private BloomFilter(int capacity) {
+            // m = -n ln(p) / (ln 2)^2 com p = 0,01, arredondado para múltiplo de 64
+            long words = Math.max(1, (long) Math.ceil(capacity * 9.585 / 64));
+            this.bits = new AtomicLongArray(Math.toIntExact(words));
+            this.bitCount = words * 64;
+            this.capacity = capacity;
+        }
+
+        private boolean mightContain(String value) {
+            long hash = hash(value);
+            int h1 = (int) hash;
+            int h2 = (int) (hash >>> 32);
+            for (int i = 1; i <= HASHES; i++) {
+                long bit = Math.floorMod(h1 + (long) i * h2, bitCount);
+                if ((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private void put(String value) {
+            if (insertions.incrementAndGet() > capacity) {
+                insertions.set(0);
+                for (int i = 0; i < bits.length(); i++) {
+                    bits.set(i, 0);
+                }
+            }
+            long hash = hash(value);
+            int h1 = (int) hash;
+            int h2 = (int) (hash >>> 32);
+            for (int i = 1; i <= HASHES; i++) {
+                long bit = Math.floorMod(h1 + (long) i * h2, bitCount);
+                int word = (int) (bit >>> 6);
+                long mask = 1L << bit;
+                long current;
+                do {
+                    current = bits.get(word);
+                } while ((current & mask) == 0 && !bits.compareAndSet(word, current, current | mask));
+            }
+        }
+
+        /**
+         * FNV-1a de 64 bits seguido de uma mistura final, para espalhar bem os UUIDs
+         */
+        private static long hash(String value) {
+            long hash = 0xcbf29ce484222325L;
+            for (int i = 0; i < value.length(); i++) {
+                hash ^= value.charAt(i);
+                hash *= 0x100000001b3L;
+            }
+            hash ^= hash >>> 33;
+            hash *= 0xff51afd7ed558ccdL;
+            hash ^= hash >>> 33;
+            return hash;
+        }
+    }
+}
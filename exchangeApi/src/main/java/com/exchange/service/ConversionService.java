@@ -1,17 +1,32 @@
 package com.exchange.service;
 
 import com.exchange.domain.dto.ConversionRequest;
+import com.exchange.domain.dto.ConversionMessageEvent;
 import com.exchange.domain.dto.ConversionResponse;
+import com.exchange.domain.dto.TransactionConfirmation;
+import com.exchange.domain.dto.TransactionData;
 import com.exchange.domain.enums.TransactionStatus;
 import com.exchange.service.TransactionService;
+import com.exchange.service.strategy.BatchConversionLookups;
+import com.exchange.service.strategy.ConversionLookups;
 import com.exchange.service.strategy.ConversionStrategy;
+import com.exchange.service.strategy.DirectConversionLookups;
+import com.exchange.util.ConversionLookupExecutor;
+import com.exchange.util.SendMessege;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import java.util.UUID;
 
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
 
 @Service
+@Slf4j
 public class ConversionService {
     
     @Autowired
@@ -20,10 +35,29 @@ public class ConversionService {
     @Autowired
     private TransactionService transactionService;
     
+    @Autowired
+    private DirectConversionLookups directLookups;
+    
+    @Autowired
+    private ConversionLookupExecutor lookupExecutor;
+    
+    @Autowired
+    private SendMessege eventProducer;
+    
+    @Value("${app.conversion.batch.chunk-size:500}")
+    private int batchChunkSize;
+    
     /**
      * Executa a conversão usando a estratégia mais apropriada
      */
     public ConversionResponse convert(ConversionRequest request) {
+        return convert(request, directLookups);
+    }
+    
+    /**
+     * Executa a conversão usando a estratégia mais apropriada e as buscas informadas
+     */
+    public ConversionResponse convert(ConversionRequest request, ConversionLookups lookups) {
         // Validar request
         validateRequest(request);
         
@@ -35,7 +69,7 @@ public class ConversionService {
         }
         
         // Executar conversão
-        ConversionResponse response = strategy.convert(request);
+        ConversionResponse response = strategy.convert(request, lookups);
         
         // Se a conversão resultou em status REQUESTED, criar TransactionData
         if (response.getStatus().equals(TransactionStatus.REQUESTED)){
@@ -47,6 +81,87 @@ public class ConversionService {
         return response;
     }
     
+    /**
+     * Confirma uma conversão REQUESTED pelo preço travado na cotação, sem executar a estratégia de novo.
+     * O evento APPROVED é emitido apenas na primeira confirmação; repetições devolvem o mesmo resultado.
+     * Retorna vazio se a cotação não existe ou expirou
+     */
+    public Optional<ConversionResponse> confirmTransaction(UUID transactionId) {
+        Optional<TransactionConfirmation> confirmation = transactionService.confirmTransaction(transactionId);
+        if (confirmation.isEmpty()) {
+            return Optional.empty();
+        }
+        
+        ConversionResponse response = createConfirmedResponse(confirmation.get().getTransactionData());
+        if (confirmation.get().isFirstConfirmation()) {
+            ConversionMessageEvent event = new ConversionMessageEvent(null, transactionId.toString(), response);
+            eventProducer.sendConversionEvent(event).whenComplete((result, error) -> {
+                if (error != null) {
+                    log.error("Falha ao publicar confirmação da transação {}", transactionId, error);
+                }
+            });
+            log.info("Transação {} confirmada", transactionId);
+        }
+        return Optional.of(response);
+    }
+    
+    private ConversionResponse createConfirmedResponse(TransactionData transactionData) {
+        ConversionResponse response = new ConversionResponse(
+            transactionData.getConvertedAmount(),
+            transactionData.getRate(),
+            transactionData.getFromCurrencyCode(),
+            transactionData.getToCurrencyCode()
+        );
+        response.setTransactionId(transactionData.getTransactionId());
+        response.setStatus(TransactionStatus.APPROVED);
+        response.setReason("Transação confirmada");
+        response.setRiskScore(transactionData.getRiskScore());
+        response.setWarnings(transactionData.getWarnings());
+        response.setRecommendations(List.of());
+        response.setCanProceed(true);
+        response.setRequiresApproval(false);
+        return response;
+    }
+    
+    /**
+     * Converte uma sequência de requests e entrega as respostas na mesma ordem.
+     * Os requests são lidos em blocos; cada taxa, produto e reino distintos é buscado uma única vez
+     * por lote, e um item inválido gera uma resposta de erro sem interromper os demais.
+     *
+     * @return quantidade de itens convertidos
+     */
+    public int convertBatch(Iterator<ConversionRequest> requests, Consumer<ConversionResponse> sink) {
+        BatchConversionLookups lookups = new BatchConversionLookups(directLookups);
+        List<ConversionRequest> chunk = new ArrayList<>(batchChunkSize);
+        int converted = 0;
+        
+        while (requests.hasNext()) {
+            chunk.add(requests.next());
+            if (chunk.size() < batchChunkSize && requests.hasNext()) {
+                continue;
+            }
+            
+            lookups.prefetch(chunk, lookupExecutor);
+            for (ConversionRequest request : chunk) {
+                sink.accept(convertBatchItem(request, lookups));
+            }
+            converted += chunk.size();
+            chunk.clear();
+        }
+        
+        log.info("Lote de conversões processado: {} itens, {} buscas distintas", converted, lookups.distinctLookups());
+        return converted;
+    }
+    
+    private ConversionResponse convertBatchItem(ConversionRequest request, ConversionLookups lookups) {
+        try {
+            return convert(request, lookups);
+        } catch (Exception e) {
+            log.debug("Item do lote não convertido: {}", e.getMessage());
+            return createErrorResponse(e.getMessage());
+        }
+    }
+    
     /**
      * Encontra a estratégia mais apropriada baseada no suporte
      */
@@ -7,7 +7,9 @@ import com.exchange.domain.entity.Currency;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 public interface CurrencyService {
@@ -27,6 +29,12 @@ public interface CurrencyService {
      */
     Optional<CurrencyInfo> findCurrencyByPrefix(String prefix);
     
+    /**
+     * Busca várias moedas ativas de uma vez, indexadas por prefix.
+     * Prefixes sem moeda ativa ficam fora do mapa
+     */
+    Map<String, CurrencyInfo> getCurrenciesByPrefixes(Collection<String> prefixes);
+    
     /**
      * Cria nova moeda
      */
@@ -42,6 +50,11 @@ public interface CurrencyService {
      */
     void deactivateCurrency(String prefix);
     
+    /**
+     * Valida em memória que existe moeda ativa com o prefix
+     */
+    void validateActiveCurrency(String prefix);
+    
     /**
      * Busca entidade Currency ativa por prefix
      */
@@ -0,0 +1,22 @@
+package com.exchange.service;
+
+import com.exchange.domain.dto.ExchangeRateStatsResponse;
+import com.exchange.domain.enums.AggregateInterval;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+public interface ExchangeRateAggregateService {
+    
+    /**
+     * Incorpora uma taxa observada aos buckets de minuto, hora e dia do par
+     */
+    void recordRate(String fromCurrencyPrefix, String toCurrencyPrefix, BigDecimal rate, LocalDateTime observedAt);
+    
+    /**
+     * Estatísticas do par no período, a partir dos buckets na resolução informada
+     */
+    ExchangeRateStatsResponse getStats(String fromCurrencyPrefix, String toCurrencyPrefix,
+                                       AggregateInterval interval, LocalDate startDate, LocalDate endDate);
+}
@@ -0,0 +1,224 @@
+package com.exchange.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Exportação do histórico de taxas para auditoria.
+ * As linhas vêm de um cursor JDBC somente-avanço com fetch size, dentro de uma transação read-only
+ * (o driver do Postgres só usa cursor com autocommit desligado), e são escritas direto na saída:
+ * a memória usada não depende do tamanho do período exportado.
+ */
+@Service
+@Slf4j
+public class ExchangeRateExportService {
+
+    /**
+     * Formatos de saída suportados
+     */
+    public enum ExportFormat {
+        NDJSON,
+        CSV
+    }
+
+    private static final String CSV_HEADER =
+        "from_currency,to_currency,rate,is_active,created_at,updated_at,deactivated_at\n";
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.exchange-rates.export.fetch-size:1000}")
+    private int fetchSize;
+
+    private JdbcTemplate jdbcTemplate;
+
+    private TransactionTemplate readOnlyTransaction;
+
+    private Counter exportedRows;
+
+    @PostConstruct
+    void init() {
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.setFetchSize(fetchSize);
+
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+
+        exportedRows = Counter.builder("exchange_rates.export.rows").register(meterRegistry);
+    }
+
+    /**
+     * Escreve em out as taxas do filtro, em ordem cronológica. Todos os filtros são opcionais;
+     * includeInactive também traz as taxas desativadas. Retorna a quantidade de linhas exportadas
+     */
+    public long export(String fromPrefix, String toPrefix, LocalDate startDate, LocalDate endDate,
+                       boolean includeInactive, ExportFormat format, OutputStream out) throws IOException {
+        List<Object> args = new ArrayList<>();
+        StringBuilder sql = new StringBuilder(
+            "SELECT from_currency_prefix, to_currency_prefix, rate, is_active, created_at, updated_at, deactivated_at " +
+            "FROM exchange_rates WHERE 1 = 1");
+        if (!includeInactive) {
+            sql.append(" AND is_active = true");
+        }
+        if (fromPrefix != null) {
+            sql.append(" AND from_currency_prefix = ?");
+            args.add(fromPrefix);
+        }
+        if (toPrefix != null) {
+            sql.append(" AND to_currency_prefix = ?");
+            args.add(toPrefix);
+        }
+        if (startDate != null) {
+            sql.append(" AND created_at >= ?");
+            args.add(Timestamp.valueOf(startDate.atStartOfDay()));
+        }
+        if (endDate != null) {
+            sql.append(" AND created_at < ?");
+            args.add(Timestamp.valueOf(endDate.plusDays(1).atStartOfDay()));
+        }
+        sql.append(" ORDER BY created_at, from_currency_prefix, to_currency_prefix");
+
+        RowWriter writer = format == ExportFormat.CSV ? new CsvRowWriter(out) : new NdjsonRowWriter(out);
+        long[] rows = {0};
+        try {
+            readOnlyTransaction.executeWithoutResult(status ->
+                jdbcTemplate.query(sql.toString(), (RowCallbackHandler) rs -> {
+                    try {
+                        writer.write(rs);
+                    } catch (IOException e) {
+                        // Cliente desconectou: aborta a consulta e libera o cursor
+                        throw new UncheckedIOException(e);
+                    }
+                    rows[0]++;
+                }, args.toArray()));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } finally {
+            exportedRows.increment(rows[0]);
+        }
+        writer.finish();
+
+        log.info("Exportação de taxas concluída: {} linhas em {}", rows[0], format);
+        return rows[0];
+    }
+
+    /**
+     * Escrita de uma linha do ResultSet no formato de saída
+     */
+    private interface RowWriter {
+        void write(ResultSet rs) throws SQLException, IOException;
+
+        void finish() throws IOException;
+    }
+
+    /**
+     * Um objeto JSON por linha, gerado em streaming sem montar objetos intermediários
+     */
+    private final class NdjsonRowWriter implements RowWriter {
+        private final JsonGenerator generator;
+
+        private NdjsonRowWriter(OutputStream out) throws IOException {
+            this.generator = objectMapper.getFactory().createGenerator(out);
+            this.generator.setRootValueSeparator(null);
+        }
+
+        @Override
+        public void write(ResultSet rs) throws SQLException, IOException {
+            generator.writeStartObject();
+            generator.writeStringField("fromCurrency", rs.getString(1));
+            generator.writeStringField("toCurrency", rs.getString(2));
+            generator.writeNumberField("rate", rs.getBigDecimal(3));
+            generator.writeBooleanField("isActive", rs.getBoolean(4));
+            generator.writeStringField("createdAt", timestamp(rs.getTimestamp(5)));
+            generator.writeStringField("updatedAt", timestamp(rs.getTimestamp(6)));
+            generator.writeStringField("deactivatedAt", timestamp(rs.getTimestamp(7)));
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        }
+
+        @Override
+        public void finish() throws IOException {
+            generator.flush();
+        }
+    }
+
+    /**
+     * CSV com cabeçalho; os valores são códigos, números e datas, sem necessidade de aspas
+     */
+    private static final class CsvRowWriter implements RowWriter {
+        private final Writer writer;
+
+        private CsvRowWriter(OutputStream out) throws IOException {
+            this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            this.writer.write(CSV_HEADER);
+        }
+
+        @Override
+        public void write(ResultSet rs) throws SQLException, IOException {
+            BigDecimal rate = rs.getBigDecimal(3);
+            writer.write(rs.getString(1));
+            writer.write(',');
+            writer.write(rs.getString(2));
+            writer.write(',');
+            writer.write(rate != null ? rate.toPlainString() : "");
+            writer.write(',');
+            writer.write(Boolean.toString(rs.getBoolean(4)));
+            writer.write(',');
+            writer.write(nullToEmpty(timestamp(rs.getTimestamp(5))));
+            writer.write(',');
+            writer.write(nullToEmpty(timestamp(rs.getTimestamp(6))));
+            writer.write(',');
+            writer.write(nullToEmpty(timestamp(rs.getTimestamp(7))));
+            writer.write('\n');
+        }
+
+        @Override
+        public void finish() throws IOException {
+            writer.flush();
+        }
+    }
+
+    private static String timestamp(Timestamp value) {
+        return value != null ? value.toLocalDateTime().toString() : null;
+    }
+
+    private static String nullToEmpty(String value) {
+        return value != null ? value : "";
+    }
+}
@@ -1,5 +1,6 @@
 package com.exchange.service;
 
+import com.exchange.domain.dto.SliceResponse;
 import com.exchange.domain.entity.ExchangeRate;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -55,4 +56,11 @@ public interface ExchangeRateService {
      */
     Page<ExchangeRate> getExchangeRatesWithFilters(String fromPrefix, String toPrefix, 
                                                   Boolean activeOnly, Pageable pageable);
+    
+    /**
+     * Lista taxas por cursor (keyset), sem contagem total. fromPrefix e toPrefix são opcionais;
+     * cursor nulo começa do início. Cursor inválido lança IllegalArgumentException
+     */
+    SliceResponse<ExchangeRate> scrollExchangeRates(String fromPrefix, String toPrefix, Boolean activeOnly,
+                                                    String cursor, Integer size);
 } 
\ No newline at end of file
@@ -0,0 +1,280 @@
+package com.exchange.service;
+
+import com.exchange.domain.event.ExchangeRateChangedEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Transmissão das alterações de taxas de câmbio por Server-Sent Events.
+ * Cada alteração confirmada vira um único frame SSE, serializado uma vez e entregue a todos os
+ * assinantes interessados no par. A entrega não bloqueia quem publica: cada assinante tem um buffer
+ * limitado, esvaziado por uma thread virtual própria; se o cliente não acompanhar, os frames mais
+ * antigos são descartados e ele fica só com os mais recentes.
+ */
+@Service
+@Slf4j
+public class ExchangeRateStreamService {
+
+    private static final String EVENT_NAME = "rate-change";
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.exchange-rates.stream.max-subscribers:10000}")
+    private int maxSubscribers;
+
+    @Value("${app.exchange-rates.stream.buffer-size:64}")
+    private int bufferSize;
+
+    @Value("${app.exchange-rates.stream.timeout:30m}")
+    private Duration timeout;
+
+    @Value("${app.exchange-rates.stream.heartbeat:15s}")
+    private Duration heartbeat;
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+
+    private final AtomicLong sequence = new AtomicLong();
+
+    private final ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+
+    private ScheduledExecutorService heartbeats;
+
+    private Counter delivered;
+
+    private Counter dropped;
+
+    @PostConstruct
+    void init() {
+        delivered = Counter.builder("exchange_rates.stream.frames").tag("result", "delivered").register(meterRegistry);
+        dropped = Counter.builder("exchange_rates.stream.frames").tag("result", "dropped").register(meterRegistry);
+        meterRegistry.gauge("exchange_rates.stream.subscribers", subscribers, Set::size);
+
+        // Comentário SSE periódico: mantém proxies abertos e detecta clientes que já desconectaram
+        heartbeats = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().daemon().name("exchange-rate-stream-heartbeat").factory());
+        heartbeats.scheduleAtFixedRate(this::sendHeartbeat,
+            heartbeat.toMillis(), heartbeat.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Registra um assinante. pairs contém chaves "FROM:TO"; vazio recebe todos os pares.
+     * Retorna vazio se o limite de assinantes foi atingido
+     */
+    public Optional<SseEmitter> subscribe(Set<String> pairs) {
+        if (subscribers.size() >= maxSubscribers) {
+            log.warn("Limite de {} assinantes do stream de taxas atingido", maxSubscribers);
+            return Optional.empty();
+        }
+
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        Subscriber subscriber = new Subscriber(emitter, pairs);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(error -> subscribers.remove(subscriber));
+        subscribers.add(subscriber);
+
+        log.debug("Novo assinante do stream de taxas ({} pares, {} assinantes)", pairs.size(), subscribers.size());
+        return Optional.of(emitter);
+    }
+
+    public int subscriberCount() {
+        return subscribers.size();
+    }
+
+    public static String pairKey(String fromCurrencyPrefix, String toCurrencyPrefix) {
+        return fromCurrencyPrefix + ':' + toCurrencyPrefix;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onExchangeRateChanged(ExchangeRateChangedEvent event) {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+
+        long id = sequence.incrementAndGet();
+        RateChange change = new RateChange(id, event.getFromCurrencyPrefix(), event.getToCurrencyPrefix(),
+            event.getRate(), event.getChangeType().name(), LocalDateTime.now());
+        Set<DataWithMediaType> frame;
+        try {
+            frame = SseEmitter.event()
+                .id(Long.toString(id))
+                .name(EVENT_NAME)
+                .data(objectMapper.writeValueAsString(change), MediaType.APPLICATION_JSON)
+                .build();
+        } catch (IOException e) {
+            log.error("Não foi possível serializar a alteração de taxa {}", event, e);
+            return;
+        }
+
+        String pair = pairKey(event.getFromCurrencyPrefix(), event.getToCurrencyPrefix());
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.wants(pair)) {
+                subscriber.offer(frame);
+            }
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        heartbeats.shutdownNow();
+        for (Subscriber subscriber : subscribers) {
+            subscriber.emitter.complete();
+        }
+        subscribers.clear();
+        senders.shutdownNow();
+    }
+
+    private void sendHeartbeat() {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        Set<DataWithMediaType> frame = SseEmitter.event().comment("heartbeat").build();
+        for (Subscriber subscriber : subscribers) {
+            subscriber.offer(frame);
+        }
+    }
+
+    /**
+     * Assinante com buffer limitado. Só uma thread envia por vez, na ordem de chegada dos frames
+     */
+    private final class Subscriber {
+        private final SseEmitter emitter;
+        private final Set<String> pairs;
+        private final ArrayDeque<Set<DataWithMediaType>> buffer = new ArrayDeque<>();
+        private final AtomicBoolean sending = new AtomicBoolean();
+
+        private Subscriber(SseEmitter emitter, Set<String> pairs) {
+            this.emitter = emitter;
+            this.pairs = pairs;
+        }
+
+        private boolean wants(String pair) {
+            return pairs.isEmpty() || pairs.contains(pair);
+        }
+
+        /**
+         * Enfileira sem bloquear; com o buffer cheio descarta o frame mais antigo
+         */
+        private void offer(Set<DataWithMediaType> frame) {
+            synchronized (buffer) {
+                if (buffer.size() >= bufferSize) {
+                    buffer.pollFirst();
+                    dropped.increment();
+                }
+                buffer.addLast(frame);
+            }
+            if (sending.compareAndSet(false, true)) {
+                senders.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            while (true) {
+                Set<DataWithMediaType> frame;
+                synchronized (buffer) {
+                    frame = buffer.pollFirst();
+                }
+                if (frame == null) {
+                    sending.set(false);
+                    // Um frame pode ter chegado entre o poll vazio e a liberação
+                    synchronized (buffer) {
+                        if (buffer.isEmpty() || !sending.compareAndSet(false, true)) {
+                            return;
+                        }
+                    }
+                    continue;
+                }
+
+                try {
+                    emitter.send(frame);
+                    delivered.increment();
+                } catch (IOException | IllegalStateException e) {
+                    log.debug("Assinante do stream de taxas desconectado: {}", e.getMessage());
+                    subscribers.remove(this);
+                    emitter.completeWithError(e);
+                    synchronized (buffer) {
+                        buffer.clear();
+                    }
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Payload compacto de uma alteração de taxa
+     */
+    public static final class RateChange {
+        private final long sequence;
+        private final String from;
+        private final String to;
+        private final BigDecimal rate;
+        private final String changeType;
+        private final LocalDateTime changedAt;
+
+        private RateChange(long sequence, String from, String to, BigDecimal rate, String changeType,
+                           LocalDateTime changedAt) {
+            this.sequence = sequence;
+            this.from = from;
+            this.to = to;
+            this.rate = rate;
+            this.changeType = changeType;
+            this.changedAt = changedAt;
+        }
+
+        public long getSequence() {
+            return sequence;
+        }
+
+        public String getFrom() {
+            return from;
+        }
+
+        public String getTo() {
+            return to;
+        }
+
+        public BigDecimal getRate() {
+            return rate;
+        }
+
+        public String getChangeType() {
+            return changeType;
+        }
+
+        public LocalDateTime getChangedAt() {
+            return changedAt;
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.exchange.service;
 
+import com.exchange.domain.dto.SliceResponse;
 import com.exchange.domain.entity.ProductExchangeRate;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -44,4 +45,10 @@ public interface ProductExchangeRateService {
      * Lista todas as taxas ativas com paginação
      */
     Page<ProductExchangeRate> getActiveRates(Pageable pageable);
+    
+    /**
+     * Lista taxas ativas por cursor (keyset), sem contagem total. Cursor nulo começa do início;
+     * cursor inválido lança IllegalArgumentException
+     */
+    SliceResponse<ProductExchangeRate> scrollActiveRates(String cursor, Integer size);
 } 
\ No newline at end of file
@@ -2,8 +2,11 @@ package com.exchange.service;
 
 import com.exchange.domain.dto.ConversionRequest;
 import com.exchange.domain.dto.ConversionResponse;
+import com.exchange.domain.dto.TransactionConfirmation;
 import com.exchange.domain.dto.TransactionData;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 public interface TransactionService {
     
@@ -12,6 +15,12 @@ public interface TransactionService {
      */
     void saveTransaction(TransactionData transactionData);
     
+    /**
+     * Salva uma transação pela fila de escrita adiada, quando ativa.
+     * O future completa quando a transação está gravada no Redis
+     */
+    CompletableFuture<Void> saveTransactionAsync(TransactionData transactionData);
+    
     /**
      * Busca uma transação pelo UUID
      * Retorna null se não existir (expirada ou não encontrada)
@@ -23,6 +32,13 @@ public interface TransactionService {
      */
     void deleteTransaction(UUID transactionId);
     
+    /**
+     * Confirma a transação em uma única operação atômica no Redis: remove a cotação pendente
+     * e guarda a cópia confirmada. Repetições devolvem a mesma cópia sem confirmar de novo.
+     * Retorna vazio se a transação não existe ou já expirou
+     */
+    Optional<TransactionConfirmation> confirmTransaction(UUID transactionId);
+    
     /**
      * Verifica se uma transação existe
      */
@@ -1,15 +1,19 @@
 package com.exchange.service.impl;
 
+import com.exchange.cache.CurrencyRegistry;
 import com.exchange.domain.dto.CurrencyInfo;
 import com.exchange.domain.dto.PageRequest;
 import com.exchange.domain.dto.PageResponse;
 import com.exchange.domain.entity.Currency;
+import com.exchange.domain.event.CurrencyChangedEvent;
+import com.exchange.domain.event.CurrencyChangedEvent.ChangeType;
 import com.exchange.domain.exception.CurrencyAlreadyExistsException;
 import com.exchange.domain.exception.CurrencyNotFoundException;
 import com.exchange.domain.exception.CurrencyOperationException;
 import com.exchange.repository.CurrencyRepository;
 import com.exchange.service.CurrencyService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -17,8 +21,13 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -27,6 +36,12 @@ public class CurrencyServiceImpl implements CurrencyService {
     @Autowired
     private CurrencyRepository currencyRepository;
     
+    @Autowired
+    private CurrencyRegistry currencyRegistry;
+    
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
     @Override
     @Transactional(readOnly = true)
     public PageResponse<CurrencyInfo> getCurrencies(Boolean activeOnly, PageRequest pageRequest) {
@@ -55,21 +70,37 @@ public class CurrencyServiceImpl implements CurrencyService {
     }
     
     @Override
-    @Transactional(readOnly = true)
     public CurrencyInfo getCurrencyByPrefix(String prefix) {
-        Currency currency = getActiveCurrencyByPrefix(prefix);
-        return convertToCurrencyInfo(currency);
+        return currencyRegistry.findActive(prefix)
+            .orElseThrow(() -> new CurrencyNotFoundException("Moeda ativa não encontrada: " + prefix));
     }
     
     @Override
-    @Transactional(readOnly = true)
     public Optional<CurrencyInfo> findCurrencyByPrefix(String prefix) {
-        try {
-            Optional<Currency> currencyOpt = currencyRepository.findByPrefixAndIsActiveTrue(prefix);
-            return currencyOpt.map(this::convertToCurrencyInfo);
-        } catch (Exception e) {
-            return Optional.empty();
+        return currencyRegistry.findActive(prefix);
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public Map<String, CurrencyInfo> getCurrenciesByPrefixes(Collection<String> prefixes) {
+        Map<String, CurrencyInfo> currencies = new HashMap<>();
+        Set<String> missing = new HashSet<>();
+        for (String prefix : prefixes) {
+            if (currencies.containsKey(prefix) || missing.contains(prefix)) {
+                continue;
+            }
+            currencyRegistry.findActive(prefix).ifPresentOrElse(
+                info -> currencies.put(prefix, info),
+                () -> missing.add(prefix));
         }
+        
+        // O registro pode ainda não ter visto uma moeda recém-criada: os que faltam vão numa única consulta
+        if (!missing.isEmpty()) {
+            for (Currency currency : currencyRepository.findByPrefixInAndIsActiveTrue(missing)) {
+                currencies.put(currency.getPrefix(), convertToCurrencyInfo(currency));
+            }
+        }
+        return currencies;
     }
     
     @Override
@@ -97,6 +128,13 @@ public class CurrencyServiceImpl implements CurrencyService {
         deactivateCurrencyEntity(prefix);
     }
     
+    @Override
+    public void validateActiveCurrency(String prefix) {
+        if (!currencyRegistry.isActive(prefix)) {
+            throw new CurrencyNotFoundException("Moeda ativa não encontrada: " + prefix);
+        }
+    }
+    
     @Override
     @Transactional(readOnly = true)
     public Currency getActiveCurrencyByPrefix(String prefix) {
@@ -111,9 +149,8 @@ public class CurrencyServiceImpl implements CurrencyService {
     }
     
     @Override
-    @Transactional(readOnly = true)
     public boolean existsActiveCurrency(String prefix) {
-        return currencyRepository.existsByPrefixAndIsActiveTrue(prefix);
+        return currencyRegistry.isActive(prefix);
     }
     
     @Override
@@ -136,7 +173,9 @@ public class CurrencyServiceImpl implements CurrencyService {
         try {
             currency.setIsActive(true);
             currency.setDeactivatedAt(null);
-            return currencyRepository.save(currency);
+            Currency savedCurrency = currencyRepository.save(currency);
+            eventPublisher.publishEvent(new CurrencyChangedEvent(savedCurrency.getPrefix(), ChangeType.CREATED));
+            return savedCurrency;
             
         } catch (DataIntegrityViolationException e) {
             throw new CurrencyAlreadyExistsException(
@@ -153,7 +192,9 @@ public class CurrencyServiceImpl implements CurrencyService {
         existingCurrency.setName(updatedCurrency.getName());
         existingCurrency.setDescription(updatedCurrency.getDescription());
         
-        return currencyRepository.save(existingCurrency);
+        Currency savedCurrency = currencyRepository.save(existingCurrency);
+        eventPublisher.publishEvent(new CurrencyChangedEvent(prefix, ChangeType.UPDATED));
+        return savedCurrency;
     }
     
     @Transactional
@@ -175,6 +216,8 @@ public class CurrencyServiceImpl implements CurrencyService {
             // Remover versão ativa
             currencyRepository.delete(activeCurrency);
             
+            eventPublisher.publishEvent(new CurrencyChangedEvent(prefix, ChangeType.DEACTIVATED));
+            
         } catch (DataIntegrityViolationException e) {
             throw new CurrencyOperationException(
                 "Erro ao desativar moeda: " + prefix
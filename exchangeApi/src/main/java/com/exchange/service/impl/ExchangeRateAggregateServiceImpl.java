@@ -0,0 +1,122 @@
+package com.exchange.service.impl;
+
+import com.exchange.domain.dto.ExchangeRateStatsResponse;
+import com.exchange.domain.dto.RateBucketResponse;
+import com.exchange.domain.entity.ExchangeRateAggregate;
+import com.exchange.domain.enums.AggregateInterval;
+import com.exchange.domain.event.ExchangeRateChangedEvent;
+import com.exchange.repository.ExchangeRateAggregateRepository;
+import com.exchange.service.CurrencyService;
+import com.exchange.service.ExchangeRateAggregateService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Mantém os agregados OHLC por par (minuto, hora e dia) e responde estatísticas a partir deles,
+ * sem varrer exchange_rates.
+ */
+@Slf4j
+@Service
+public class ExchangeRateAggregateServiceImpl implements ExchangeRateAggregateService {
+    
+    @Autowired
+    private ExchangeRateAggregateRepository aggregateRepository;
+    
+    @Autowired
+    private CurrencyService currencyService;
+    
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void onExchangeRateChanged(ExchangeRateChangedEvent event) {
+        if (event.getChangeType() == ExchangeRateChangedEvent.ChangeType.DEACTIVATED || event.getRate() == null) {
+            return;
+        }
+        recordRate(event.getFromCurrencyPrefix(), event.getToCurrencyPrefix(), event.getRate(), LocalDateTime.now());
+    }
+    
+    @Override
+    @Transactional
+    public void recordRate(String fromCurrencyPrefix, String toCurrencyPrefix, BigDecimal rate, LocalDateTime observedAt) {
+        for (AggregateInterval interval : AggregateInterval.values()) {
+            aggregateRepository.upsertSample(
+                fromCurrencyPrefix,
+                toCurrencyPrefix,
+                interval.name(),
+                interval.bucketStart(observedAt),
+                rate,
+                observedAt
+            );
+        }
+        log.debug("Agregados atualizados para {} → {} com taxa {}", fromCurrencyPrefix, toCurrencyPrefix, rate);
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public ExchangeRateStatsResponse getStats(String fromCurrencyPrefix, String toCurrencyPrefix,
+                                              AggregateInterval interval, LocalDate startDate, LocalDate endDate) {
+        currencyService.validateActiveCurrency(fromCurrencyPrefix);
+        currencyService.validateActiveCurrency(toCurrencyPrefix);
+        
+        if (startDate.isAfter(endDate)) {
+            throw new IllegalArgumentException("Data inicial não pode ser posterior à data final");
+        }
+        
+        List<ExchangeRateAggregate> buckets = aggregateRepository.findBuckets(
+            fromCurrencyPrefix,
+            toCurrencyPrefix,
+            interval.name(),
+            startDate.atStartOfDay(),
+            endDate.plusDays(1).atStartOfDay()
+        );
+        
+        BigDecimal min = null;
+        BigDecimal max = null;
+        BigDecimal sum = BigDecimal.ZERO;
+        long samples = 0;
+        List<RateBucketResponse> responses = new ArrayList<>(buckets.size());
+        
+        for (ExchangeRateAggregate bucket : buckets) {
+            min = min == null ? bucket.getLowRate() : min.min(bucket.getLowRate());
+            max = max == null ? bucket.getHighRate() : max.max(bucket.getHighRate());
+            sum = sum.add(bucket.getRateSum());
+            samples += bucket.getSampleCount();
+            
+            responses.add(new RateBucketResponse(
+                bucket.getBucketStart(),
+                bucket.getOpenRate(),
+                bucket.getHighRate(),
+                bucket.getLowRate(),
+                bucket.getCloseRate(),
+                bucket.getAverageRate(),
+                bucket.getSampleCount()
+            ));
+        }
+        
+        BigDecimal average = samples > 0 ? sum.divide(BigDecimal.valueOf(samples), 4, RoundingMode.HALF_UP) : null;
+        
+        return new ExchangeRateStatsResponse(
+            fromCurrencyPrefix,
+            toCurrencyPrefix,
+            interval,
+            startDate,
+            endDate,
+            min,
+            max,
+            average,
+            samples,
+            responses
+        );
+    }
+}
@@ -1,13 +1,21 @@
 package com.exchange.service.impl;
 
+import com.exchange.cache.ExchangeRateSnapshot;
+import com.exchange.cache.ExchangeRateSnapshotHolder;
+import com.exchange.domain.dto.SliceResponse;
 import com.exchange.domain.entity.ExchangeRate;
+import com.exchange.domain.event.ExchangeRateChangedEvent;
+import com.exchange.domain.event.ExchangeRateChangedEvent.ChangeType;
+import com.exchange.domain.exception.CurrencyNotFoundException;
 import com.exchange.domain.exception.ExchangeRateAlreadyExistsException;
 import com.exchange.domain.exception.ExchangeRateNotFoundException;
 import com.exchange.domain.exception.ExchangeRateOperationException;
 import com.exchange.repository.ExchangeRateRepository;
 import com.exchange.service.CurrencyService;
 import com.exchange.service.ExchangeRateService;
+import com.exchange.util.KeysetCursor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -16,6 +24,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 @Service
@@ -26,39 +35,43 @@ public class ExchangeRateServiceImpl implements ExchangeRateService {
     
     @Autowired
     private CurrencyService currencyService;
+    
+    @Autowired
+    private ExchangeRateSnapshotHolder snapshotHolder;
+    
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
 
     @Override
-    @Transactional(readOnly = true)
     public ExchangeRate getActiveRate(String fromCurrencyPrefix, String toCurrencyPrefix) {
+        // Leitura na fotografia em memória, sem acesso ao banco
+        ExchangeRateSnapshot snapshot = snapshotHolder.current();
+        
         // Validar se as moedas existem
-        currencyService.getActiveCurrencyByPrefix(fromCurrencyPrefix);
-        currencyService.getActiveCurrencyByPrefix(toCurrencyPrefix);
+        requireActiveCurrency(snapshot, fromCurrencyPrefix);
+        requireActiveCurrency(snapshot, toCurrencyPrefix);
         
-        return exchangeRateRepository.findLatestActiveByPrefixes(fromCurrencyPrefix, toCurrencyPrefix)
+        return snapshot.findRate(fromCurrencyPrefix, toCurrencyPrefix)
             .orElseThrow(() -> new ExchangeRateNotFoundException(
                 "Taxa de câmbio não encontrada para " + fromCurrencyPrefix + " → " + toCurrencyPrefix
             ));
     }
     
     @Override
-    @Transactional(readOnly = true)
     public Optional<ExchangeRate> findActiveRate(String fromCurrencyPrefix, String toCurrencyPrefix) {
-        try {
-            // Validar se as moedas existem
-            currencyService.getActiveCurrencyByPrefix(fromCurrencyPrefix);
-            currencyService.getActiveCurrencyByPrefix(toCurrencyPrefix);
-            
-            return exchangeRateRepository.findLatestActiveByPrefixes(fromCurrencyPrefix, toCurrencyPrefix);
-        } catch (Exception e) {
-            // Se as moedas não existem, retorna Optional vazio
+        ExchangeRateSnapshot snapshot = snapshotHolder.current();
+        
+        // Se as moedas não existem, retorna Optional vazio
+        if (!snapshot.isCurrencyActive(fromCurrencyPrefix) || !snapshot.isCurrencyActive(toCurrencyPrefix)) {
             return Optional.empty();
         }
+        
+        return snapshot.findRate(fromCurrencyPrefix, toCurrencyPrefix);
     }
     
     @Override
-    @Transactional(readOnly = true)
     public ExchangeRate getLatestActiveRate(String fromCurrencyPrefix, String toCurrencyPrefix) {
-        return exchangeRateRepository.findLatestActiveByPrefixes(fromCurrencyPrefix, toCurrencyPrefix)
+        return snapshotHolder.current().findRate(fromCurrencyPrefix, toCurrencyPrefix)
             .orElseThrow(() -> new ExchangeRateNotFoundException(
                 "Taxa de câmbio não encontrada para " + fromCurrencyPrefix + " → " + toCurrencyPrefix
             ));
@@ -68,8 +81,8 @@ public class ExchangeRateServiceImpl implements ExchangeRateService {
     @Transactional
     public ExchangeRate saveRate(String fromCurrencyPrefix, String toCurrencyPrefix, BigDecimal rate) {
         // Validar se as moedas existem
-        currencyService.getActiveCurrencyByPrefix(fromCurrencyPrefix);
-        currencyService.getActiveCurrencyByPrefix(toCurrencyPrefix);
+        currencyService.validateActiveCurrency(fromCurrencyPrefix);
+        currencyService.validateActiveCurrency(toCurrencyPrefix);
         
         // Validar taxa
         validateRate(rate);
@@ -88,7 +101,9 @@ public class ExchangeRateServiceImpl implements ExchangeRateService {
         exchangeRate.setIsActive(true);
         exchangeRate.setDeactivatedAt(null);
         
-        return exchangeRateRepository.save(exchangeRate);
+        ExchangeRate savedRate = exchangeRateRepository.save(exchangeRate);
+        publishChange(savedRate, ChangeType.SAVED);
+        return savedRate;
     }
     
     @Override
@@ -96,14 +111,14 @@ public class ExchangeRateServiceImpl implements ExchangeRateService {
     public ExchangeRate updateRate(String fromCurrencyPrefix, String toCurrencyPrefix, 
                                  BigDecimal rate, Boolean isActive) {
         // Validar se as moedas existem
-        currencyService.getActiveCurrencyByPrefix(fromCurrencyPrefix);
-        currencyService.getActiveCurrencyByPrefix(toCurrencyPrefix);
+        currencyService.validateActiveCurrency(fromCurrencyPrefix);
+        currencyService.validateActiveCurrency(toCurrencyPrefix);
         
         // Validar taxa
         validateRate(rate);
         
         // Buscar taxa existente
-        ExchangeRate existingRate = getActiveRate(fromCurrencyPrefix, toCurrencyPrefix);
+        ExchangeRate existingRate = loadActiveRate(fromCurrencyPrefix, toCurrencyPrefix);
 
         try {
             // Desativar taxa anterior
@@ -114,7 +129,9 @@ public class ExchangeRateServiceImpl implements ExchangeRateService {
             exchangeRateRepository.save(existingRate);
             
             // Salvar nova taxa
-            return exchangeRateRepository.save(existingRate);
+            ExchangeRate updatedRate = exchangeRateRepository.save(existingRate);
+            publishChange(updatedRate, ChangeType.UPDATED);
+            return updatedRate;
             
         } catch (DataIntegrityViolationException e) {
             throw new ExchangeRateOperationException("Erro ao atualizar taxa de câmbio: " + e.getMessage());
@@ -124,7 +141,7 @@ public class ExchangeRateServiceImpl implements ExchangeRateService {
     @Override
     @Transactional
     public void deactivateRate(String fromCurrencyPrefix, String toCurrencyPrefix) {
-        ExchangeRate activeRate = getActiveRate(fromCurrencyPrefix, toCurrencyPrefix);
+        ExchangeRate activeRate = loadActiveRate(fromCurrencyPrefix, toCurrencyPrefix);
         
         // Criar nova entrada inativa
         ExchangeRate inactiveRate = new ExchangeRate();
@@ -143,6 +160,8 @@ public class ExchangeRateServiceImpl implements ExchangeRateService {
             activeRate.setDeactivatedAt(LocalDateTime.now());
             exchangeRateRepository.save(activeRate);
             
+            publishChange(inactiveRate, ChangeType.DEACTIVATED);
+            
         } catch (DataIntegrityViolationException e) {
             throw new ExchangeRateOperationException("Erro ao desativar taxa de câmbio: " + e.getMessage());
         }
@@ -161,6 +180,61 @@ public class ExchangeRateServiceImpl implements ExchangeRateService {
         return exchangeRateRepository.findExchangeRatesWithFilters(fromPrefix, toPrefix, activeOnly, pageable);
     }
     
+    @Override
+    @Transactional(readOnly = true)
+    public SliceResponse<ExchangeRate> scrollExchangeRates(String fromPrefix, String toPrefix, Boolean activeOnly,
+                                                           String cursor, Integer size) {
+        int sliceSize = KeysetCursor.sliceSize(size);
+        boolean active = activeOnly == null || activeOnly;
+        
+        // Uma linha a mais indica se há próxima fatia, sem COUNT
+        List<ExchangeRate> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = exchangeRateRepository.findSliceFirst(fromPrefix, toPrefix, active, sliceSize + 1);
+        } else {
+            KeysetCursor after = KeysetCursor.decode(cursor, 2);
+            rows = exchangeRateRepository.findSliceAfter(fromPrefix, toPrefix, active,
+                after.getCreatedAt(), after.key(0), after.key(1), sliceSize + 1);
+        }
+        
+        boolean hasNext = rows.size() > sliceSize;
+        List<ExchangeRate> content = hasNext ? rows.subList(0, sliceSize) : rows;
+        String nextCursor = null;
+        if (hasNext) {
+            ExchangeRate last = content.get(content.size() - 1);
+            nextCursor = KeysetCursor.encode(last.getCreatedAt(), last.getFromCurrencyPrefix(), last.getToCurrencyPrefix());
+        }
+        return new SliceResponse<>(content, sliceSize, hasNext, nextCursor);
+    }
+    
+    /**
+     * Busca a taxa ativa no banco. Usado pelos caminhos de escrita, que precisam da entidade gerenciada
+     */
+    private ExchangeRate loadActiveRate(String fromCurrencyPrefix, String toCurrencyPrefix) {
+        currencyService.validateActiveCurrency(fromCurrencyPrefix);
+        currencyService.validateActiveCurrency(toCurrencyPrefix);
+        
+        return exchangeRateRepository.findLatestActiveByPrefixes(fromCurrencyPrefix, toCurrencyPrefix)
+            .orElseThrow(() -> new ExchangeRateNotFoundException(
+                "Taxa de câmbio não encontrada para " + fromCurrencyPrefix + " → " + toCurrencyPrefix
+            ));
+    }
+    
+    private void requireActiveCurrency(ExchangeRateSnapshot snapshot, String prefix) {
+        if (!snapshot.isCurrencyActive(prefix)) {
+            throw new CurrencyNotFoundException("Moeda ativa não encontrada: " + prefix);
+        }
+    }
+    
+    /**
+     * Publica a alteração; os listeners só a recebem depois do commit
+     */
+    private void publishChange(ExchangeRate rate, ChangeType changeType) {
+        eventPublisher.publishEvent(new ExchangeRateChangedEvent(
+            rate.getFromCurrencyPrefix(), rate.getToCurrencyPrefix(), rate.getRate(), changeType
+        ));
+    }
+    
     private void validateRate(BigDecimal rate) {
         if (rate == null || rate.compareTo(BigDecimal.ZERO) <= 0) {
             throw new IllegalArgumentException("Taxa deve ser maior que zero");
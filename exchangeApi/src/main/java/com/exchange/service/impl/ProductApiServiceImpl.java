@@ -1,63 +1,97 @@
 package com.exchange.service.impl;
 
+import com.exchange.cache.NearCache;
+import com.exchange.cache.NearCache.FetchResult;
 import com.exchange.domain.dto.ProductInfo;
 import com.exchange.domain.dto.KingdomInfo;
 import com.exchange.service.ProductApiService;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
+import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestTemplate;
 
+import java.time.Duration;
+
 @Service
 @Slf4j
 public class ProductApiServiceImpl implements ProductApiService {
-    
+
     @Autowired
     private RestTemplate restTemplate;
-    
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     @Value("${app.product-api.base-url}")
     private String productApiBaseUrl;
-    
+
+    @Value("${app.product-api.cache.ttl:60s}")
+    private Duration cacheTtl;
+
+    @Value("${app.product-api.cache.max-entries:10000}")
+    private int cacheMaxEntries;
+
+    private NearCache<Long, ProductInfo> productCache;
+
+    private NearCache<Long, KingdomInfo> kingdomCache;
+
+    @PostConstruct
+    void initCaches() {
+        productCache = new NearCache<>("products", cacheMaxEntries, cacheTtl, meterRegistry);
+        kingdomCache = new NearCache<>("kingdoms", cacheMaxEntries, cacheTtl, meterRegistry);
+    }
+
     @Override
     public ProductInfo getProductInfo(Long productId) {
         try {
-            String url = productApiBaseUrl + "/api/v1/products/" + productId;
-            log.info("Buscando informações do produto: {}", url);
-            
-            ProductInfo productInfo = restTemplate.getForObject(url, ProductInfo.class);
-            
-            if (productInfo != null) {
-                log.info("Produto encontrado: {} - Demanda: {}, Qualidade: {}", 
-                        productInfo.getName(), productInfo.getDemandQuantifier(), productInfo.getQualityQualifier());
-            }
-            
-            return productInfo;
-            
+            return productCache.get(productId, (id, etag) ->
+                fetch(productApiBaseUrl + "/api/v1/products/" + id, etag, ProductInfo.class));
         } catch (Exception e) {
             log.error("Erro ao buscar informações do produto: {}", productId, e);
             return null;
         }
     }
-    
+
     @Override
     public KingdomInfo getKingdomInfo(Long kingdomId) {
         try {
-            String url = productApiBaseUrl + "/api/v1/kingdoms/" + kingdomId;
-            log.info("Buscando informações do reino: {}", url);
-            
-            KingdomInfo kingdomInfo = restTemplate.getForObject(url, KingdomInfo.class);
-            
-            if (kingdomInfo != null) {
-                log.info("Reino encontrado: {} - Taxa de qualidade: {}, É owner: {}", 
-                        kingdomInfo.getName(), kingdomInfo.getQualityRate(), kingdomInfo.getIsOwner());
-            }
-            
-            return kingdomInfo;
-            
+            return kingdomCache.get(kingdomId, (id, etag) ->
+                fetch(productApiBaseUrl + "/api/v1/kingdoms/" + id, etag, KingdomInfo.class));
         } catch (Exception e) {
             log.error("Erro ao buscar informações do reino: {}", kingdomId, e);
             return null;
         }
     }
-} 
\ No newline at end of file
+
+    /**
+     * GET condicional: envia If-None-Match quando há ETag em cache e trata 304 como "não modificado"
+     */
+    private <T> FetchResult<T> fetch(String url, String etag, Class<T> type) {
+        log.debug("Buscando na API de produtos: {} (ETag: {})", url, etag);
+
+        HttpHeaders headers = new HttpHeaders();
+        if (etag != null) {
+            headers.setIfNoneMatch(etag);
+        }
+
+        try {
+            ResponseEntity<T> response = restTemplate.exchange(url, HttpMethod.GET, new HttpEntity<>(headers), type);
+            if (response.getStatusCode() == HttpStatus.NOT_MODIFIED) {
+                return FetchResult.notModified();
+            }
+            return FetchResult.of(response.getBody(), response.getHeaders().getETag());
+        } catch (HttpClientErrorException.NotFound e) {
+            log.debug("Recurso não encontrado na API de produtos: {}", url);
+            return FetchResult.notFound();
+        }
+    }
+}
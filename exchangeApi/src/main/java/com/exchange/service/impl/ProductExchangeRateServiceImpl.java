@@ -1,13 +1,18 @@
 package com.exchange.service.impl;
 
+import com.exchange.domain.dto.SliceResponse;
 import com.exchange.domain.entity.ProductExchangeRate;
+import com.exchange.domain.event.ProductExchangeRateChangedEvent;
+import com.exchange.domain.event.ProductExchangeRateChangedEvent.ChangeType;
 import com.exchange.domain.exception.ProductExchangeRateAlreadyExistsException;
 import com.exchange.domain.exception.ProductExchangeRateNotFoundException;
 import com.exchange.domain.exception.ProductExchangeRateOperationException;
 import com.exchange.repository.ProductExchangeRateRepository;
 import com.exchange.service.CurrencyService;
 import com.exchange.service.ProductExchangeRateService;
+import com.exchange.util.KeysetCursor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -27,12 +32,15 @@ public class ProductExchangeRateServiceImpl implements ProductExchangeRateServic
     @Autowired
     private CurrencyService currencyService;
     
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
     @Override
     @Transactional(readOnly = true)
     public ProductExchangeRate getActiveProductRate(Long productId, String fromCurrencyPrefix, String toCurrencyPrefix) {
         // Validar se as moedas existem
-        currencyService.getActiveCurrencyByPrefix(fromCurrencyPrefix);
-        currencyService.getActiveCurrencyByPrefix(toCurrencyPrefix);
+        currencyService.validateActiveCurrency(fromCurrencyPrefix);
+        currencyService.validateActiveCurrency(toCurrencyPrefix);
         
         return productExchangeRateRepository.findLatestActiveByProductAndPrefixes(productId, fromCurrencyPrefix, toCurrencyPrefix)
             .orElseThrow(() -> new ProductExchangeRateNotFoundException(
@@ -56,8 +64,8 @@ public class ProductExchangeRateServiceImpl implements ProductExchangeRateServic
     public ProductExchangeRate saveProductRate(Long productId, String fromCurrencyPrefix, String toCurrencyPrefix, 
                                              BigDecimal baseRate, BigDecimal productMultiplier) {
         // Validar se as moedas existem
-        currencyService.getActiveCurrencyByPrefix(fromCurrencyPrefix);
-        currencyService.getActiveCurrencyByPrefix(toCurrencyPrefix);
+        currencyService.validateActiveCurrency(fromCurrencyPrefix);
+        currencyService.validateActiveCurrency(toCurrencyPrefix);
         
         // Validar parâmetros
         validateProductRate(baseRate, productMultiplier);
@@ -79,7 +87,9 @@ public class ProductExchangeRateServiceImpl implements ProductExchangeRateServic
         productExchangeRate.setIsActive(true);
         productExchangeRate.setDeactivatedAt(null);
         
-        return productExchangeRateRepository.save(productExchangeRate);
+        ProductExchangeRate savedRate = productExchangeRateRepository.save(productExchangeRate);
+        publishChange(savedRate, ChangeType.SAVED);
+        return savedRate;
     }
     
     @Override
@@ -106,6 +116,8 @@ public class ProductExchangeRateServiceImpl implements ProductExchangeRateServic
             activeRate.setDeactivatedAt(LocalDateTime.now());
             productExchangeRateRepository.save(activeRate);
             
+            publishChange(activeRate, ChangeType.DEACTIVATED);
+            
         } catch (DataIntegrityViolationException e) {
             throw new ProductExchangeRateOperationException("Erro ao desativar taxa de câmbio para produto: " + e.getMessage());
         }
@@ -129,8 +141,39 @@ public class ProductExchangeRateServiceImpl implements ProductExchangeRateServic
         return productExchangeRateRepository.findActiveWithPagination(pageable);
     }
     
+    @Override
+    @Transactional(readOnly = true)
+    public SliceResponse<ProductExchangeRate> scrollActiveRates(String cursor, Integer size) {
+        int sliceSize = KeysetCursor.sliceSize(size);
+        
+        // Uma linha a mais indica se há próxima fatia, sem COUNT
+        List<ProductExchangeRate> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = productExchangeRateRepository.findActiveSliceFirst(sliceSize + 1);
+        } else {
+            KeysetCursor after = KeysetCursor.decode(cursor, 3);
+            rows = productExchangeRateRepository.findActiveSliceAfter(after.getCreatedAt(), after.longKey(0),
+                after.key(1), after.key(2), sliceSize + 1);
+        }
+        
+        boolean hasNext = rows.size() > sliceSize;
+        List<ProductExchangeRate> content = hasNext ? rows.subList(0, sliceSize) : rows;
+        String nextCursor = null;
+        if (hasNext) {
+            ProductExchangeRate last = content.get(content.size() - 1);
+            nextCursor = KeysetCursor.encode(last.getCreatedAt(), last.getProductId(),
+                last.getFromCurrencyPrefix(), last.getToCurrencyPrefix());
+        }
+        return new SliceResponse<>(content, sliceSize, hasNext, nextCursor);
+    }
+    
     // ===== MÉTODOS PRIVADOS =====
     
+    private void publishChange(ProductExchangeRate rate, ChangeType changeType) {
+        eventPublisher.publishEvent(new ProductExchangeRateChangedEvent(
+            rate.getProductId(), rate.getFromCurrencyPrefix(), rate.getToCurrencyPrefix(), changeType));
+    }
+    
     private void validateProductRate(BigDecimal baseRate, BigDecimal productMultiplier) {
         if (baseRate == null || baseRate.compareTo(BigDecimal.ZERO) <= 0) {
             throw new IllegalArgumentException("Taxa base deve ser maior que zero");
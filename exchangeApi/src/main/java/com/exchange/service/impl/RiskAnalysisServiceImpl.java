@@ -1,11 +1,15 @@
 package com.exchange.service.impl;
 
+import com.exchange.cache.RateBaselineEngine;
+import com.exchange.cache.RateBaselineEngine.RateBaseline;
 import com.exchange.domain.dto.ConversionRequest;
 import com.exchange.domain.dto.ConversionResponse;
 import com.exchange.domain.entity.ExchangeRate;
 import com.exchange.domain.enums.TransactionStatus;
 import com.exchange.service.RiskAnalysisService;
+import com.exchange.util.FixedPointMoney;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
@@ -14,11 +18,44 @@ import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
 import java.util.UUID;
 
 @Service
 public class RiskAnalysisServiceImpl implements RiskAnalysisService {
     
+    private static final BigDecimal HIGH_MULTIPLIER = new BigDecimal("1.5");
+    private static final BigDecimal HIGH_MULTIPLIER_RISK = new BigDecimal("0.1");
+    private static final BigDecimal NOT_APPROVED_THRESHOLD = new BigDecimal("0.7");
+    private static final BigDecimal WARNING_THRESHOLD = new BigDecimal("0.4");
+    private static final BigDecimal CLAMPED_RISK_WITH_MULTIPLIER = BigDecimal.ONE.add(HIGH_MULTIPLIER_RISK);
+    
+    // Mesmos limites em ponto fixo, na escala 4 da variação
+    private static final int VARIATION_SCALE = 4;
+    private static final long ONE_FIXED = 10_000L;
+    private static final long HIGH_MULTIPLIER_RISK_FIXED = 1_000L;
+    private static final long NOT_APPROVED_THRESHOLD_FIXED = 7_000L;
+    private static final long WARNING_THRESHOLD_FIXED = 4_000L;
+    
+    // Volatilidade mínima relativa à média, para que um par quase parado não gere desvios enormes
+    private static final double MIN_RELATIVE_VOLATILITY = 0.001;
+    
+    @Value("${app.conversion.fixed-point.enabled:false}")
+    private boolean fixedPointEnabled;
+    
+    @Value("${app.risk.baseline.min-samples:5}")
+    private long minSamples;
+    
+    @Value("${app.risk.baseline.deviation-limit:5}")
+    private double deviationLimit;
+    
+    @Value("${app.risk.baseline.out-of-range-risk:0.2}")
+    private BigDecimal outOfRangeRisk;
+    
+    @Autowired
+    private RateBaselineEngine rateBaselineEngine;
+    
     @Override
     public void analyzeRisk(ConversionResponse response, ExchangeRate exchangeRate, ConversionRequest request) {
         analyzeRisk(response, exchangeRate.getRate(), request, BigDecimal.ONE);
@@ -28,21 +65,32 @@ public class RiskAnalysisServiceImpl implements RiskAnalysisService {
      * Analisa o risco considerando multiplicadores específicos (produto, reino, etc.)
      */
     public void analyzeRisk(ConversionResponse response, BigDecimal finalRate, ConversionRequest request, BigDecimal multiplier) {
-        // Análise básica de risco
-        BigDecimal baseRate = getBaseRate(request.getFromCurrencyCode(), request.getToCurrencyCode());
+        Optional<RateBaseline> baseline = rateBaselineEngine.find(request.getFromCurrencyCode(), request.getToCurrencyCode());
+        if (baseline.isPresent() && baseline.get().getSamples() >= minSamples) {
+            analyzeRiskAgainstBaseline(response, baseline.get(), finalRate, request, multiplier);
+            return;
+        }
+        
+        // Histórico insuficiente para volatilidade: variação relativa à taxa de referência da janela
+        BigDecimal baseRate = baseline.map(RateBaseline::getReferenceRate).orElse(BigDecimal.ONE); // Fallback para pares sem histórico
+        
+        if (fixedPointEnabled && analyzeRiskFixed(response, baseRate, finalRate, request, multiplier)) {
+            return;
+        }
+        
         BigDecimal variation = calculateVariation(baseRate, finalRate);
         BigDecimal riskScore = calculateRiskScore(variation);
         
         // Ajustar risco baseado no multiplicador
-        if (multiplier.compareTo(new BigDecimal("1.5")) > 0) {
-            riskScore = riskScore.add(new BigDecimal("0.1")); // Aumentar risco para multiplicadores altos
+        if (multiplier.compareTo(HIGH_MULTIPLIER) > 0) {
+            riskScore = riskScore.add(HIGH_MULTIPLIER_RISK); // Aumentar risco para multiplicadores altos
         }
         
         response.setRiskScore(riskScore);
         
-        if (riskScore.compareTo(new BigDecimal("0.7")) > 0) {
+        if (riskScore.compareTo(NOT_APPROVED_THRESHOLD) > 0) {
             setNotApprovedStatus(response, variation, multiplier);
-        } else if (riskScore.compareTo(new BigDecimal("0.4")) > 0) {
+        } else if (riskScore.compareTo(WARNING_THRESHOLD) > 0) {
             setWarningStatus(response, variation, multiplier);
         } else {
             // Transação ok, mas precisa confirmação
@@ -50,6 +98,88 @@ public class RiskAnalysisServiceImpl implements RiskAnalysisService {
         }
     }
     
+    /**
+     * Análise pela linha de base: o score é o desvio da média em volatilidades, |taxa − média| / volatilidade,
+     * dividido por deviation-limit (score 1 a partir desse desvio). Taxa fora do mínimo/máximo da janela
+     * soma out-of-range-risk.
+     */
+    private void analyzeRiskAgainstBaseline(ConversionResponse response, RateBaseline baseline, BigDecimal finalRate,
+                                            ConversionRequest request, BigDecimal multiplier) {
+        double rate = finalRate.doubleValue();
+        double volatility = Math.max(baseline.getVolatility(), Math.abs(baseline.getMean()) * MIN_RELATIVE_VOLATILITY);
+        double deviation = volatility > 0 ? Math.abs(rate - baseline.getMean()) / volatility : 0;
+        boolean outOfRange = rate < baseline.getWindowMin() || rate > baseline.getWindowMax();
+        
+        BigDecimal riskScore = BigDecimal.valueOf(Math.min(1.0, deviation / deviationLimit))
+            .setScale(VARIATION_SCALE, RoundingMode.HALF_UP);
+        if (outOfRange) {
+            riskScore = riskScore.add(outOfRangeRisk);
+        }
+        if (multiplier.compareTo(HIGH_MULTIPLIER) > 0) {
+            riskScore = riskScore.add(HIGH_MULTIPLIER_RISK);
+        }
+        response.setRiskScore(riskScore);
+        
+        BigDecimal variation = calculateVariation(baseline.getReferenceRate(), finalRate);
+        if (riskScore.compareTo(NOT_APPROVED_THRESHOLD) > 0) {
+            setNotApprovedStatus(response, variation, multiplier);
+        } else if (riskScore.compareTo(WARNING_THRESHOLD) > 0) {
+            setWarningStatus(response, variation, multiplier);
+        } else {
+            setRequestedStatus(response, request);
+            return;
+        }
+        
+        response.getWarnings().add(String.format(Locale.ROOT, "Desvio de %.1f volatilidades da média móvel", deviation));
+        if (outOfRange) {
+            response.getWarnings().add(String.format(Locale.ROOT, "Taxa fora da faixa recente (%s a %s)",
+                BigDecimal.valueOf(baseline.getWindowMin()).stripTrailingZeros().toPlainString(),
+                BigDecimal.valueOf(baseline.getWindowMax()).stripTrailingZeros().toPlainString()));
+        }
+    }
+    
+    /**
+     * Mesma análise em ponto fixo, com a variação em long na escala 4.
+     * Reproduz também as escalas do caminho BigDecimal (score limitado a 1 sai como "1" ou "1.1").
+     * Retorna false quando algum valor não cabe em long, para que a análise seja refeita em BigDecimal.
+     */
+    private boolean analyzeRiskFixed(ConversionResponse response, BigDecimal baseRate, BigDecimal finalRate,
+                                     ConversionRequest request, BigDecimal multiplier) {
+        if (!FixedPointMoney.fits(baseRate) || !FixedPointMoney.fits(finalRate) || baseRate.signum() == 0) {
+            return false;
+        }
+        
+        // Alinha as duas taxas na mesma escala: (atual - base) / base, arredondado HALF_UP na escala 4
+        int scale = Math.max(baseRate.scale(), finalRate.scale());
+        long base = FixedPointMoney.rescale(FixedPointMoney.unscaled(baseRate), baseRate.scale(), scale);
+        long current = FixedPointMoney.rescale(FixedPointMoney.unscaled(finalRate), finalRate.scale(), scale);
+        long numerator = FixedPointMoney.multiply(FixedPointMoney.subtract(current, base), ONE_FIXED);
+        long variation = FixedPointMoney.divide(numerator, base);
+        if (base == FixedPointMoney.OVERFLOW || variation == FixedPointMoney.OVERFLOW) {
+            return false;
+        }
+        
+        long absVariation = Math.abs(variation);
+        boolean clamped = absVariation > ONE_FIXED;
+        boolean highMultiplier = multiplier.compareTo(HIGH_MULTIPLIER) > 0;
+        long riskScore = (clamped ? ONE_FIXED : absVariation) + (highMultiplier ? HIGH_MULTIPLIER_RISK_FIXED : 0);
+        
+        if (clamped) {
+            response.setRiskScore(highMultiplier ? CLAMPED_RISK_WITH_MULTIPLIER : BigDecimal.ONE);
+        } else {
+            response.setRiskScore(FixedPointMoney.toBigDecimal(riskScore, VARIATION_SCALE));
+        }
+        
+        if (riskScore > NOT_APPROVED_THRESHOLD_FIXED) {
+            setNotApprovedStatus(response, FixedPointMoney.toBigDecimal(variation, VARIATION_SCALE), multiplier);
+        } else if (riskScore > WARNING_THRESHOLD_FIXED) {
+            setWarningStatus(response, FixedPointMoney.toBigDecimal(variation, VARIATION_SCALE), multiplier);
+        } else {
+            setRequestedStatus(response, request);
+        }
+        return true;
+    }
+    
     @Override
     public BigDecimal calculateRiskScore(BigDecimal baseRate, BigDecimal currentRate) {
         BigDecimal variation = calculateVariation(baseRate, currentRate);
@@ -59,7 +189,7 @@ public class RiskAnalysisServiceImpl implements RiskAnalysisService {
     private void setNotApprovedStatus(ConversionResponse response, BigDecimal variation, BigDecimal multiplier) {
         response.setStatus(TransactionStatus.NOT_APPROVED);
         response.setReason("Taxa muito desfavorável (" + 
-                         variation.multiply(new BigDecimal("100")).setScale(1) + "% de variação)");
+                         variation.multiply(new BigDecimal("100")).setScale(1, RoundingMode.HALF_UP) + "% de variação)");
         response.setCanProceed(false);
         
         List<String> warnings = new ArrayList<>();
@@ -75,7 +205,7 @@ public class RiskAnalysisServiceImpl implements RiskAnalysisService {
     private void setWarningStatus(ConversionResponse response, BigDecimal variation, BigDecimal multiplier) {
         response.setStatus(TransactionStatus.WARNING);
         response.setReason("Taxa fora do normal (" + 
-                         variation.multiply(new BigDecimal("100")).setScale(1) + "% de variação)");
+                         variation.multiply(new BigDecimal("100")).setScale(1, RoundingMode.HALF_UP) + "% de variação)");
         response.setCanProceed(true);
         response.setRequiresApproval(true);
         
@@ -112,21 +242,11 @@ public class RiskAnalysisServiceImpl implements RiskAnalysisService {
         response.setRecommendations(List.of("Transação recomendada"));
     }
     
-    private BigDecimal getBaseRate(String fromCurrency, String toCurrency) {
-        // Taxa base: 1 Ouro Real = 2.5 Tibares
-        if ("ORO".equals(fromCurrency) && "TIB".equals(toCurrency)) {
-            return new BigDecimal("2.5");
-        } else if ("TIB".equals(fromCurrency) && "ORO".equals(toCurrency)) {
-            return new BigDecimal("0.4");
-        }
-        return BigDecimal.ONE; // Fallback
-    }
-    
     private BigDecimal calculateVariation(BigDecimal baseRate, BigDecimal currentRate) {
         if (baseRate.compareTo(BigDecimal.ZERO) == 0) {
             return BigDecimal.ZERO;
         }
-        return currentRate.subtract(baseRate).divide(baseRate, 4, RoundingMode.HALF_UP);
+        return currentRate.subtract(baseRate).divide(baseRate, VARIATION_SCALE, RoundingMode.HALF_UP);
     }
     
     private BigDecimal calculateRiskScore(BigDecimal variation) {
@@ -2,45 +2,199 @@ package com.exchange.service.impl;
 
 import com.exchange.domain.dto.ConversionRequest;
 import com.exchange.domain.dto.ConversionResponse;
+import com.exchange.domain.dto.TransactionConfirmation;
 import com.exchange.domain.dto.TransactionData;
 import com.exchange.service.TransactionService;
+import com.exchange.util.RedisWriteBehindQueue;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 @Service
+@Slf4j
 public class TransactionServiceImpl implements TransactionService {
     
     private static final String TRANSACTION_KEY_PREFIX = "transaction:";
     private static final Duration TTL = Duration.ofMinutes(30);
+    private static final String CONFIRMED_KEY_PREFIX = "transaction:confirmed:";
+    private static final String INVALIDATION_CHANNEL = "transactions:invalidate";
+    
+    /**
+     * GET + DEL da cotação e SET da cópia confirmada, atômicos no Redis.
+     * Retorna {1, valor} na primeira confirmação, {0, valor} em repetições e nil se não existe
+     */
+    @SuppressWarnings("rawtypes")
+    private static final DefaultRedisScript<List> CONFIRM_SCRIPT = new DefaultRedisScript<>("""
+        local value = redis.call('GET', KEYS[1])
+        if value then
+          redis.call('DEL', KEYS[1])
+          redis.call('SET', KEYS[2], value, 'PX', ARGV[1])
+          return {1, value}
+        end
+        local confirmed = redis.call('GET', KEYS[2])
+        if confirmed then
+          return {0, confirmed}
+        end
+        return nil
+        """, List.class);
     
     @Autowired
     private RedisTemplate<String, Object> redisTemplate;
     
+    @Autowired
+    private StringRedisTemplate stringRedisTemplate;
+    
+    @Autowired
+    private RedisMessageListenerContainer listenerContainer;
+    
+    @Autowired
+    private RedisWriteBehindQueue writeBehindQueue;
+    
+    @Value("${app.transactions.confirmed-ttl:24h}")
+    private Duration confirmedTtl;
+    
+    @Value("${app.transactions.l1-cache.enabled:true}")
+    private boolean localCacheEnabled;
+    
+    @Value("${app.transactions.l1-cache.max-entries:10000}")
+    private int localCacheMaxEntries;
+    
+    /**
+     * Cache local (L1) das transações lidas ou criadas por esta instância.
+     * Cada entrada vence junto com a chave no Redis; remoções em qualquer instância
+     * chegam pelo canal de invalidação
+     */
+    private final ConcurrentHashMap<UUID, LocalEntry> localCache = new ConcurrentHashMap<>();
+    
+    /**
+     * Contador de invalidações do L1. Uma leitura do Redis só fica no L1 se nenhuma invalidação
+     * chegou enquanto ela estava em andamento
+     */
+    private final AtomicLong invalidations = new AtomicLong();
+    
+    @PostConstruct
+    void subscribeInvalidations() {
+        if (!localCacheEnabled) {
+            return;
+        }
+        listenerContainer.addMessageListener((message, pattern) -> {
+            String transactionId = new String(message.getBody(), StandardCharsets.UTF_8);
+            try {
+                invalidateLocally(UUID.fromString(transactionId));
+            } catch (IllegalArgumentException e) {
+                log.warn("Invalidação de transação com id inválido ignorada: {}", transactionId);
+            }
+        }, new ChannelTopic(INVALIDATION_CHANNEL));
+    }
+    
     @Override
     public void saveTransaction(TransactionData transactionData) {
         String key = buildTransactionKey(transactionData.getTransactionId());
         redisTemplate.opsForValue().set(key, transactionData, TTL);
+        cacheLocally(transactionData);
+    }
+    
+    @Override
+    public CompletableFuture<Void> saveTransactionAsync(TransactionData transactionData) {
+        if (!writeBehindQueue.isEnabled()) {
+            saveTransaction(transactionData);
+            return CompletableFuture.completedFuture(null);
+        }
+        String key = buildTransactionKey(transactionData.getTransactionId());
+        CompletableFuture<Void> durable = writeBehindQueue.enqueue(key, transactionData, TTL);
+        cacheLocally(transactionData);
+        return durable;
     }
     
     @Override
     public TransactionData getTransaction(UUID transactionId) {
+        TransactionData cached = findLocally(transactionId);
+        if (cached != null) {
+            return cached;
+        }
+        
         String key = buildTransactionKey(transactionId);
-        return (TransactionData) redisTemplate.opsForValue().get(key);
+        // Escrita ainda na fila: responde com o valor pendente
+        Object pending = writeBehindQueue.pendingValue(key);
+        if (pending != null) {
+            return (TransactionData) pending;
+        }
+        long invalidationsBeforeRead = invalidations.get();
+        TransactionData transactionData = (TransactionData) redisTemplate.opsForValue().get(key);
+        if (transactionData != null) {
+            LocalEntry entry = cacheLocally(transactionData);
+            // Invalidação entre o GET e o put: o valor lido pode estar velho, não fica no L1
+            if (entry != null && invalidations.get() != invalidationsBeforeRead) {
+                localCache.remove(transactionId, entry);
+            }
+        }
+        return transactionData;
     }
     
     @Override
     public void deleteTransaction(UUID transactionId) {
         String key = buildTransactionKey(transactionId);
+        invalidateLocally(transactionId);
+        writeBehindQueue.discard(key);
         redisTemplate.delete(key);
+        publishInvalidation(transactionId);
+    }
+    
+    @Override
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public Optional<TransactionConfirmation> confirmTransaction(UUID transactionId) {
+        String key = buildTransactionKey(transactionId);
+        // A cotação pode ainda estar na fila de escrita adiada
+        writeBehindQueue.awaitDurable(key);
+        
+        List result = redisTemplate.execute(
+            CONFIRM_SCRIPT,
+            RedisSerializer.string(),
+            (RedisSerializer) redisTemplate.getValueSerializer(),
+            List.of(key, CONFIRMED_KEY_PREFIX + transactionId),
+            String.valueOf(confirmedTtl.toMillis())
+        );
+        
+        invalidateLocally(transactionId);
+        if (result == null || result.size() < 2) {
+            return Optional.empty();
+        }
+        
+        boolean firstConfirmation = Long.valueOf(1).equals(result.get(0));
+        if (firstConfirmation) {
+            publishInvalidation(transactionId);
+        }
+        return Optional.of(new TransactionConfirmation((TransactionData) result.get(1), firstConfirmation));
     }
     
     @Override
     public boolean existsTransaction(UUID transactionId) {
+        if (findLocally(transactionId) != null) {
+            return true;
+        }
         String key = buildTransactionKey(transactionId);
+        if (writeBehindQueue.pendingValue(key) != null) {
+            return true;
+        }
         return Boolean.TRUE.equals(redisTemplate.hasKey(key));
     }
     
@@ -53,7 +207,11 @@ public class TransactionServiceImpl implements TransactionService {
     public UUID createAndSaveTransactionData(ConversionRequest request, ConversionResponse response) {
         UUID transactionId = generateTransactionId();
         TransactionData transactionData = createTransactionData(transactionId, request, response);
-        saveTransaction(transactionData);
+        saveTransactionAsync(transactionData).whenComplete((ignored, error) -> {
+            if (error != null) {
+                log.error("Falha ao gravar a transação {} no Redis", transactionId, error);
+            }
+        });
         return transactionId;
     }
     
@@ -83,4 +241,91 @@ public class TransactionServiceImpl implements TransactionService {
     private String buildTransactionKey(UUID transactionId) {
         return TRANSACTION_KEY_PREFIX + transactionId.toString();
     }
+    
+    private TransactionData findLocally(UUID transactionId) {
+        LocalEntry entry = localCache.get(transactionId);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.isExpired(System.nanoTime())) {
+            localCache.remove(transactionId, entry);
+            return null;
+        }
+        return entry.transactionData;
+    }
+    
+    /**
+     * Guarda a transação no L1 até o mesmo instante em que a chave vence no Redis.
+     * Retorna a entrada gravada, ou null se a transação não foi para o L1
+     */
+    private LocalEntry cacheLocally(TransactionData transactionData) {
+        if (!localCacheEnabled || transactionData.getTransactionId() == null) {
+            return null;
+        }
+        Duration remaining = TTL;
+        if (transactionData.getExpiresAt() != null) {
+            Duration untilExpiry = Duration.between(LocalDateTime.now(), transactionData.getExpiresAt());
+            remaining = untilExpiry.compareTo(TTL) < 0 ? untilExpiry : TTL;
+        }
+        if (remaining.isNegative() || remaining.isZero()) {
+            return null;
+        }
+        
+        LocalEntry entry = new LocalEntry(transactionData, System.nanoTime() + remaining.toNanos());
+        localCache.put(transactionData.getTransactionId(), entry);
+        if (localCache.size() > localCacheMaxEntries) {
+            evictLocalEntries();
+        }
+        return entry;
+    }
+    
+    /**
+     * Descarta a transação do L1; o contador faz leituras do Redis em andamento desistirem do L1
+     */
+    private void invalidateLocally(UUID transactionId) {
+        invalidations.incrementAndGet();
+        localCache.remove(transactionId);
+    }
+    
+    /**
+     * Remove primeiro as entradas vencidas e, se ainda passar do limite, as primeiras da iteração
+     */
+    private void evictLocalEntries() {
+        long now = System.nanoTime();
+        localCache.values().removeIf(entry -> entry.isExpired(now));
+        
+        Iterator<UUID> ids = localCache.keySet().iterator();
+        while (localCache.size() > localCacheMaxEntries && ids.hasNext()) {
+            ids.next();
+            ids.remove();
+        }
+    }
+    
+    /**
+     * Avisa as outras instâncias para descartarem a transação do L1
+     */
+    private void publishInvalidation(UUID transactionId) {
+        if (!localCacheEnabled) {
+            return;
+        }
+        try {
+            stringRedisTemplate.convertAndSend(INVALIDATION_CHANNEL, transactionId.toString());
+        } catch (RuntimeException e) {
+            log.warn("Falha ao publicar invalidação da transação {}: {}", transactionId, e.getMessage());
+        }
+    }
+    
+    private static final class LocalEntry {
+        private final TransactionData transactionData;
+        private final long expiresAtNanos;
+        
+        private LocalEntry(TransactionData transactionData, long expiresAtNanos) {
+            this.transactionData = transactionData;
+            this.expiresAtNanos = expiresAtNanos;
+        }
+        
+        private boolean isExpired(long now) {
+            return now - expiresAtNanos >= 0;
+        }
+    }
 } 
\ No newline at end of file
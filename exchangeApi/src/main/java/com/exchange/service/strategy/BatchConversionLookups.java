@@ -0,0 +1,165 @@
+package com.exchange.service.strategy;
+
+import com.exchange.domain.dto.ConversionRequest;
+import com.exchange.domain.dto.KingdomInfo;
+import com.exchange.domain.dto.ProductInfo;
+import com.exchange.domain.entity.ExchangeRate;
+import com.exchange.domain.entity.ProductExchangeRate;
+import com.exchange.domain.exception.ConversionLookupException;
+import com.exchange.util.ConversionLookupExecutor;
+import com.exchange.util.LookupScope;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+/**
+ * Memoriza as buscas de um lote de conversões.
+ * Cada taxa, produto e reino distintos é buscado uma única vez por lote; exceções também
+ * são memorizadas, então itens repetidos recebem o mesmo resultado que o primeiro.
+ */
+@Slf4j
+public class BatchConversionLookups implements ConversionLookups {
+
+    private final ConversionLookups delegate;
+
+    private final ConcurrentHashMap<String, CompletableFuture<Object>> results = new ConcurrentHashMap<>();
+
+    public BatchConversionLookups(ConversionLookups delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public ProductInfo getProductInfo(Long productId) {
+        return memoize("product:" + productId, () -> delegate.getProductInfo(productId));
+    }
+
+    @Override
+    public KingdomInfo getKingdomInfo(Long kingdomId) {
+        return memoize("kingdom:" + kingdomId, () -> delegate.getKingdomInfo(kingdomId));
+    }
+
+    @Override
+    public ExchangeRate getActiveRate(String fromCurrencyPrefix, String toCurrencyPrefix) {
+        return memoize("rate:" + fromCurrencyPrefix + ":" + toCurrencyPrefix,
+            () -> delegate.getActiveRate(fromCurrencyPrefix, toCurrencyPrefix));
+    }
+
+    @Override
+    public ProductExchangeRate getActiveProductRate(Long productId, String fromCurrencyPrefix, String toCurrencyPrefix) {
+        return memoize("product-rate:" + productId + ":" + fromCurrencyPrefix + ":" + toCurrencyPrefix,
+            () -> delegate.getActiveProductRate(productId, fromCurrencyPrefix, toCurrencyPrefix));
+    }
+
+    @Override
+    public boolean isMemoized() {
+        return true;
+    }
+
+    /**
+     * Quantidade de buscas distintas feitas até agora
+     */
+    public int distinctLookups() {
+        return results.size();
+    }
+
+    /**
+     * Agrupa os requests por par de moedas, produto e reino e busca em paralelo o que ainda não está em memória.
+     * Falhas individuais ficam memorizadas e aparecem na conversão do item correspondente.
+     */
+    public void prefetch(Collection<ConversionRequest> requests, ConversionLookupExecutor lookupExecutor) {
+        if (!lookupExecutor.isEnabled()) {
+            return;
+        }
+
+        Set<String> seen = new HashSet<>();
+        List<Runnable> tasks = new ArrayList<>();
+        for (ConversionRequest request : requests) {
+            if (request == null || request.getFromCurrencyCode() == null || request.getToCurrencyCode() == null) {
+                continue;
+            }
+            String from = request.getFromCurrencyCode();
+            String to = request.getToCurrencyCode();
+            Long productId = request.getProductId();
+
+            if (seen.add("rate:" + from + ":" + to)) {
+                tasks.add(() -> getActiveRate(from, to));
+            }
+            if (productId != null && productId > 0) {
+                if (seen.add("product:" + productId)) {
+                    tasks.add(() -> {
+                        ProductInfo product = getProductInfo(productId);
+                        if (product != null) {
+                            getKingdomInfo(product.getKingdomId());
+                        }
+                    });
+                }
+                if (seen.add("product-rate:" + productId + ":" + from + ":" + to)) {
+                    tasks.add(() -> getActiveProductRate(productId, from, to));
+                }
+            } else if (request.getKingdomId() != null && seen.add("kingdom:" + request.getKingdomId())) {
+                tasks.add(() -> getKingdomInfo(request.getKingdomId()));
+            }
+        }
+
+        try (LookupScope scope = lookupExecutor.openScope()) {
+            List<Future<Void>> forks = new ArrayList<>(tasks.size());
+            for (Runnable task : tasks) {
+                forks.add(scope.fork(() -> {
+                    try {
+                        task.run();
+                    } catch (RuntimeException e) {
+                        // Já memorizada; será relançada na conversão do item
+                    }
+                    return null;
+                }));
+            }
+            for (Future<Void> fork : forks) {
+                scope.join(fork);
+            }
+        } catch (ConversionLookupException e) {
+            log.warn("Pré-carregamento do lote incompleto, itens restantes serão buscados sob demanda: {}", e.getMessage());
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T memoize(String key, Supplier<T> loader) {
+        CompletableFuture<Object> result = results.get(key);
+        if (result == null) {
+            CompletableFuture<Object> mine = new CompletableFuture<>();
+            result = results.putIfAbsent(key, mine);
+            if (result == null) {
+                result = mine;
+                try {
+                    mine.complete(loader.get());
+                } catch (RuntimeException | Error e) {
+                    if (e instanceof Error || Thread.currentThread().isInterrupted()) {
+                        // Busca cancelada pelo pré-carregamento: não memoriza, o item tenta de novo
+                        results.remove(key, mine);
+                    }
+                    mine.completeExceptionally(e);
+                }
+            }
+        }
+
+        try {
+            return (T) result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.exchange.service.strategy;
+
+import com.exchange.domain.dto.KingdomInfo;
+import com.exchange.domain.dto.ProductInfo;
+import com.exchange.domain.entity.ExchangeRate;
+import com.exchange.domain.entity.ProductExchangeRate;
+
+/**
+ * Dados externos de que as estratégias precisam para converter: produto, reino e taxas
+ */
+public interface ConversionLookups {
+
+    ProductInfo getProductInfo(Long productId);
+
+    KingdomInfo getKingdomInfo(Long kingdomId);
+
+    ExchangeRate getActiveRate(String fromCurrencyPrefix, String toCurrencyPrefix);
+
+    ProductExchangeRate getActiveProductRate(Long productId, String fromCurrencyPrefix, String toCurrencyPrefix);
+
+    /**
+     * Indica se as respostas já estão em memória, caso em que não vale a pena buscá-las em paralelo
+     */
+    default boolean isMemoized() {
+        return false;
+    }
+}
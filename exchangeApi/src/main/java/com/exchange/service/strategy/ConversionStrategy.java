@@ -10,6 +10,11 @@ public interface ConversionStrategy {
      */
     ConversionResponse convert(ConversionRequest request);
     
+    /**
+     * Executa a conversão buscando produto, reino e taxas pelas buscas informadas (ex.: memorizadas por lote)
+     */
+    ConversionResponse convert(ConversionRequest request, ConversionLookups lookups);
+    
     /**
      * Verifica se esta estratégia suporta o tipo de conversão solicitada
      */
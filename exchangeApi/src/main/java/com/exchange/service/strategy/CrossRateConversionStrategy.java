@@ -0,0 +1,139 @@
+package com.exchange.service.strategy;
+
+import com.exchange.cache.CurrencyGraph;
+import com.exchange.cache.CurrencyGraph.CrossRatePath;
+import com.exchange.cache.ExchangeRateSnapshotHolder;
+import com.exchange.domain.dto.ConversionRequest;
+import com.exchange.domain.dto.ConversionResponse;
+import com.exchange.domain.dto.KingdomInfo;
+import com.exchange.domain.dto.ProductInfo;
+import com.exchange.domain.entity.ExchangeRate;
+import com.exchange.domain.entity.ProductExchangeRate;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Optional;
+
+/**
+ * Conversão entre moedas sem taxa direta, usando a taxa cruzada do melhor caminho no grafo de moedas.
+ * Tem precedência sobre as demais estratégias, mas só se aplica quando o par não tem taxa ativa;
+ * o cálculo em si é delegado à estratégia padrão ou de produto com a taxa cruzada no lugar da direta.
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class CrossRateConversionStrategy implements ConversionStrategy {
+
+    /**
+     * Escala da taxa cruzada aplicada na conversão (a busca compara o produto exato)
+     */
+    public static final int CROSS_RATE_SCALE = 8;
+
+    @Autowired
+    private DirectConversionLookups directLookups;
+
+    @Autowired
+    private StandardConversionStrategy standardStrategy;
+
+    @Autowired
+    private ProductConversionStrategy productStrategy;
+
+    @Autowired
+    private ExchangeRateSnapshotHolder snapshotHolder;
+
+    @Autowired
+    private CurrencyGraph currencyGraph;
+
+    @Override
+    public ConversionResponse convert(ConversionRequest request) {
+        return convert(request, directLookups);
+    }
+
+    @Override
+    public ConversionResponse convert(ConversionRequest request, ConversionLookups lookups) {
+        Optional<CrossRatePath> path = currencyGraph.findPath(
+            request.getFromCurrencyCode(), request.getToCurrencyCode());
+        if (path.isEmpty()) {
+            // A taxa pode ter mudado desde supports(): segue pelo caminho normal
+            return delegateFor(request).convert(request, lookups);
+        }
+
+        log.debug("Convertendo {} → {} pela taxa cruzada {} ({})",
+            request.getFromCurrencyCode(), request.getToCurrencyCode(),
+            path.get().getRate(), path.get().getPrefixes());
+
+        ConversionResponse response = delegateFor(request).convert(request, new CrossRateLookups(lookups, path.get()));
+        response.setConversionPath(path.get().getPrefixes());
+        return response;
+    }
+
+    @Override
+    public boolean supports(ConversionRequest request) {
+        String from = request.getFromCurrencyCode();
+        String to = request.getToCurrencyCode();
+        if (from == null || to == null || snapshotHolder.current().hasRate(from, to)) {
+            return false;
+        }
+        return currencyGraph.findPath(from, to).isPresent();
+    }
+
+    private ConversionStrategy delegateFor(ConversionRequest request) {
+        return standardStrategy.supports(request) ? standardStrategy : productStrategy;
+    }
+
+    /**
+     * Lookups que respondem a taxa do par solicitado com a taxa cruzada do caminho
+     */
+    private static final class CrossRateLookups implements ConversionLookups {
+        private final ConversionLookups delegate;
+        private final CrossRatePath path;
+        private final ExchangeRate crossRate;
+
+        private CrossRateLookups(ConversionLookups delegate, CrossRatePath path) {
+            this.delegate = delegate;
+            this.path = path;
+            BigDecimal rate = path.getRate().setScale(CROSS_RATE_SCALE, RoundingMode.HALF_UP);
+            this.crossRate = new ExchangeRate(
+                path.getPrefixes().get(0), path.getPrefixes().get(path.getHops()), rate);
+        }
+
+        @Override
+        public ProductInfo getProductInfo(Long productId) {
+            return delegate.getProductInfo(productId);
+        }
+
+        @Override
+        public KingdomInfo getKingdomInfo(Long kingdomId) {
+            return delegate.getKingdomInfo(kingdomId);
+        }
+
+        @Override
+        public ExchangeRate getActiveRate(String fromCurrencyPrefix, String toCurrencyPrefix) {
+            if (crossRate.getFromCurrencyPrefix().equals(fromCurrencyPrefix)
+                && crossRate.getToCurrencyPrefix().equals(toCurrencyPrefix)) {
+                return crossRate;
+            }
+            return delegate.getActiveRate(fromCurrencyPrefix, toCurrencyPrefix);
+        }
+
+        @Override
+        public ProductExchangeRate getActiveProductRate(Long productId, String fromCurrencyPrefix, String toCurrencyPrefix) {
+            return delegate.getActiveProductRate(productId, fromCurrencyPrefix, toCurrencyPrefix);
+        }
+
+        @Override
+        public boolean isMemoized() {
+            return delegate.isMemoized();
+        }
+
+        @Override
+        public String toString() {
+            return "CrossRateLookups" + path.getPrefixes();
+        }
+    }
+}
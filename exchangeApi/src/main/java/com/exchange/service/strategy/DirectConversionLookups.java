@@ -0,0 +1,47 @@
+package com.exchange.service.strategy;
+
+import com.exchange.domain.dto.KingdomInfo;
+import com.exchange.domain.dto.ProductInfo;
+import com.exchange.domain.entity.ExchangeRate;
+import com.exchange.domain.entity.ProductExchangeRate;
+import com.exchange.service.ExchangeRateService;
+import com.exchange.service.ProductApiService;
+import com.exchange.service.ProductExchangeRateService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Busca cada dado diretamente nos serviços, a cada chamada
+ */
+@Component
+public class DirectConversionLookups implements ConversionLookups {
+
+    @Autowired
+    private ProductApiService productApiService;
+
+    @Autowired
+    private ExchangeRateService exchangeRateService;
+
+    @Autowired
+    private ProductExchangeRateService productExchangeRateService;
+
+    @Override
+    public ProductInfo getProductInfo(Long productId) {
+        return productApiService.getProductInfo(productId);
+    }
+
+    @Override
+    public KingdomInfo getKingdomInfo(Long kingdomId) {
+        return productApiService.getKingdomInfo(kingdomId);
+    }
+
+    @Override
+    public ExchangeRate getActiveRate(String fromCurrencyPrefix, String toCurrencyPrefix) {
+        return exchangeRateService.getActiveRate(fromCurrencyPrefix, toCurrencyPrefix);
+    }
+
+    @Override
+    public ProductExchangeRate getActiveProductRate(Long productId, String fromCurrencyPrefix, String toCurrencyPrefix) {
+        return productExchangeRateService.getActiveProductRate(productId, fromCurrencyPrefix, toCurrencyPrefix);
+    }
+}
@@ -2,55 +2,63 @@ package com.exchange.service.strategy;
 
 import com.exchange.domain.dto.ConversionRequest;
 import com.exchange.domain.dto.ConversionResponse;
+import com.exchange.domain.dto.KingdomInfo;
+import com.exchange.domain.dto.ProductInfo;
 import com.exchange.domain.entity.ExchangeRate;
 import com.exchange.domain.entity.ProductExchangeRate;
 import com.exchange.domain.enums.TransactionStatus;
-import com.exchange.service.ExchangeRateService;
-import com.exchange.service.ProductExchangeRateService;
-import com.exchange.service.ProductApiService;
 import com.exchange.service.impl.RiskAnalysisServiceImpl;
 import com.exchange.util.ConversionCalculator;
+import com.exchange.util.ConversionLookupExecutor;
+import com.exchange.util.LookupScope;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.util.List;
+import java.util.concurrent.Future;
 
 @Component
 public class ProductConversionStrategy implements ConversionStrategy {
     
     @Autowired
-    private ExchangeRateService exchangeRateService;
-    
-    @Autowired
-    private ProductExchangeRateService productExchangeRateService;
+    private DirectConversionLookups directLookups;
     
     @Autowired
     private RiskAnalysisServiceImpl riskAnalysisService;
     
     @Autowired
-    private ProductApiService productApiService;
+    private ConversionCalculator conversionCalculator;
     
     @Autowired
-    private ConversionCalculator conversionCalculator;
+    private ConversionLookupExecutor lookupExecutor;
     
     @Override
     public ConversionResponse convert(ConversionRequest request) {
+        return convert(request, directLookups);
+    }
+    
+    @Override
+    public ConversionResponse convert(ConversionRequest request, ConversionLookups lookups) {
+        if (lookupExecutor.isEnabled() && !lookups.isMemoized()) {
+            return convertWithParallelLookups(request, lookups);
+        }
+        
         // Buscar informações do produto
-        var productInfo = productApiService.getProductInfo(request.getProductId());
+        var productInfo = lookups.getProductInfo(request.getProductId());
         if (productInfo == null) {
             return createErrorResponse("Produto não encontrado: " + request.getProductId());
         }
         
         // Buscar informações do reino
-        var kingdomInfo = productApiService.getKingdomInfo(productInfo.getKingdomId());
+        var kingdomInfo = lookups.getKingdomInfo(productInfo.getKingdomId());
         if (kingdomInfo == null) {
             return createErrorResponse("Reino não encontrado: " + productInfo.getKingdomId());
         }
         
         // Buscar taxa de câmbio base
-        ExchangeRate baseRate = exchangeRateService.getActiveRate(
+        ExchangeRate baseRate = lookups.getActiveRate(
             request.getFromCurrencyCode(), 
             request.getToCurrencyCode()
         );
@@ -60,12 +68,60 @@ public class ProductConversionStrategy implements ConversionStrategy {
         }
         
         // Buscar multiplicador específico do produto
-        ProductExchangeRate productRate = productExchangeRateService.getActiveProductRate(
+        ProductExchangeRate productRate = lookups.getActiveProductRate(
             request.getProductId(),
             request.getFromCurrencyCode(),
             request.getToCurrencyCode()
         );
         
+        return calculate(request, productInfo, kingdomInfo, baseRate, productRate);
+    }
+    
+    /**
+     * Busca produto → reino em cadeia e, em paralelo a ela, a taxa base e a taxa do produto.
+     * Os resultados são avaliados na mesma ordem da busca sequencial para manter as mesmas respostas de erro.
+     */
+    private ConversionResponse convertWithParallelLookups(ConversionRequest request, ConversionLookups lookups) {
+        try (LookupScope scope = lookupExecutor.openScope()) {
+            Future<ProductInfo> productFuture = scope.fork(() ->
+                lookups.getProductInfo(request.getProductId()));
+            Future<KingdomInfo> kingdomFuture = scope.fork(() -> {
+                ProductInfo product = productFuture.get();
+                return product != null ? lookups.getKingdomInfo(product.getKingdomId()) : null;
+            });
+            Future<ExchangeRate> baseRateFuture = scope.fork(() -> lookups.getActiveRate(
+                request.getFromCurrencyCode(),
+                request.getToCurrencyCode()
+            ));
+            Future<ProductExchangeRate> productRateFuture = scope.fork(() -> lookups.getActiveProductRate(
+                request.getProductId(),
+                request.getFromCurrencyCode(),
+                request.getToCurrencyCode()
+            ));
+            
+            ProductInfo productInfo = scope.join(productFuture);
+            if (productInfo == null) {
+                return createErrorResponse("Produto não encontrado: " + request.getProductId());
+            }
+            
+            KingdomInfo kingdomInfo = scope.join(kingdomFuture);
+            if (kingdomInfo == null) {
+                return createErrorResponse("Reino não encontrado: " + productInfo.getKingdomId());
+            }
+            
+            ExchangeRate baseRate = scope.join(baseRateFuture);
+            if (baseRate == null) {
+                return createErrorResponse("Taxa de câmbio base não encontrada");
+            }
+            
+            ProductExchangeRate productRate = scope.join(productRateFuture);
+            
+            return calculate(request, productInfo, kingdomInfo, baseRate, productRate);
+        }
+    }
+    
+    private ConversionResponse calculate(ConversionRequest request, ProductInfo productInfo, KingdomInfo kingdomInfo,
+                                         ExchangeRate baseRate, ProductExchangeRate productRate) {
         // Calcular conversão usando o utilitário
         BigDecimal originalQuantity = BigDecimal.valueOf(request.getQuantityProduct());
         BigDecimal convertedAmount = conversionCalculator.calculateProductConversion(
@@ -2,14 +2,15 @@ package com.exchange.service.strategy;
 
 import com.exchange.domain.dto.ConversionRequest;
 import com.exchange.domain.dto.ConversionResponse;
+import com.exchange.domain.dto.KingdomInfo;
 import com.exchange.domain.entity.Currency;
 import com.exchange.domain.entity.ExchangeRate;
 import com.exchange.domain.enums.TransactionStatus;
-import com.exchange.service.ExchangeRateService;
-import com.exchange.service.ProductApiService;
 import com.exchange.service.RiskAnalysisService;
 import com.exchange.service.impl.RiskAnalysisServiceImpl;
 import com.exchange.util.ConversionCalculator;
+import com.exchange.util.ConversionLookupExecutor;
+import com.exchange.util.LookupScope;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
@@ -18,32 +19,42 @@ import java.math.RoundingMode;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Future;
 
 @Component
 public class StandardConversionStrategy implements ConversionStrategy {
     
     @Autowired
-    private ExchangeRateService exchangeRateService;
+    private DirectConversionLookups directLookups;
     
     @Autowired
     private RiskAnalysisServiceImpl riskAnalysisService;
     
     @Autowired
-    private ProductApiService productApiService;
+    private ConversionCalculator conversionCalculator;
     
     @Autowired
-    private ConversionCalculator conversionCalculator;
+    private ConversionLookupExecutor lookupExecutor;
     
     @Override
     public ConversionResponse convert(ConversionRequest request) {
+        return convert(request, directLookups);
+    }
+    
+    @Override
+    public ConversionResponse convert(ConversionRequest request, ConversionLookups lookups) {
+        if (lookupExecutor.isEnabled() && !lookups.isMemoized()) {
+            return convertWithParallelLookups(request, lookups);
+        }
+        
         // Buscar informações do reino
-        var kingdomInfo = productApiService.getKingdomInfo(request.getKingdomId());
+        var kingdomInfo = lookups.getKingdomInfo(request.getKingdomId());
         if (kingdomInfo == null) {
             return createErrorResponse("Reino não encontrado: " + request.getKingdomId());
         }
         
         // Buscar taxa de câmbio
-        ExchangeRate exchangeRate = exchangeRateService.getActiveRate(
+        ExchangeRate exchangeRate = lookups.getActiveRate(
             request.getFromCurrencyCode(), 
             request.getToCurrencyCode()
         );
@@ -52,6 +63,36 @@ public class StandardConversionStrategy implements ConversionStrategy {
             return createErrorResponse("Taxa de câmbio não encontrada para o período solicitado");
         }
         
+        return calculate(request, kingdomInfo, exchangeRate);
+    }
+    
+    /**
+     * Busca reino e taxa de câmbio ao mesmo tempo
+     */
+    private ConversionResponse convertWithParallelLookups(ConversionRequest request, ConversionLookups lookups) {
+        try (LookupScope scope = lookupExecutor.openScope()) {
+            Future<KingdomInfo> kingdomFuture = scope.fork(() ->
+                lookups.getKingdomInfo(request.getKingdomId()));
+            Future<ExchangeRate> rateFuture = scope.fork(() -> lookups.getActiveRate(
+                request.getFromCurrencyCode(),
+                request.getToCurrencyCode()
+            ));
+            
+            KingdomInfo kingdomInfo = scope.join(kingdomFuture);
+            if (kingdomInfo == null) {
+                return createErrorResponse("Reino não encontrado: " + request.getKingdomId());
+            }
+            
+            ExchangeRate exchangeRate = scope.join(rateFuture);
+            if (exchangeRate == null) {
+                return createErrorResponse("Taxa de câmbio não encontrada para o período solicitado");
+            }
+            
+            return calculate(request, kingdomInfo, exchangeRate);
+        }
+    }
+    
+    private ConversionResponse calculate(ConversionRequest request, KingdomInfo kingdomInfo, ExchangeRate exchangeRate) {
         // Calcular conversão usando o utilitário
         BigDecimal originalQuantity = BigDecimal.valueOf(request.getQuantityCurrency());
         BigDecimal convertedAmount = conversionCalculator.calculateCurrencyConversion(
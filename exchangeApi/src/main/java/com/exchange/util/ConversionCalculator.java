@@ -1,9 +1,14 @@
 package com.exchange.util;
 
+import com.exchange.cache.KingdomQuoteBoard;
+import com.exchange.cache.ProductMultiplierTable;
+import com.exchange.cache.ProductMultiplierTable.EffectiveRate;
 import com.exchange.domain.dto.ProductInfo;
 import com.exchange.domain.dto.KingdomInfo;
 import com.exchange.domain.entity.ExchangeRate;
 import com.exchange.domain.entity.ProductExchangeRate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import java.math.BigDecimal;
@@ -12,6 +17,25 @@ import java.math.RoundingMode;
 @Component
 public class ConversionCalculator {
     
+    /**
+     * Bônus aplicado quando o reino é owner
+     */
+    public static final BigDecimal OWNER_BONUS = new BigDecimal("1.1");
+    
+    private static final int AMOUNT_SCALE = 2;
+    
+    @Autowired
+    private ProductMultiplierTable multiplierTable;
+    
+    @Autowired
+    private KingdomQuoteBoard quoteBoard;
+    
+    @Value("${app.conversion.fixed-point.enabled:false}")
+    private boolean fixedPointEnabled;
+    
+    @Value("${app.conversion.quote-board.enabled:true}")
+    private boolean quoteBoardEnabled;
+    
     /**
      * Calcula conversão de moeda considerando dados do reino
      */
@@ -20,11 +44,29 @@ public class ConversionCalculator {
             ExchangeRate exchangeRate,
             KingdomInfo kingdomInfo) {
         
+        if (quoteBoardEnabled) {
+            // Taxa já combinada com a qualidade do reino e o bônus de owner
+            EffectiveRate effectiveRate = quoteBoard.quote(
+                    exchangeRate.getFromCurrencyPrefix(),
+                    exchangeRate.getToCurrencyPrefix(),
+                    exchangeRate.getRate(),
+                    kingdomInfo);
+            return applyEffectiveRate(originalQuantity, effectiveRate);
+        }
+        
         // Calcular multiplicadores baseados no reino
         BigDecimal kingdomQualityMultiplier = kingdomInfo.getQualityRate();
         
         // Aplicar bônus se o reino for owner
-        BigDecimal ownerBonus = kingdomInfo.getIsOwner() ? new BigDecimal("1.1") : BigDecimal.ONE;
+        BigDecimal ownerBonus = kingdomInfo.getIsOwner() ? OWNER_BONUS : BigDecimal.ONE;
+        
+        if (fixedPointEnabled) {
+            BigDecimal fixed = fixedCurrencyConversion(
+                    originalQuantity, exchangeRate.getRate(), kingdomQualityMultiplier, ownerBonus);
+            if (fixed != null) {
+                return fixed;
+            }
+        }
         
         // Calcular conversão com multiplicadores do reino
         return originalQuantity
@@ -53,22 +95,53 @@ public class ConversionCalculator {
             productMultiplier = productRate.getProductMultiplier();
         }
         
-        // Calcular multiplicadores baseados no produto e reino
-        BigDecimal demandMultiplier = productInfo.getDemandQuantifier();
-        BigDecimal qualityMultiplier = productInfo.getQualityQualifier();
-        BigDecimal kingdomQualityMultiplier = kingdomInfo.getQualityRate();
+        // Taxa já combinada com multiplicadores do produto, do reino e bônus de owner
+        EffectiveRate effectiveRate = multiplierTable.effectiveRate(
+                baseRate.getFromCurrencyPrefix(),
+                baseRate.getToCurrencyPrefix(),
+                finalRate,
+                productMultiplier,
+                productInfo,
+                kingdomInfo);
         
-        // Aplicar bônus se o reino for owner
-        BigDecimal ownerBonus = kingdomInfo.getIsOwner() ? new BigDecimal("1.1") : BigDecimal.ONE;
+        return applyEffectiveRate(originalQuantity, effectiveRate);
+    }
+    
+    /**
+     * quantidade × taxa efetiva, arredondada em AMOUNT_SCALE casas
+     */
+    private BigDecimal applyEffectiveRate(BigDecimal originalQuantity, EffectiveRate effectiveRate) {
+        if (fixedPointEnabled && effectiveRate.isFixed() && FixedPointMoney.fits(originalQuantity)) {
+            long amount = FixedPointMoney.multiplyAndRound(
+                    FixedPointMoney.unscaled(originalQuantity), originalQuantity.scale(),
+                    effectiveRate.getUnscaled(), effectiveRate.getScale(),
+                    AMOUNT_SCALE);
+            if (amount != FixedPointMoney.OVERFLOW) {
+                return FixedPointMoney.toBigDecimal(amount, AMOUNT_SCALE);
+            }
+        }
         
-        // Calcular conversão com todos os multiplicadores
         return originalQuantity
-                .multiply(finalRate)
-                .multiply(productMultiplier)
-                .multiply(demandMultiplier)
-                .multiply(qualityMultiplier)
-                .multiply(kingdomQualityMultiplier)
-                .multiply(ownerBonus)
+                .multiply(effectiveRate.getValue())
                 .setScale(2, RoundingMode.HALF_UP);
     }
+    
+    /**
+     * quantidade × taxa × qualidade do reino × bônus em ponto fixo; null quando algum valor não cabe em long
+     */
+    private BigDecimal fixedCurrencyConversion(BigDecimal quantity, BigDecimal rate,
+                                               BigDecimal kingdomQuality, BigDecimal ownerBonus) {
+        if (!FixedPointMoney.fits(quantity) || !FixedPointMoney.fits(rate)
+                || !FixedPointMoney.fits(kingdomQuality) || !FixedPointMoney.fits(ownerBonus)) {
+            return null;
+        }
+        
+        long product = FixedPointMoney.multiply(FixedPointMoney.unscaled(quantity), FixedPointMoney.unscaled(rate));
+        product = FixedPointMoney.multiply(product, FixedPointMoney.unscaled(kingdomQuality));
+        product = FixedPointMoney.multiply(product, FixedPointMoney.unscaled(ownerBonus));
+        int scale = quantity.scale() + rate.scale() + kingdomQuality.scale() + ownerBonus.scale();
+        
+        long amount = FixedPointMoney.rescale(product, scale, AMOUNT_SCALE);
+        return amount != FixedPointMoney.OVERFLOW ? FixedPointMoney.toBigDecimal(amount, AMOUNT_SCALE) : null;
+    }
 } 
\ No newline at end of file
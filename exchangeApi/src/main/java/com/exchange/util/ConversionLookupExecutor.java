@@ -0,0 +1,40 @@
+package com.exchange.util;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Executor de virtual threads usado pelas estratégias para buscar produto, reino e taxas em paralelo
+ */
+@Component
+public class ConversionLookupExecutor {
+
+    @Value("${app.conversion.parallel-lookups.enabled:false}")
+    private boolean enabled;
+
+    @Value("${app.conversion.parallel-lookups.timeout:5s}")
+    private Duration timeout;
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Abre um escopo de buscas com o prazo configurado
+     */
+    public LookupScope openScope() {
+        return new LookupScope(executor, timeout.toNanos());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,126 @@
+package com.exchange.util;
+
+import java.math.BigDecimal;
+
+/**
+ * Aritmética de ponto fixo em long para o caminho quente de conversão e risco.
+ * Um valor é o par (unscaled, scale), como no BigDecimal, mas sem alocação a cada operação.
+ * Toda operação que não cabe em long devolve OVERFLOW, e quem chama refaz a conta em BigDecimal.
+ * Os arredondamentos seguem HALF_UP, com o mesmo resultado de setScale/divide do BigDecimal.
+ */
+public final class FixedPointMoney {
+
+    /**
+     * Marca de resultado fora do intervalo de long
+     */
+    public static final long OVERFLOW = Long.MIN_VALUE;
+
+    /**
+     * Maior escala/precisão representável sem perda em long
+     */
+    public static final int MAX_DIGITS = 18;
+
+    private static final long[] POWERS_OF_TEN = new long[MAX_DIGITS + 1];
+
+    static {
+        long power = 1;
+        for (int i = 0; i <= MAX_DIGITS; i++) {
+            POWERS_OF_TEN[i] = power;
+            power *= 10;
+        }
+    }
+
+    private FixedPointMoney() {
+    }
+
+    /**
+     * Indica se o BigDecimal cabe em (long, scale) sem perda
+     */
+    public static boolean fits(BigDecimal value) {
+        return value != null
+            && value.scale() >= 0
+            && value.scale() <= MAX_DIGITS
+            && value.precision() <= MAX_DIGITS;
+    }
+
+    /**
+     * Valor sem escala de um BigDecimal que satisfaz fits()
+     */
+    public static long unscaled(BigDecimal value) {
+        return value.scale() == 0 ? value.longValue() : value.unscaledValue().longValue();
+    }
+
+    public static BigDecimal toBigDecimal(long unscaled, int scale) {
+        return BigDecimal.valueOf(unscaled, scale);
+    }
+
+    /**
+     * Produto exato; a escala do resultado é a soma das escalas
+     */
+    public static long multiply(long a, long b) {
+        if (a == OVERFLOW || b == OVERFLOW) {
+            return OVERFLOW;
+        }
+        long high = Math.multiplyHigh(a, b);
+        long low = a * b;
+        // O produto cabe em long quando a parte alta é só a extensão de sinal da parte baixa
+        return high == (low >> 63) ? low : OVERFLOW;
+    }
+
+    public static long subtract(long a, long b) {
+        if (a == OVERFLOW || b == OVERFLOW) {
+            return OVERFLOW;
+        }
+        long result = a - b;
+        // Overflow quando os operandos têm sinais diferentes e o resultado tem o sinal do subtraendo
+        if (((a ^ b) & (a ^ result)) < 0) {
+            return OVERFLOW;
+        }
+        return result;
+    }
+
+    /**
+     * Equivalente a setScale(toScale, HALF_UP)
+     */
+    public static long rescale(long unscaled, int fromScale, int toScale) {
+        if (unscaled == OVERFLOW) {
+            return OVERFLOW;
+        }
+        if (toScale == fromScale) {
+            return unscaled;
+        }
+        if (toScale > fromScale) {
+            int shift = toScale - fromScale;
+            return shift > MAX_DIGITS ? OVERFLOW : multiply(unscaled, POWERS_OF_TEN[shift]);
+        }
+        int shift = fromScale - toScale;
+        return shift > MAX_DIGITS ? OVERFLOW : divide(unscaled, POWERS_OF_TEN[shift]);
+    }
+
+    /**
+     * Quociente inteiro arredondado HALF_UP (meio se afasta do zero)
+     */
+    public static long divide(long numerator, long denominator) {
+        if (numerator == OVERFLOW || denominator == OVERFLOW || denominator == 0) {
+            return OVERFLOW;
+        }
+        long quotient = numerator / denominator;
+        long remainder = numerator % denominator;
+        if (remainder != 0) {
+            // |resto| < |divisor| <= Long.MAX_VALUE, então comparar |resto| com |divisor| - |resto| não estoura
+            long absRemainder = Math.abs(remainder);
+            long absDenominator = Math.abs(denominator);
+            if (absRemainder >= absDenominator - absRemainder) {
+                quotient += (numerator < 0) == (denominator < 0) ? 1 : -1;
+            }
+        }
+        return quotient;
+    }
+
+    /**
+     * a × b arredondado HALF_UP para targetScale
+     */
+    public static long multiplyAndRound(long a, int aScale, long b, int bScale, int targetScale) {
+        return rescale(multiply(a, b), aScale + bScale, targetScale);
+    }
+}
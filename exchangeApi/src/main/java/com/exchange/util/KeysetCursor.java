@@ -0,0 +1,82 @@
+package com.exchange.util;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+import java.util.Base64;
+
+/**
+ * Cursor opaco de paginação por keyset: created_at da última linha devolvida mais as colunas
+ * da chave que desempatam a ordenação. Para o cliente é só uma string base64 a reenviar.
+ */
+public final class KeysetCursor {
+
+    /**
+     * Maior fatia aceita por requisição
+     */
+    public static final int MAX_SLICE_SIZE = 100;
+
+    private static final int DEFAULT_SLICE_SIZE = 20;
+
+    private static final char SEPARATOR = '|';
+
+    private final LocalDateTime createdAt;
+    private final String[] keys;
+
+    private KeysetCursor(LocalDateTime createdAt, String[] keys) {
+        this.createdAt = createdAt;
+        this.keys = keys;
+    }
+
+    public static String encode(LocalDateTime createdAt, Object... keys) {
+        StringBuilder value = new StringBuilder(createdAt.toString());
+        for (Object key : keys) {
+            value.append(SEPARATOR).append(key);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Lê um cursor com keyCount colunas de chave. Cursor malformado lança IllegalArgumentException
+     */
+    public static KeysetCursor decode(String cursor, int keyCount) {
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = value.split("\\" + SEPARATOR, -1);
+            if (parts.length != keyCount + 1 || Arrays.stream(parts).anyMatch(String::isEmpty)) {
+                throw new IllegalArgumentException("Cursor inválido: " + cursor);
+            }
+            return new KeysetCursor(LocalDateTime.parse(parts[0]), Arrays.copyOfRange(parts, 1, parts.length));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            // Base64 ou data malformados
+            throw new IllegalArgumentException("Cursor inválido: " + cursor, e);
+        }
+    }
+
+    /**
+     * Tamanho de fatia informado pelo cliente, limitado a 1..MAX_SLICE_SIZE
+     */
+    public static int sliceSize(Integer requested) {
+        if (requested == null) {
+            return DEFAULT_SLICE_SIZE;
+        }
+        return Math.max(1, Math.min(requested, MAX_SLICE_SIZE));
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public String key(int index) {
+        return keys[index];
+    }
+
+    public long longKey(int index) {
+        try {
+            return Long.parseLong(keys[index]);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Cursor inválido: chave " + keys[index] + " não é numérica", e);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.exchange.util;
+
+import com.exchange.domain.exception.ConversionLookupException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Escopo de buscas concorrentes de uma conversão.
+ * Todas as buscas compartilham o mesmo prazo; uma falha, um timeout ou o fechamento
+ * do escopo cancelam (com interrupção) as buscas que ainda estiverem rodando.
+ */
+public final class LookupScope implements AutoCloseable {
+
+    private final ExecutorService executor;
+    private final long deadlineNanos;
+    private final List<Future<?>> forks = new ArrayList<>();
+
+    LookupScope(ExecutorService executor, long timeoutNanos) {
+        this.executor = executor;
+        this.deadlineNanos = System.nanoTime() + timeoutNanos;
+    }
+
+    /**
+     * Inicia uma busca em paralelo
+     */
+    public <T> Future<T> fork(Callable<T> task) {
+        Future<T> future = executor.submit(task);
+        forks.add(future);
+        return future;
+    }
+
+    /**
+     * Aguarda o resultado de uma busca respeitando o prazo do escopo.
+     * Exceções da busca são relançadas como se ela tivesse rodado na thread atual.
+     */
+    public <T> T join(Future<T> future) {
+        long remaining = deadlineNanos - System.nanoTime();
+        try {
+            return future.get(Math.max(0, remaining), TimeUnit.NANOSECONDS);
+        } catch (ExecutionException e) {
+            cancelAll();
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new ConversionLookupException("Erro ao buscar dados da conversão: " + cause.getMessage(), cause);
+        } catch (TimeoutException e) {
+            cancelAll();
+            throw new ConversionLookupException("Tempo esgotado ao buscar dados da conversão", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            cancelAll();
+            throw new ConversionLookupException("Busca de dados da conversão interrompida", e);
+        }
+    }
+
+    @Override
+    public void close() {
+        cancelAll();
+    }
+
+    private void cancelAll() {
+        for (Future<?> fork : forks) {
+            if (!fork.isDone()) {
+                fork.cancel(true);
+            }
+        }
+    }
+}
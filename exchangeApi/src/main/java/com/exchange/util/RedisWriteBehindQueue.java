@@ -0,0 +1,299 @@
+package com.exchange.util;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Escrita adiada (write-behind) de valores com TTL no Redis.
+ * Quem escreve só enfileira e recebe um future que completa quando o valor foi gravado;
+ * uma thread dedicada agrupa as escritas concorrentes em pipelines, enviados ao atingir
+ * batch-size itens ou flush-interval desde o primeiro item do grupo.
+ * Enquanto não são gravados, os valores ficam visíveis para leitura em {@link #pendingValue(String)}.
+ * Com a fila cheia, quem escreve espera até enqueue-timeout e então grava de forma síncrona.
+ */
+@Slf4j
+@Component
+public class RedisWriteBehindQueue {
+
+    private static final Duration DISCARD_WAIT = Duration.ofSeconds(2);
+
+    @Autowired
+    private RedisTemplate<String, Object> redisTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.transactions.write-behind.enabled:false}")
+    private boolean enabled;
+
+    @Value("${app.transactions.write-behind.queue-capacity:10000}")
+    private int queueCapacity;
+
+    @Value("${app.transactions.write-behind.batch-size:256}")
+    private int batchSize;
+
+    @Value("${app.transactions.write-behind.flush-interval:5ms}")
+    private Duration flushInterval;
+
+    @Value("${app.transactions.write-behind.enqueue-timeout:100ms}")
+    private Duration enqueueTimeout;
+
+    private BlockingQueue<PendingWrite> queue;
+
+    private final ConcurrentHashMap<String, PendingWrite> pendingByKey = new ConcurrentHashMap<>();
+
+    private volatile boolean running;
+
+    private Thread flusher;
+
+    private Timer flushTimer;
+
+    private Counter flushedWrites;
+
+    private Counter failedWrites;
+
+    private Counter synchronousWrites;
+
+    @PostConstruct
+    void start() {
+        if (!enabled) {
+            return;
+        }
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        flushTimer = Timer.builder("redis.write_behind.flush").register(meterRegistry);
+        flushedWrites = Counter.builder("redis.write_behind.writes").tag("result", "flushed").register(meterRegistry);
+        failedWrites = Counter.builder("redis.write_behind.writes").tag("result", "failed").register(meterRegistry);
+        synchronousWrites = Counter.builder("redis.write_behind.writes").tag("result", "synchronous").register(meterRegistry);
+        meterRegistry.gauge("redis.write_behind.queue", queue, BlockingQueue::size);
+
+        running = true;
+        flusher = Thread.ofPlatform().daemon().name("redis-write-behind").start(this::runFlusher);
+        log.info("Escrita adiada no Redis ativa: capacidade {}, lote {}, intervalo {}", queueCapacity, batchSize, flushInterval);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Enfileira a gravação de key com TTL. O future completa quando o valor está no Redis
+     * e completa com erro se a gravação falhar
+     */
+    public CompletableFuture<Void> enqueue(String key, Object value, Duration ttl) {
+        PendingWrite write = new PendingWrite(key, value, ttl);
+        if (!enabled) {
+            return writeSynchronously(write);
+        }
+
+        pendingByKey.put(key, write);
+        try {
+            if (running && queue.offer(write, enqueueTimeout.toNanos(), TimeUnit.NANOSECONDS)) {
+                return write.durable;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        // Redis não acompanha o ritmo das escritas (ou a fila foi encerrada): grava no próprio chamador
+        synchronousWrites.increment();
+        CompletableFuture<Void> result = writeSynchronously(write);
+        pendingByKey.remove(key, write);
+        return result;
+    }
+
+    /**
+     * Valor ainda não gravado para key, ou null
+     */
+    public Object pendingValue(String key) {
+        PendingWrite write = pendingByKey.get(key);
+        return write != null ? write.value : null;
+    }
+
+    /**
+     * Descarta a escrita pendente de key. Se ela já estiver sendo gravada, espera a gravação terminar,
+     * para que uma remoção feita em seguida não seja sobrescrita
+     */
+    public void discard(String key) {
+        PendingWrite write = pendingByKey.remove(key);
+        if (write == null) {
+            return;
+        }
+        try {
+            write.durable.get(DISCARD_WAIT.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (TimeoutException | ExecutionException e) {
+            log.debug("Escrita pendente de {} não confirmada antes do descarte: {}", key, e.getMessage());
+        }
+    }
+
+    /**
+     * Espera a escrita pendente de key chegar ao Redis, se houver uma
+     */
+    public void awaitDurable(String key) {
+        PendingWrite write = pendingByKey.get(key);
+        if (write == null) {
+            return;
+        }
+        try {
+            write.durable.get(DISCARD_WAIT.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (TimeoutException | ExecutionException e) {
+            log.debug("Escrita pendente de {} não confirmada: {}", key, e.getMessage());
+        }
+    }
+
+    public int queueDepth() {
+        return queue != null ? queue.size() : 0;
+    }
+
+    @PreDestroy
+    void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        flusher.interrupt();
+        try {
+            flusher.join(Duration.ofSeconds(5).toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        // Grava o que ficou na fila antes de encerrar
+        List<PendingWrite> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        if (!remaining.isEmpty()) {
+            flush(remaining);
+        }
+    }
+
+    private void runFlusher() {
+        List<PendingWrite> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                PendingWrite first = queue.poll(1, TimeUnit.SECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+
+                long deadline = System.nanoTime() + flushInterval.toNanos();
+                while (batch.size() < batchSize) {
+                    if (queue.drainTo(batch, batchSize - batch.size()) > 0) {
+                        continue;
+                    }
+                    PendingWrite next = queue.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+            } catch (InterruptedException e) {
+                if (!running) {
+                    break;
+                }
+            }
+
+            if (!batch.isEmpty()) {
+                flush(batch);
+                batch.clear();
+            }
+        }
+
+        if (!batch.isEmpty()) {
+            flush(batch);
+        }
+    }
+
+    /**
+     * Grava o grupo em um único pipeline. Escritas descartadas ou substituídas enquanto estavam
+     * na fila são ignoradas
+     */
+    private void flush(List<PendingWrite> batch) {
+        List<PendingWrite> live = new ArrayList<>(batch.size());
+        for (PendingWrite write : batch) {
+            if (pendingByKey.get(write.key) == write) {
+                live.add(write);
+            } else {
+                write.durable.complete(null);
+            }
+        }
+        if (live.isEmpty()) {
+            return;
+        }
+
+        long start = System.nanoTime();
+        try {
+            redisTemplate.executePipelined(new SessionCallback<Object>() {
+                @Override
+                @SuppressWarnings("unchecked")
+                public <K, V> Object execute(RedisOperations<K, V> operations) throws DataAccessException {
+                    RedisOperations<String, Object> ops = (RedisOperations<String, Object>) operations;
+                    for (PendingWrite write : live) {
+                        ops.opsForValue().set(write.key, write.value, write.ttl);
+                    }
+                    return null;
+                }
+            });
+            flushTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            flushedWrites.increment(live.size());
+            for (PendingWrite write : live) {
+                pendingByKey.remove(write.key, write);
+                write.durable.complete(null);
+            }
+        } catch (RuntimeException e) {
+            failedWrites.increment(live.size());
+            log.error("Falha ao gravar lote de {} escritas adiadas no Redis", live.size(), e);
+            for (PendingWrite write : live) {
+                pendingByKey.remove(write.key, write);
+                write.durable.completeExceptionally(e);
+            }
+        }
+    }
+
+    private CompletableFuture<Void> writeSynchronously(PendingWrite write) {
+        try {
+            redisTemplate.opsForValue().set(write.key, write.value, write.ttl);
+            return CompletableFuture.completedFuture(null);
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private static final class PendingWrite {
+        private final String key;
+        private final Object value;
+        private final Duration ttl;
+        private final CompletableFuture<Void> durable = new CompletableFuture<>();
+
+        private PendingWrite(String key, Object value, Duration ttl) {
+            this.key = key;
+            this.value = value;
+            this.ttl = ttl;
+        }
+    }
+}
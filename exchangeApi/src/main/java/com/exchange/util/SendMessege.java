@@ -1,24 +1,36 @@
 package com.exchange.util;
 
-import com.exchange.domain.command.ConversionCommand;
 import com.exchange.domain.dto.ConversionMessageEvent;
 import com.exchange.domain.dto.ConversionRequest;
-import com.exchange.domain.event.GenericApplicationEvent;
+import com.messaging.command.ConversionCommand;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.KafkaException;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.kafka.support.SendResult;
 import org.springframework.messaging.Message;
 import org.springframework.messaging.support.MessageBuilder;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
 import java.time.Instant;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
 
 @Service
 public class SendMessege {
@@ -32,11 +44,35 @@ public class SendMessege {
     @Value("${kafka.topic.conversion.event:conversion-events}")
     private String topicConversionEvent;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.kafka.producer.max-in-flight-sends:10000}")
+    private int maxInFlightSends;
+
+    @Value("${app.kafka.producer.send-timeout:30s}")
+    private Duration sendTimeout;
+
+    private Semaphore inFlightSends;
+
+    private Timer sendLatency;
+
+    private Counter sendErrors;
+
+    @PostConstruct
+    void initMetrics() {
+        inFlightSends = new Semaphore(maxInFlightSends);
+        sendLatency = Timer.builder("kafka.producer.send").register(meterRegistry);
+        sendErrors = Counter.builder("kafka.producer.send.errors").register(meterRegistry);
+        meterRegistry.gauge("kafka.producer.in_flight", inFlightSends,
+            semaphore -> maxInFlightSends - semaphore.availablePermits());
+    }
+
     public void sendConversionCommand(ConversionRequest conversionRequest) {
         var command = ConversionCommand.builder()
                 .commandId(UUID.randomUUID().toString())
                 .correlationId(UUID.randomUUID().toString())
-                .timestamp(LocalDateTime.now().toString())
+                .timestamp(LocalDateTime.now())
                 .transactionId(conversionRequest.getTransactionId())
                 .fromCurrencyCode(conversionRequest.getFromCurrencyCode())
                 .toCurrencyCode(conversionRequest.getToCurrencyCode())
@@ -45,7 +81,7 @@ public class SendMessege {
                 .productId(conversionRequest.getProductId())
                 .kingdomId(conversionRequest.getKingdomId())
                 .conversionDate(conversionRequest.getConversionDate() != null ? 
-                    conversionRequest.getConversionDate().toString() : LocalDateTime.now().toLocalDate().toString())
+                    conversionRequest.getConversionDate() : LocalDate.now())
                 .build();
 
         Message<ConversionCommand> message = MessageBuilder
@@ -54,16 +90,64 @@ public class SendMessege {
                 .setHeader("eventName", "ConversionCommand")
                 .build();
         
-        template.send(message);
+        send(message);
     }
 
-    public void sendConversionEvent(ConversionMessageEvent event) {
-        Message<ConversionMessageEvent> message = MessageBuilder
+    public CompletableFuture<SendResult<String, Object>> sendConversionEvent(ConversionMessageEvent event) {
+        return send(conversionEventMessage(event));
+    }
+
+    /**
+     * Envia os eventos de um lote de uma vez e faz um único flush no producer.
+     * O future completa quando todos os envios foram confirmados pelo broker.
+     */
+    public CompletableFuture<Void> sendConversionEvents(List<ConversionMessageEvent> events) {
+        List<CompletableFuture<?>> sends = new ArrayList<>(events.size());
+        for (ConversionMessageEvent event : events) {
+            sends.add(send(conversionEventMessage(event)));
+        }
+        template.flush();
+        return CompletableFuture.allOf(sends.toArray(new CompletableFuture[0]));
+    }
+
+    /**
+     * Envia sem bloquear, limitado a max-in-flight-sends envios sem confirmação do broker.
+     * Com o limite atingido, quem envia espera até send-timeout; a confirmação alimenta as métricas
+     */
+    private CompletableFuture<SendResult<String, Object>> send(Message<?> message) {
+        try {
+            if (!inFlightSends.tryAcquire(sendTimeout.toNanos(), TimeUnit.NANOSECONDS)) {
+                sendErrors.increment();
+                throw new KafkaException("Limite de envios em andamento atingido (" + maxInFlightSends + ")");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new KafkaException("Envio interrompido aguardando vaga no producer", e);
+        }
+
+        long start = System.nanoTime();
+        CompletableFuture<SendResult<String, Object>> future;
+        try {
+            future = template.send(message);
+        } catch (RuntimeException e) {
+            inFlightSends.release();
+            sendErrors.increment();
+            throw e;
+        }
+        return future.whenComplete((result, error) -> {
+            inFlightSends.release();
+            sendLatency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            if (error != null) {
+                sendErrors.increment();
+            }
+        });
+    }
+
+    private Message<ConversionMessageEvent> conversionEventMessage(ConversionMessageEvent event) {
+        return MessageBuilder
                 .withPayload(event)
                 .setHeader(KafkaHeaders.TOPIC, topicConversionEvent)
-                .setHeader("eventName", event.getEventName())
+                .setHeader("eventName", "ConversionMessageEvent")
                 .build();
-
-        template.send(message);
     }
 } 
\ No newline at end of file
@@ -0,0 +1,390 @@
+package com.exchange.util;
+
+import com.exchange.domain.dto.TransactionData;
+import com.exchange.domain.enums.TransactionStatus;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Formato binário compacto do TransactionData.
+ *
+ * Layout (versão 1): MAGIC, VERSION, máscara de campos presentes (varint) e os campos presentes na ordem
+ * da declaração. Números são varints (zigzag quando podem ser negativos), BigDecimal é escala + valor
+ * sem escala, datas são segundos epoch em UTC (a mesma precisão do JSON) e textos conhecidos são
+ * gravados como índice de dicionário, com o texto literal como alternativa.
+ *
+ * Os dicionários fazem parte do formato: só se acrescenta no fim, nunca se remove ou reordena.
+ * Mudar isso exige uma nova VERSION.
+ */
+public final class TransactionDataCodec {
+
+    /**
+     * Primeiro byte do formato binário. Não é um início válido de JSON, então os dois formatos convivem na mesma chave
+     */
+    public static final byte MAGIC = (byte) 0xB7;
+
+    public static final byte VERSION = 1;
+
+    private static final String[] CURRENCY_CODES = {"ORO", "TIB"};
+
+    private static final TransactionStatus[] STATUSES = {
+        TransactionStatus.REQUESTED,
+        TransactionStatus.APPROVED,
+        TransactionStatus.NOT_APPROVED,
+        TransactionStatus.WARNING
+    };
+
+    private static final String[] TEXTS = {
+        "Transação aprovada, aguardando confirmação",
+        "Confirme a transação para finalizar",
+        "A transação expira em 30 minutos",
+        "Taxa dentro dos parâmetros normais",
+        "Transação recomendada",
+        "Taxa anormalmente desfavorável",
+        "Taxa elevada",
+        "Aguarde melhor momento para conversão",
+        "Confirme se o valor está correto",
+        "Verifique os parâmetros da conversão"
+    };
+
+    private static final Map<String, Integer> CURRENCY_INDEX = index(CURRENCY_CODES);
+    private static final Map<String, Integer> TEXT_INDEX = index(TEXTS);
+
+    private static final int TRANSACTION_ID = 1;
+    private static final int CONVERTED_AMOUNT = 1 << 1;
+    private static final int RATE = 1 << 2;
+    private static final int FROM_CURRENCY = 1 << 3;
+    private static final int TO_CURRENCY = 1 << 4;
+    private static final int PRODUCT_ID = 1 << 5;
+    private static final int STATUS = 1 << 6;
+    private static final int REASON = 1 << 7;
+    private static final int RISK_SCORE = 1 << 8;
+    private static final int WARNINGS = 1 << 9;
+    private static final int RECOMMENDATIONS = 1 << 10;
+    private static final int CREATED_AT = 1 << 11;
+    private static final int EXPIRES_AT = 1 << 12;
+
+    private TransactionDataCodec() {
+    }
+
+    public static boolean isBinary(byte[] bytes) {
+        return bytes != null && bytes.length > 1 && bytes[0] == MAGIC;
+    }
+
+    public static byte[] encode(TransactionData data) {
+        Writer out = new Writer();
+        out.writeByte(MAGIC);
+        out.writeByte(VERSION);
+
+        int present = 0;
+        present |= data.getTransactionId() != null ? TRANSACTION_ID : 0;
+        present |= data.getConvertedAmount() != null ? CONVERTED_AMOUNT : 0;
+        present |= data.getRate() != null ? RATE : 0;
+        present |= data.getFromCurrencyCode() != null ? FROM_CURRENCY : 0;
+        present |= data.getToCurrencyCode() != null ? TO_CURRENCY : 0;
+        present |= data.getProductId() != null ? PRODUCT_ID : 0;
+        present |= data.getStatus() != null ? STATUS : 0;
+        present |= data.getReason() != null ? REASON : 0;
+        present |= data.getRiskScore() != null ? RISK_SCORE : 0;
+        present |= data.getWarnings() != null ? WARNINGS : 0;
+        present |= data.getRecommendations() != null ? RECOMMENDATIONS : 0;
+        present |= data.getCreatedAt() != null ? CREATED_AT : 0;
+        present |= data.getExpiresAt() != null ? EXPIRES_AT : 0;
+        out.writeVarLong(present);
+
+        if (data.getTransactionId() != null) {
+            out.writeLong(data.getTransactionId().getMostSignificantBits());
+            out.writeLong(data.getTransactionId().getLeastSignificantBits());
+        }
+        if (data.getConvertedAmount() != null) {
+            out.writeDecimal(data.getConvertedAmount());
+        }
+        if (data.getRate() != null) {
+            out.writeDecimal(data.getRate());
+        }
+        if (data.getFromCurrencyCode() != null) {
+            out.writeInterned(data.getFromCurrencyCode(), CURRENCY_INDEX);
+        }
+        if (data.getToCurrencyCode() != null) {
+            out.writeInterned(data.getToCurrencyCode(), CURRENCY_INDEX);
+        }
+        if (data.getProductId() != null) {
+            out.writeZigZag(data.getProductId());
+        }
+        if (data.getStatus() != null) {
+            out.writeVarLong(statusIndex(data.getStatus()));
+        }
+        if (data.getReason() != null) {
+            out.writeInterned(data.getReason(), TEXT_INDEX);
+        }
+        if (data.getRiskScore() != null) {
+            out.writeDecimal(data.getRiskScore());
+        }
+        if (data.getWarnings() != null) {
+            out.writeTexts(data.getWarnings());
+        }
+        if (data.getRecommendations() != null) {
+            out.writeTexts(data.getRecommendations());
+        }
+        long createdAt = 0;
+        if (data.getCreatedAt() != null) {
+            createdAt = data.getCreatedAt().toEpochSecond(ZoneOffset.UTC);
+            out.writeZigZag(createdAt);
+        }
+        if (data.getExpiresAt() != null) {
+            // Relativo à criação: normalmente 1800 segundos, dois bytes
+            out.writeZigZag(data.getExpiresAt().toEpochSecond(ZoneOffset.UTC) - createdAt);
+        }
+        return out.toByteArray();
+    }
+
+    public static TransactionData decode(byte[] bytes) {
+        if (!isBinary(bytes)) {
+            throw new IllegalArgumentException("Conteúdo não está no formato binário de TransactionData");
+        }
+        if (bytes[1] != VERSION) {
+            throw new IllegalArgumentException("Versão de TransactionData não suportada: " + bytes[1]);
+        }
+
+        Reader in = new Reader(bytes, 2);
+        long present = in.readVarLong();
+        TransactionData data = new TransactionData();
+
+        if ((present & TRANSACTION_ID) != 0) {
+            data.setTransactionId(new UUID(in.readLong(), in.readLong()));
+        }
+        if ((present & CONVERTED_AMOUNT) != 0) {
+            data.setConvertedAmount(in.readDecimal());
+        }
+        if ((present & RATE) != 0) {
+            data.setRate(in.readDecimal());
+        }
+        if ((present & FROM_CURRENCY) != 0) {
+            data.setFromCurrencyCode(in.readInterned(CURRENCY_CODES));
+        }
+        if ((present & TO_CURRENCY) != 0) {
+            data.setToCurrencyCode(in.readInterned(CURRENCY_CODES));
+        }
+        if ((present & PRODUCT_ID) != 0) {
+            data.setProductId(in.readZigZag());
+        }
+        if ((present & STATUS) != 0) {
+            int index = (int) in.readVarLong();
+            if (index >= STATUSES.length) {
+                throw new IllegalArgumentException("Status desconhecido no TransactionData: " + index);
+            }
+            data.setStatus(STATUSES[index]);
+        }
+        if ((present & REASON) != 0) {
+            data.setReason(in.readInterned(TEXTS));
+        }
+        if ((present & RISK_SCORE) != 0) {
+            data.setRiskScore(in.readDecimal());
+        }
+        if ((present & WARNINGS) != 0) {
+            data.setWarnings(in.readTexts());
+        }
+        if ((present & RECOMMENDATIONS) != 0) {
+            data.setRecommendations(in.readTexts());
+        }
+        long createdAt = 0;
+        if ((present & CREATED_AT) != 0) {
+            createdAt = in.readZigZag();
+            data.setCreatedAt(LocalDateTime.ofEpochSecond(createdAt, 0, ZoneOffset.UTC));
+        }
+        if ((present & EXPIRES_AT) != 0) {
+            data.setExpiresAt(LocalDateTime.ofEpochSecond(createdAt + in.readZigZag(), 0, ZoneOffset.UTC));
+        }
+        return data;
+    }
+
+    private static int statusIndex(TransactionStatus status) {
+        for (int i = 0; i < STATUSES.length; i++) {
+            if (STATUSES[i] == status) {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException("Status sem código no formato binário: " + status);
+    }
+
+    private static Map<String, Integer> index(String[] dictionary) {
+        Map<String, Integer> index = new HashMap<>();
+        for (int i = 0; i < dictionary.length; i++) {
+            index.put(dictionary[i], i);
+        }
+        return Map.copyOf(index);
+    }
+
+    private static final class Writer {
+        private byte[] buffer = new byte[128];
+        private int position;
+
+        private void writeByte(int value) {
+            ensure(1);
+            buffer[position++] = (byte) value;
+        }
+
+        private void writeBytes(byte[] bytes) {
+            ensure(bytes.length);
+            System.arraycopy(bytes, 0, buffer, position, bytes.length);
+            position += bytes.length;
+        }
+
+        private void writeLong(long value) {
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                writeByte((int) (value >>> shift));
+            }
+        }
+
+        private void writeVarLong(long value) {
+            while ((value & ~0x7FL) != 0) {
+                writeByte((int) ((value & 0x7F) | 0x80));
+                value >>>= 7;
+            }
+            writeByte((int) value);
+        }
+
+        private void writeZigZag(long value) {
+            writeVarLong((value << 1) ^ (value >> 63));
+        }
+
+        /**
+         * Escala e valor sem escala; valores que não cabem em um long vão como bytes em complemento de dois
+         */
+        private void writeDecimal(BigDecimal value) {
+            writeZigZag(value.scale());
+            BigInteger unscaled = value.unscaledValue();
+            if (unscaled.bitLength() < 64) {
+                writeByte(0);
+                writeZigZag(unscaled.longValue());
+            } else {
+                byte[] bytes = unscaled.toByteArray();
+                writeByte(1);
+                writeVarLong(bytes.length);
+                writeBytes(bytes);
+            }
+        }
+
+        /**
+         * Índice + 1 quando o texto está no dicionário, ou 0 seguido do texto em UTF-8
+         */
+        private void writeInterned(String value, Map<String, Integer> dictionary) {
+            Integer index = dictionary.get(value);
+            if (index != null) {
+                writeVarLong(index + 1L);
+                return;
+            }
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            writeVarLong(0);
+            writeVarLong(bytes.length);
+            writeBytes(bytes);
+        }
+
+        private void writeTexts(List<String> values) {
+            writeVarLong(values.size());
+            for (String value : values) {
+                writeInterned(value, TEXT_INDEX);
+            }
+        }
+
+        private void ensure(int extra) {
+            if (position + extra > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, position + extra));
+            }
+        }
+
+        private byte[] toByteArray() {
+            return Arrays.copyOf(buffer, position);
+        }
+    }
+
+    private static final class Reader {
+        private final byte[] buffer;
+        private int position;
+
+        private Reader(byte[] buffer, int position) {
+            this.buffer = buffer;
+            this.position = position;
+        }
+
+        private int readByte() {
+            if (position >= buffer.length) {
+                throw new IllegalArgumentException("TransactionData binário truncado");
+            }
+            return buffer[position++] & 0xFF;
+        }
+
+        private byte[] readBytes(int length) {
+            if (length < 0 || position + length > buffer.length) {
+                throw new IllegalArgumentException("TransactionData binário truncado");
+            }
+            byte[] bytes = Arrays.copyOfRange(buffer, position, position + length);
+            position += length;
+            return bytes;
+        }
+
+        private long readLong() {
+            long value = 0;
+            for (int i = 0; i < 8; i++) {
+                value = (value << 8) | readByte();
+            }
+            return value;
+        }
+
+        private long readVarLong() {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                int b = readByte();
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new IllegalArgumentException("Varint inválido no TransactionData binário");
+        }
+
+        private long readZigZag() {
+            long raw = readVarLong();
+            return (raw >>> 1) ^ -(raw & 1);
+        }
+
+        private BigDecimal readDecimal() {
+            int scale = (int) readZigZag();
+            int kind = readByte();
+            if (kind == 0) {
+                return BigDecimal.valueOf(readZigZag(), scale);
+            }
+            return new BigDecimal(new BigInteger(readBytes((int) readVarLong())), scale);
+        }
+
+        private String readInterned(String[] dictionary) {
+            long index = readVarLong();
+            if (index == 0) {
+                return new String(readBytes((int) readVarLong()), StandardCharsets.UTF_8);
+            }
+            if (index > dictionary.length) {
+                throw new IllegalArgumentException("Índice de dicionário desconhecido no TransactionData: " + index);
+            }
+            return dictionary[(int) index - 1];
+        }
+
+        private List<String> readTexts() {
+            int size = (int) readVarLong();
+            List<String> values = new ArrayList<>(Math.min(size, 64));
+            for (int i = 0; i < size; i++) {
+                values.add(readInterned(TEXTS));
+            }
+            return values;
+        }
+    }
+}
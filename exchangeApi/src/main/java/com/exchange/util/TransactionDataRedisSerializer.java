@@ -0,0 +1,65 @@
+package com.exchange.util;
+
+import com.exchange.domain.dto.TransactionData;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Serializer de valores do Redis que grava TransactionData no formato binário compacto
+ * e delega os demais valores ao serializer JSON.
+ * A leitura reconhece os dois formatos, então entradas JSON gravadas antes continuam legíveis até expirarem.
+ * O JSON antigo não tem informação de tipo (o serializer JSON volta um Map); quando o Map tem
+ * transactionId, os bytes são relidos como TransactionData.
+ */
+public class TransactionDataRedisSerializer implements RedisSerializer<Object> {
+
+    private final RedisSerializer<Object> jsonSerializer;
+
+    private final ObjectMapper objectMapper;
+
+    private final boolean writeBinary;
+
+    public TransactionDataRedisSerializer(RedisSerializer<Object> jsonSerializer, ObjectMapper objectMapper,
+                                          boolean writeBinary) {
+        this.jsonSerializer = jsonSerializer;
+        this.objectMapper = objectMapper;
+        this.writeBinary = writeBinary;
+    }
+
+    @Override
+    public byte[] serialize(Object value) throws SerializationException {
+        if (writeBinary && value instanceof TransactionData transactionData) {
+            try {
+                return TransactionDataCodec.encode(transactionData);
+            } catch (IllegalArgumentException e) {
+                throw new SerializationException("Não foi possível serializar TransactionData", e);
+            }
+        }
+        return jsonSerializer.serialize(value);
+    }
+
+    @Override
+    public Object deserialize(byte[] bytes) throws SerializationException {
+        if (TransactionDataCodec.isBinary(bytes)) {
+            try {
+                return TransactionDataCodec.decode(bytes);
+            } catch (IllegalArgumentException e) {
+                throw new SerializationException("Não foi possível desserializar TransactionData", e);
+            }
+        }
+        Object value = jsonSerializer.deserialize(bytes);
+        if (value instanceof Map<?, ?> map && map.containsKey("transactionId")) {
+            try {
+                // Relê os bytes direto no tipo: o Map tem os decimais como double, sem a escala original
+                return objectMapper.readValue(bytes, TransactionData.class);
+            } catch (IOException e) {
+                throw new SerializationException("Não foi possível desserializar TransactionData em JSON", e);
+            }
+        }
+        return value;
+    }
+}
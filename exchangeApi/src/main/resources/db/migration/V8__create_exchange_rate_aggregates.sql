@@ -0,0 +1,42 @@
+-- Migration V8: Create exchange_rate_aggregates
+-- Description: Rollup OHLC de taxas por par em resolução de minuto, hora e dia
+-- Author: ChangeApp Team
+-- Date: 2026-10-17
+
+CREATE TABLE IF NOT EXISTS exchange_rate_aggregates (
+    from_currency_prefix VARCHAR(10) NOT NULL,
+    to_currency_prefix VARCHAR(10) NOT NULL,
+    resolution VARCHAR(10) NOT NULL,
+    bucket_start TIMESTAMP NOT NULL,
+    open_rate DECIMAL(10,4) NOT NULL,
+    high_rate DECIMAL(10,4) NOT NULL,
+    low_rate DECIMAL(10,4) NOT NULL,
+    close_rate DECIMAL(10,4) NOT NULL,
+    rate_sum DECIMAL(20,4) NOT NULL,
+    sample_count BIGINT NOT NULL,
+    first_at TIMESTAMP NOT NULL,
+    last_at TIMESTAMP NOT NULL,
+    PRIMARY KEY (from_currency_prefix, to_currency_prefix, resolution, bucket_start)
+);
+
+-- Backfill com as taxas já existentes (uma amostra por linha)
+INSERT INTO exchange_rate_aggregates (
+    from_currency_prefix, to_currency_prefix, resolution, bucket_start,
+    open_rate, high_rate, low_rate, close_rate, rate_sum, sample_count, first_at, last_at
+)
+SELECT r.from_currency_prefix,
+       r.to_currency_prefix,
+       res.resolution,
+       date_trunc(res.unit, r.created_at),
+       (array_agg(r.rate ORDER BY r.created_at ASC))[1],
+       MAX(r.rate),
+       MIN(r.rate),
+       (array_agg(r.rate ORDER BY r.created_at DESC))[1],
+       SUM(r.rate),
+       COUNT(*),
+       MIN(r.created_at),
+       MAX(r.created_at)
+FROM exchange_rates r
+CROSS JOIN (VALUES ('MINUTE', 'minute'), ('HOUR', 'hour'), ('DAY', 'day')) AS res(resolution, unit)
+GROUP BY r.from_currency_prefix, r.to_currency_prefix, res.resolution, date_trunc(res.unit, r.created_at)
+ON CONFLICT DO NOTHING;
@@ -0,0 +1,11 @@
+-- Migration V9: Create keyset pagination indexes
+-- Description: Índices na ordem das listagens por cursor (created_at DESC + chave), para que
+--              cada fatia seja uma leitura de faixa do índice, sem OFFSET nem COUNT
+-- Author: ChangeApp Team
+-- Date: 2026-10-17
+
+CREATE INDEX IF NOT EXISTS idx_exchange_rates_keyset
+    ON exchange_rates(is_active, created_at DESC, from_currency_prefix DESC, to_currency_prefix DESC);
+
+CREATE INDEX IF NOT EXISTS idx_product_exchange_rates_keyset
+    ON product_exchange_rates(is_active, created_at DESC, product_id DESC, from_currency_prefix DESC, to_currency_prefix DESC);
@@ -0,0 +1,121 @@
+package com.exchange.cache;
+
+import com.exchange.cache.RateBaselineEngine.RateBaseline;
+import com.exchange.domain.dto.ConversionRequest;
+import com.exchange.domain.dto.ConversionResponse;
+import com.exchange.domain.entity.ExchangeRateAggregate;
+import com.exchange.domain.enums.TransactionStatus;
+import com.exchange.service.impl.RiskAnalysisServiceImpl;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RateBaselineEngineTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2024, 1, 15, 10, 0);
+
+    @Test
+    void seedFromMinuteBucketsReachesMinSamples() {
+        RateBaselineEngine engine = engine();
+        List<ExchangeRateAggregate> buckets = new ArrayList<>();
+        String[] closes = {"2.50", "2.52", "2.48", "2.51", "2.49", "2.50"};
+        for (int i = 0; i < closes.length; i++) {
+            buckets.add(bucket(START.plusMinutes(i), "2.45", "2.55", closes[i]));
+        }
+
+        engine.seed(buckets);
+
+        RateBaseline baseline = engine.find("ORO", "TIB").orElseThrow();
+        assertEquals(6, baseline.getSamples());
+        assertTrue(baseline.getVolatility() > 0);
+        assertEquals(2.45, baseline.getWindowMin());
+        assertEquals(2.55, baseline.getWindowMax());
+        assertEquals(new BigDecimal("2.5"), baseline.getReferenceRate());
+    }
+
+    @Test
+    void referenceRateIsPreviousWindowCloseNotMovingAverage() {
+        RateBaselineEngine engine = engine();
+        engine.observe("ORO", "TIB", new BigDecimal("2.5"), START);
+        engine.observe("ORO", "TIB", new BigDecimal("2.6"), START.plusHours(1));
+        RateBaseline baseline = engine.observe("ORO", "TIB", new BigDecimal("4.0"), START.plusDays(1));
+
+        // A média móvel acompanha a nova taxa; a referência continua sendo o fechamento da janela anterior
+        assertEquals(new BigDecimal("2.6"), baseline.getReferenceRate());
+        baseline = engine.observe("ORO", "TIB", new BigDecimal("4.1"), START.plusDays(1).plusHours(1));
+        assertEquals(new BigDecimal("2.6"), baseline.getReferenceRate());
+        assertTrue(baseline.getBaseRate().compareTo(new BigDecimal("2.6")) > 0);
+    }
+
+    @Test
+    void seededBaselineScoresDeviationWithLocaleIndependentWarnings() {
+        RateBaselineEngine engine = engine();
+        List<ExchangeRateAggregate> buckets = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            String close = i % 2 == 0 ? "2.49" : "2.51";
+            buckets.add(bucket(START.plusMinutes(i), close, close, close));
+        }
+        engine.seed(buckets);
+
+        RiskAnalysisServiceImpl service = new RiskAnalysisServiceImpl();
+        ReflectionTestUtils.setField(service, "rateBaselineEngine", engine);
+        ReflectionTestUtils.setField(service, "minSamples", 5L);
+        ReflectionTestUtils.setField(service, "deviationLimit", 5.0);
+        ReflectionTestUtils.setField(service, "outOfRangeRisk", new BigDecimal("0.2"));
+
+        ConversionRequest request = new ConversionRequest();
+        request.setFromCurrencyCode("ORO");
+        request.setToCurrencyCode("TIB");
+
+        Locale defaultLocale = Locale.getDefault();
+        Locale.setDefault(Locale.GERMANY);
+        try {
+            ConversionResponse normal = new ConversionResponse();
+            service.analyzeRisk(normal, new BigDecimal("2.50"), request, BigDecimal.ONE);
+            assertEquals(TransactionStatus.REQUESTED, normal.getStatus());
+
+            ConversionResponse outlier = new ConversionResponse();
+            service.analyzeRisk(outlier, new BigDecimal("3.00"), request, BigDecimal.ONE);
+            assertEquals(TransactionStatus.NOT_APPROVED, outlier.getStatus());
+            assertTrue(outlier.getWarnings().stream().anyMatch(w -> w.matches("Desvio de \\d+\\.\\d volatilidades.*")),
+                outlier.getWarnings().toString());
+            assertTrue(outlier.getWarnings().contains("Taxa fora da faixa recente (2.49 a 2.51)"),
+                outlier.getWarnings().toString());
+        } finally {
+            Locale.setDefault(defaultLocale);
+        }
+    }
+
+    private static RateBaselineEngine engine() {
+        RateBaselineEngine engine = new RateBaselineEngine();
+        ReflectionTestUtils.setField(engine, "alpha", 0.2);
+        ReflectionTestUtils.setField(engine, "window", Duration.ofDays(1));
+        return engine;
+    }
+
+    private static ExchangeRateAggregate bucket(LocalDateTime start, String low, String high, String close) {
+        ExchangeRateAggregate bucket = new ExchangeRateAggregate();
+        bucket.setFromCurrencyPrefix("ORO");
+        bucket.setToCurrencyPrefix("TIB");
+        bucket.setResolution("MINUTE");
+        bucket.setBucketStart(start);
+        bucket.setOpenRate(new BigDecimal(close));
+        bucket.setLowRate(new BigDecimal(low));
+        bucket.setHighRate(new BigDecimal(high));
+        bucket.setCloseRate(new BigDecimal(close));
+        bucket.setRateSum(new BigDecimal(close));
+        bucket.setSampleCount(1L);
+        bucket.setFirstAt(start);
+        bucket.setLastAt(start.plusSeconds(30));
+        return bucket;
+    }
+}
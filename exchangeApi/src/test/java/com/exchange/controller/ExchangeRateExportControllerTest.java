@@ -0,0 +1,117 @@
+package com.exchange.controller;
+
+import com.exchange.service.ExchangeRateExportService;
+import com.exchange.service.ExchangeRateExportService.ExportFormat;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class ExchangeRateExportControllerTest {
+
+    private static final String NDJSON = "{\"fromCurrency\":\"ORO\",\"toCurrency\":\"TIB\",\"rate\":2.5}\n";
+
+    private static final String CSV = "from_currency,to_currency,rate\nORO,TIB,2.5\n";
+
+    private final ExchangeRateExportService exportService = mock(ExchangeRateExportService.class);
+
+    private final MockMvc mockMvc = mockMvc();
+
+    @Test
+    void rejectsUnknownFormatWithoutExporting() throws Exception {
+        mockMvc.perform(get("/api/v1/exchange-rates/export").param("format", "xml"))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.message").value("Formato de exportação inválido"));
+
+        verifyNoInteractions(exportService);
+    }
+
+    @Test
+    void rejectsStartDateAfterEndDate() throws Exception {
+        mockMvc.perform(get("/api/v1/exchange-rates/export")
+                .param("startDate", "2024-02-01")
+                .param("endDate", "2024-01-01"))
+            .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(exportService);
+    }
+
+    @Test
+    void streamsPlainNdjsonByDefault() throws Exception {
+        exportWrites(ExportFormat.NDJSON, NDJSON);
+
+        MvcResult started = mockMvc.perform(get("/api/v1/exchange-rates/export"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        mockMvc.perform(asyncDispatch(started))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.CONTENT_TYPE, "application/x-ndjson"))
+            .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"exchange-rates.ndjson\""))
+            .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+            .andExpect(content().string(NDJSON));
+    }
+
+    @Test
+    void gzipsCsvWhenClientAcceptsIt() throws Exception {
+        exportWrites(ExportFormat.CSV, CSV);
+
+        MvcResult started = mockMvc.perform(get("/api/v1/exchange-rates/export")
+                .param("format", "CSV")
+                .param("startDate", "2024-01-01")
+                .header(HttpHeaders.ACCEPT_ENCODING, "br, gzip"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        MvcResult result = mockMvc.perform(asyncDispatch(started))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.CONTENT_TYPE, "text/csv"))
+            .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+            .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING))
+            .andReturn();
+
+        // Corpo deve ser um stream gzip completo (com trailer), que descomprime no CSV exportado
+        byte[] body = result.getResponse().getContentAsByteArray();
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            assertEquals(CSV, new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+
+    private MockMvc mockMvc() {
+        ExchangeRateController controller = new ExchangeRateController();
+        ReflectionTestUtils.setField(controller, "exchangeRateExportService", exportService);
+        return MockMvcBuilders.standaloneSetup(controller).build();
+    }
+
+    private void exportWrites(ExportFormat format, String body) throws IOException {
+        doAnswer(invocation -> {
+            OutputStream out = invocation.getArgument(6);
+            out.write(body.getBytes(StandardCharsets.UTF_8));
+            return 1L;
+        }).when(exportService).export(isNull(), isNull(), any(), isNull(), anyBoolean(), eq(format), any(OutputStream.class));
+    }
+}
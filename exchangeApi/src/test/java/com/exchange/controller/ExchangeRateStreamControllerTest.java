@@ -0,0 +1,75 @@
+package com.exchange.controller;
+
+import com.exchange.service.ExchangeRateStreamService;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class ExchangeRateStreamControllerTest {
+
+    private final ExchangeRateStreamService streamService = mock(ExchangeRateStreamService.class);
+
+    private final MockMvc mockMvc = mockMvc();
+
+    @Test
+    void opensEventStreamForRequestedPairs() throws Exception {
+        SseEmitter emitter = new SseEmitter(0L);
+        when(streamService.subscribe(any())).thenReturn(Optional.of(emitter));
+
+        MvcResult result = mockMvc.perform(get("/api/v1/exchange-rates/stream").param("pairs", "oro:tib, TIB:ORO"))
+            .andExpect(request().asyncStarted())
+            .andExpect(status().isOk())
+            .andReturn();
+
+        emitter.send(SseEmitter.event().id("1").name("rate-change").data("ORO:TIB"));
+        emitter.complete();
+
+        verify(streamService).subscribe(Set.of(
+            ExchangeRateStreamService.pairKey("ORO", "TIB"), ExchangeRateStreamService.pairKey("TIB", "ORO")));
+        assertTrue(result.getResponse().getContentType().startsWith("text/event-stream"));
+        assertEquals("id:1\nevent:rate-change\ndata:ORO:TIB\n\n",
+            result.getResponse().getContentAsString());
+    }
+
+    @Test
+    void rejectsMalformedPair() throws Exception {
+        mockMvc.perform(get("/api/v1/exchange-rates/stream").param("pairs", "ORO-TIB"))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.message").value("Par de moedas inválido"));
+
+        verifyNoInteractions(streamService);
+    }
+
+    @Test
+    void answersServiceUnavailableWhenSubscriberLimitIsReached() throws Exception {
+        when(streamService.subscribe(any())).thenReturn(Optional.empty());
+
+        mockMvc.perform(get("/api/v1/exchange-rates/stream"))
+            .andExpect(status().isServiceUnavailable())
+            .andExpect(jsonPath("$.message").value("Stream indisponível"));
+    }
+
+    private MockMvc mockMvc() {
+        ExchangeRateController controller = new ExchangeRateController();
+        ReflectionTestUtils.setField(controller, "exchangeRateStreamService", streamService);
+        return MockMvcBuilders.standaloneSetup(controller).build();
+    }
+}
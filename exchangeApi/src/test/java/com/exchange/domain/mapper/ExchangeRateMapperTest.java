@@ -0,0 +1,123 @@
+package com.exchange.domain.mapper;
+
+import com.exchange.cache.CurrencyRegistry;
+import com.exchange.domain.dto.CurrencyInfo;
+import com.exchange.domain.dto.ExchangeRateResponse;
+import com.exchange.domain.dto.ExchangeRateSimpleResponse;
+import com.exchange.domain.entity.Currency;
+import com.exchange.domain.entity.ExchangeRate;
+import com.exchange.domain.exception.CurrencyNotFoundException;
+import com.exchange.repository.CurrencyRepository;
+import com.exchange.service.impl.CurrencyServiceImpl;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+class ExchangeRateMapperTest {
+
+    private static final String[] PREFIXES = {"ORO", "TIB", "XPT", "LUN", "SOL", "ARG"};
+
+    private final CurrencyRepository currencyRepository = mock(CurrencyRepository.class);
+
+    private final CurrencyRegistry currencyRegistry = mock(CurrencyRegistry.class);
+
+    private final ExchangeRateMapper mapper = mapper();
+
+    @Test
+    void coldRegistryCostsOneQueryPerPageWhateverThePageSize() {
+        // Registro vazio (pior caso): todas as moedas da página vêm do banco
+        when(currencyRegistry.findActive(anyString())).thenReturn(Optional.empty());
+        when(currencyRepository.findByPrefixInAndIsActiveTrue(anyCollection())).thenAnswer(invocation -> {
+            Collection<String> prefixes = invocation.getArgument(0);
+            return prefixes.stream().map(ExchangeRateMapperTest::currency).toList();
+        });
+
+        for (int size : new int[] {1, 10, 100, 1000}) {
+            List<ExchangeRate> page = page(size);
+
+            List<ExchangeRateResponse> responses = mapper.entityListToResponseList(page);
+            List<ExchangeRateSimpleResponse> simpleResponses = mapper.entityListToSimpleResponseList(page);
+
+            assertEquals(size, responses.size());
+            assertEquals(size, simpleResponses.size());
+            assertEquals(page.get(size - 1).getToCurrencyPrefix(), responses.get(size - 1).getToCurrency().getCode());
+            verify(currencyRepository, times(2)).findByPrefixInAndIsActiveTrue(anyCollection());
+            verifyNoMoreInteractions(currencyRepository);
+            clearInvocations(currencyRepository);
+        }
+    }
+
+    @Test
+    void warmRegistryCostsNoQuery() {
+        when(currencyRegistry.findActive(anyString())).thenAnswer(invocation ->
+            Optional.of(info(invocation.getArgument(0))));
+
+        List<ExchangeRateResponse> responses = mapper.entityListToResponseList(page(500));
+
+        assertEquals(500, responses.size());
+        verifyNoInteractions(currencyRepository);
+    }
+
+    @Test
+    void currencyMissingFromRegistryAndDatabaseIsAnError() {
+        when(currencyRegistry.findActive(anyString())).thenReturn(Optional.empty());
+        when(currencyRepository.findByPrefixInAndIsActiveTrue(any())).thenReturn(List.of());
+
+        assertThrows(CurrencyNotFoundException.class, () -> mapper.entityListToResponseList(page(3)));
+    }
+
+    private ExchangeRateMapper mapper() {
+        CurrencyServiceImpl currencyService = new CurrencyServiceImpl();
+        ReflectionTestUtils.setField(currencyService, "currencyRepository", currencyRepository);
+        ReflectionTestUtils.setField(currencyService, "currencyRegistry", currencyRegistry);
+
+        ExchangeRateMapper mapper = new ExchangeRateMapper();
+        ReflectionTestUtils.setField(mapper, "currencyService", currencyService);
+        return mapper;
+    }
+
+    private static List<ExchangeRate> page(int size) {
+        List<ExchangeRate> page = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            ExchangeRate rate = new ExchangeRate();
+            rate.setFromCurrencyPrefix(PREFIXES[i % PREFIXES.length]);
+            rate.setToCurrencyPrefix(PREFIXES[(i + 1 + i / PREFIXES.length) % PREFIXES.length]);
+            rate.setRate(BigDecimal.valueOf(i + 1, 2));
+            rate.setIsActive(true);
+            page.add(rate);
+        }
+        return page;
+    }
+
+    private static Currency currency(String prefix) {
+        Currency currency = new Currency();
+        currency.setPrefix(prefix);
+        currency.setName("Moeda " + prefix);
+        return currency;
+    }
+
+    private static CurrencyInfo info(String prefix) {
+        CurrencyInfo info = new CurrencyInfo();
+        info.setCode(prefix);
+        info.setName("Moeda " + prefix);
+        return info;
+    }
+}
@@ -0,0 +1,45 @@
+package com.exchange.service;
+
+import com.exchange.domain.dto.ConversionMessageCommand;
+import com.exchange.util.SendMessege;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class ConversionCommandBatchConsumerTest {
+
+    @Test
+    void releasesClaimsWhenBatchConversionFails() {
+        // Métodos reais com a deduplicação desligada: claim devolve sempre "novo"
+        ConversionCommandDeduplicator deduplicator = mock(ConversionCommandDeduplicator.class, Mockito.CALLS_REAL_METHODS);
+        ConversionService conversionService = mock(ConversionService.class);
+        SendMessege eventProducer = mock(SendMessege.class);
+        when(conversionService.convertBatch(any(), any())).thenThrow(new IllegalStateException("banco indisponível"));
+
+        ConversionCommandBatchConsumer consumer = new ConversionCommandBatchConsumer();
+        ReflectionTestUtils.setField(consumer, "conversionService", conversionService);
+        ReflectionTestUtils.setField(consumer, "eventProducer", eventProducer);
+        ReflectionTestUtils.setField(consumer, "deduplicator", deduplicator);
+
+        ConversionMessageCommand first = new ConversionMessageCommand("ORO", "TIB", 10f);
+        ConversionMessageCommand second = new ConversionMessageCommand("TIB", "ORO", 5f);
+        Acknowledgment ack = mock(Acknowledgment.class);
+
+        assertThrows(IllegalStateException.class,
+            () -> consumer.handleConversionCommands(List.of(first, second), ack));
+
+        verify(deduplicator).release(first.getCommandId());
+        verify(deduplicator).release(second.getCommandId());
+        verifyNoInteractions(ack, eventProducer);
+    }
+}
@@ -0,0 +1,152 @@
+package com.exchange.service;
+
+import com.exchange.service.ExchangeRateExportService.ExportFormat;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import javax.sql.DataSource;
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ExchangeRateExportServiceTest {
+
+    private static final LocalDateTime CREATED = LocalDateTime.of(2024, 1, 15, 10, 30);
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final ExchangeRateExportService service = service();
+
+    private String lastSql;
+
+    private Object[] lastArgs;
+
+    @Test
+    void writesOneJsonObjectPerLine() throws Exception {
+        rows(row("ORO", "TIB", "2.50", true, CREATED, null, null),
+             row("TIB", "ORO", "0.4000", false, CREATED, CREATED.plusHours(1), CREATED.plusHours(2)));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long exported = service.export(null, null, null, null, true, ExportFormat.NDJSON, out);
+
+        assertEquals(2, exported);
+        assertEquals(
+            "{\"fromCurrency\":\"ORO\",\"toCurrency\":\"TIB\",\"rate\":2.50,\"isActive\":true,"
+                + "\"createdAt\":\"2024-01-15T10:30\",\"updatedAt\":null,\"deactivatedAt\":null}\n"
+                + "{\"fromCurrency\":\"TIB\",\"toCurrency\":\"ORO\",\"rate\":0.4000,\"isActive\":false,"
+                + "\"createdAt\":\"2024-01-15T10:30\",\"updatedAt\":\"2024-01-15T11:30\",\"deactivatedAt\":\"2024-01-15T12:30\"}\n",
+            out.toString(StandardCharsets.UTF_8));
+        assertEquals(2.0, meterRegistry.counter("exchange_rates.export.rows").count());
+    }
+
+    @Test
+    void writesCsvWithHeader() throws Exception {
+        rows(row("ORO", "TIB", "2.50", true, CREATED, CREATED.plusHours(1), null));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        service.export(null, null, null, null, false, ExportFormat.CSV, out);
+
+        assertEquals(
+            "from_currency,to_currency,rate,is_active,created_at,updated_at,deactivated_at\n"
+                + "ORO,TIB,2.50,true,2024-01-15T10:30,2024-01-15T11:30,\n",
+            out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void emptyResultStillWritesCsvHeader() throws Exception {
+        rows();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long exported = service.export(null, null, null, null, false, ExportFormat.CSV, out);
+
+        assertEquals(0, exported);
+        assertEquals("from_currency,to_currency,rate,is_active,created_at,updated_at,deactivated_at\n",
+            out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void filtersBecomeBindParametersInsideReadOnlyTransaction() throws Exception {
+        rows();
+
+        service.export("ORO", "TIB", LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 31), false,
+            ExportFormat.NDJSON, new ByteArrayOutputStream());
+
+        assertTrue(lastSql.contains("is_active = true") && lastSql.contains("from_currency_prefix = ?")
+            && lastSql.contains("to_currency_prefix = ?") && lastSql.contains("created_at >= ?")
+            && lastSql.contains("created_at < ?"), lastSql);
+        assertArrayEquals(new Object[] {"ORO", "TIB",
+            Timestamp.valueOf(LocalDateTime.of(2024, 1, 1, 0, 0)),
+            Timestamp.valueOf(LocalDateTime.of(2024, 2, 1, 0, 0))}, lastArgs);
+        verify(transactionManager).getTransaction(argThat(TransactionDefinition::isReadOnly));
+    }
+
+    private ExchangeRateExportService service() {
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+
+        ExchangeRateExportService service = new ExchangeRateExportService();
+        ReflectionTestUtils.setField(service, "dataSource", mock(DataSource.class));
+        ReflectionTestUtils.setField(service, "transactionManager", transactionManager);
+        ReflectionTestUtils.setField(service, "objectMapper", new ObjectMapper());
+        ReflectionTestUtils.setField(service, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.setField(service, "fetchSize", 1000);
+        service.init();
+        // O cursor é simulado: o JdbcTemplate entrega as linhas ao callback uma a uma
+        ReflectionTestUtils.setField(service, "jdbcTemplate", jdbcTemplate);
+        return service;
+    }
+
+    private void rows(ResultSet... rows) {
+        doAnswer(invocation -> {
+            lastSql = invocation.getArgument(0);
+            lastArgs = (Object[]) invocation.getRawArguments()[2];
+            RowCallbackHandler handler = invocation.getArgument(1);
+            for (ResultSet row : rows) {
+                handler.processRow(row);
+            }
+            return null;
+        }).when(jdbcTemplate).query(anyString(), any(RowCallbackHandler.class), any(Object[].class));
+    }
+
+    private static ResultSet row(String from, String to, String rate, boolean active,
+                                 LocalDateTime createdAt, LocalDateTime updatedAt, LocalDateTime deactivatedAt) throws SQLException {
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.getString(1)).thenReturn(from);
+        when(rs.getString(2)).thenReturn(to);
+        when(rs.getBigDecimal(3)).thenReturn(new BigDecimal(rate));
+        when(rs.getBoolean(4)).thenReturn(active);
+        List<LocalDateTime> timestamps = Arrays.asList(createdAt, updatedAt, deactivatedAt);
+        for (int i = 0; i < timestamps.size(); i++) {
+            when(rs.getTimestamp(5 + i)).thenReturn(timestamps.get(i) != null ? Timestamp.valueOf(timestamps.get(i)) : null);
+        }
+        return rs;
+    }
+}
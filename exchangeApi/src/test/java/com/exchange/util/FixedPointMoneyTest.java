@@ -0,0 +1,248 @@
+package com.exchange.util;
+
+import com.exchange.cache.RateBaselineEngine;
+import com.exchange.domain.dto.ConversionRequest;
+import com.exchange.domain.dto.ConversionResponse;
+import com.exchange.service.impl.RiskAnalysisServiceImpl;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+/**
+ * Teste diferencial: o ponto fixo tem que dar o mesmo resultado que BigDecimal com HALF_UP,
+ * ou OVERFLOW exatamente quando o valor não cabe em long (quem chama refaz em BigDecimal).
+ */
+class FixedPointMoneyTest {
+
+    private static final long SEED = 20261017L;
+    private static final int ITERATIONS = 200_000;
+    private static final BigInteger LONG_MIN = BigInteger.valueOf(Long.MIN_VALUE);
+    private static final BigInteger LONG_MAX = BigInteger.valueOf(Long.MAX_VALUE);
+
+    @Test
+    void multiplyMatchesExactProductOrOverflows() {
+        Random random = new Random(SEED);
+        for (int i = 0; i < ITERATIONS; i++) {
+            long a = randomLong(random);
+            long b = randomLong(random);
+            BigInteger exact = BigInteger.valueOf(a).multiply(BigInteger.valueOf(b));
+            assertEquals(fixed(exact), FixedPointMoney.multiply(a, b), () -> a + " × " + b);
+        }
+    }
+
+    @Test
+    void subtractMatchesExactDifferenceOrOverflows() {
+        Random random = new Random(SEED);
+        for (int i = 0; i < ITERATIONS; i++) {
+            long a = randomLong(random);
+            long b = randomLong(random);
+            BigInteger exact = BigInteger.valueOf(a).subtract(BigInteger.valueOf(b));
+            assertEquals(fixed(exact), FixedPointMoney.subtract(a, b), () -> a + " − " + b);
+        }
+    }
+
+    @Test
+    void divideMatchesBigDecimalHalfUp() {
+        Random random = new Random(SEED);
+        for (int i = 0; i < ITERATIONS; i++) {
+            long numerator = randomLong(random);
+            long denominator = randomLong(random);
+            if (denominator == 0) {
+                assertEquals(FixedPointMoney.OVERFLOW, FixedPointMoney.divide(numerator, denominator));
+                continue;
+            }
+            BigInteger expected = new BigDecimal(numerator)
+                .divide(new BigDecimal(denominator), 0, RoundingMode.HALF_UP)
+                .toBigIntegerExact();
+            assertEquals(fixed(expected), FixedPointMoney.divide(numerator, denominator),
+                () -> numerator + " / " + denominator);
+        }
+    }
+
+    @Test
+    void divideRoundsTiesAwayFromZero() {
+        assertEquals(3, FixedPointMoney.divide(5, 2));
+        assertEquals(-3, FixedPointMoney.divide(-5, 2));
+        assertEquals(-3, FixedPointMoney.divide(5, -2));
+        assertEquals(3, FixedPointMoney.divide(-5, -2));
+        assertEquals(2, FixedPointMoney.divide(7, 4));
+        assertEquals(1, FixedPointMoney.divide(Long.MAX_VALUE, Long.MAX_VALUE - 1));
+        assertEquals(1, FixedPointMoney.divide(Long.MAX_VALUE / 2 + 1, Long.MAX_VALUE));
+        assertEquals(0, FixedPointMoney.divide(Long.MAX_VALUE / 2, Long.MAX_VALUE));
+    }
+
+    @Test
+    void rescaleMatchesSetScaleHalfUp() {
+        Random random = new Random(SEED);
+        for (int i = 0; i < ITERATIONS; i++) {
+            long unscaled = randomLong(random);
+            int fromScale = random.nextInt(FixedPointMoney.MAX_DIGITS + 1);
+            int toScale = random.nextInt(FixedPointMoney.MAX_DIGITS + 1);
+            BigInteger expected = BigDecimal.valueOf(unscaled, fromScale)
+                .setScale(toScale, RoundingMode.HALF_UP)
+                .unscaledValue();
+            assertEquals(fixed(expected), FixedPointMoney.rescale(unscaled, fromScale, toScale),
+                () -> unscaled + " escala " + fromScale + " → " + toScale);
+        }
+    }
+
+    @Test
+    void rescaleBeyondMaxDigitsFallsBack() {
+        assertEquals(FixedPointMoney.OVERFLOW, FixedPointMoney.rescale(1, 0, FixedPointMoney.MAX_DIGITS + 1));
+        assertEquals(FixedPointMoney.OVERFLOW, FixedPointMoney.rescale(1, FixedPointMoney.MAX_DIGITS + 1, 0));
+        assertEquals(FixedPointMoney.OVERFLOW, FixedPointMoney.rescale(FixedPointMoney.OVERFLOW, 2, 4));
+        assertEquals(1_000_000_000_000_000_000L, FixedPointMoney.rescale(1, 0, FixedPointMoney.MAX_DIGITS));
+        assertEquals(FixedPointMoney.OVERFLOW, FixedPointMoney.rescale(10, 0, FixedPointMoney.MAX_DIGITS));
+    }
+
+    @Test
+    void multiplyAndRoundMatchesBigDecimalForMoneyInputs() {
+        Random random = new Random(SEED);
+        for (int i = 0; i < ITERATIONS; i++) {
+            // Quantidades e taxas nas faixas do caminho de conversão, com a escala do valor convertido
+            BigDecimal quantity = randomDecimal(random, 1 + random.nextInt(15), random.nextInt(7));
+            BigDecimal rate = randomDecimal(random, 1 + random.nextInt(12), random.nextInt(9));
+            int targetScale = random.nextInt(5);
+            if (!FixedPointMoney.fits(quantity) || !FixedPointMoney.fits(rate)) {
+                continue;
+            }
+
+            long result = FixedPointMoney.multiplyAndRound(
+                FixedPointMoney.unscaled(quantity), quantity.scale(),
+                FixedPointMoney.unscaled(rate), rate.scale(), targetScale);
+
+            BigInteger exactProduct = quantity.unscaledValue().multiply(rate.unscaledValue());
+            BigDecimal expected = quantity.multiply(rate).setScale(targetScale, RoundingMode.HALF_UP);
+            boolean expectOverflow = fixed(exactProduct) == FixedPointMoney.OVERFLOW
+                || fixed(expected.unscaledValue()) == FixedPointMoney.OVERFLOW
+                || quantity.scale() + rate.scale() - targetScale > FixedPointMoney.MAX_DIGITS;
+            if (expectOverflow) {
+                assertEquals(FixedPointMoney.OVERFLOW, result, () -> quantity + " × " + rate);
+            } else {
+                assertEquals(expected, FixedPointMoney.toBigDecimal(result, targetScale), () -> quantity + " × " + rate);
+            }
+        }
+    }
+
+    @Test
+    void multiplyOverflowBoundaries() {
+        long root = 3_037_000_499L; // maior inteiro cujo quadrado cabe em long
+        assertEquals(root * root, FixedPointMoney.multiply(root, root));
+        assertEquals(FixedPointMoney.OVERFLOW, FixedPointMoney.multiply(root + 1, root + 1));
+        assertEquals(Long.MAX_VALUE, FixedPointMoney.multiply(Long.MAX_VALUE, 1));
+        assertEquals(-Long.MAX_VALUE, FixedPointMoney.multiply(Long.MAX_VALUE, -1));
+        assertEquals(FixedPointMoney.OVERFLOW, FixedPointMoney.multiply(Long.MAX_VALUE, 2));
+        assertEquals(FixedPointMoney.OVERFLOW, FixedPointMoney.multiply(FixedPointMoney.OVERFLOW, 1));
+        assertEquals(FixedPointMoney.OVERFLOW, FixedPointMoney.subtract(Long.MIN_VALUE + 1, 2));
+        assertEquals(FixedPointMoney.OVERFLOW, FixedPointMoney.subtract(Long.MAX_VALUE, -1));
+    }
+
+    @Test
+    void fixedPointRiskScoreMatchesBigDecimalPath() {
+        Random random = new Random(SEED);
+        for (int i = 0; i < 20_000; i++) {
+            BigDecimal baseRate = randomDecimal(random, 1 + random.nextInt(8), random.nextInt(5)).abs()
+                .add(BigDecimal.ONE);
+            BigDecimal finalRate = random.nextInt(4) == 0
+                ? baseRate
+                : randomDecimal(random, 1 + random.nextInt(10), random.nextInt(7)).abs();
+            BigDecimal multiplier = random.nextBoolean() ? BigDecimal.ONE : new BigDecimal("2.0");
+            assertSameRisk(baseRate, finalRate, multiplier);
+        }
+    }
+
+    @Test
+    void fixedPointRiskScoreFallsBackOnOverflow() {
+        // Precisão acima de 18 dígitos: não cabe em long
+        assertSameRisk(new BigDecimal("2.5"), new BigDecimal("1234567890.1234567890"), BigDecimal.ONE);
+        // Cabe em long, mas (atual − base) × 10000 estoura
+        assertSameRisk(BigDecimal.ONE, new BigDecimal("9223372036854.77580"), BigDecimal.ONE);
+        // Alinhar as escalas estoura
+        assertSameRisk(new BigDecimal("0.000000000000000001"), new BigDecimal("922337203685"), BigDecimal.ONE);
+    }
+
+    /**
+     * Mesma análise com o ponto fixo ligado e desligado, com linha de base de uma única amostra
+     * (abaixo de min-samples, então o score é a variação relativa)
+     */
+    private static void assertSameRisk(BigDecimal baseRate, BigDecimal finalRate, BigDecimal multiplier) {
+        ConversionResponse fixed = analyze(true, baseRate, finalRate, multiplier);
+        ConversionResponse reference = analyze(false, baseRate, finalRate, multiplier);
+        String context = "base " + baseRate + ", taxa " + finalRate + ", multiplicador " + multiplier;
+        assertEquals(reference.getRiskScore(), fixed.getRiskScore(), context);
+        assertEquals(reference.getStatus(), fixed.getStatus(), context);
+        assertEquals(reference.getReason(), fixed.getReason(), context);
+        assertEquals(reference.getWarnings(), fixed.getWarnings(), context);
+        assertNotNull(fixed.getRiskScore(), context);
+    }
+
+    private static ConversionResponse analyze(boolean fixedPoint, BigDecimal baseRate, BigDecimal finalRate,
+                                              BigDecimal multiplier) {
+        RateBaselineEngine engine = new RateBaselineEngine();
+        ReflectionTestUtils.setField(engine, "alpha", 0.2);
+        ReflectionTestUtils.setField(engine, "window", Duration.ofDays(1));
+        engine.observe("ORO", "TIB", baseRate, LocalDateTime.of(2024, 1, 15, 10, 30));
+
+        RiskAnalysisServiceImpl service = new RiskAnalysisServiceImpl();
+        ReflectionTestUtils.setField(service, "rateBaselineEngine", engine);
+        ReflectionTestUtils.setField(service, "fixedPointEnabled", fixedPoint);
+        ReflectionTestUtils.setField(service, "minSamples", 5L);
+        ReflectionTestUtils.setField(service, "deviationLimit", 5.0);
+        ReflectionTestUtils.setField(service, "outOfRangeRisk", new BigDecimal("0.2"));
+
+        ConversionRequest request = new ConversionRequest();
+        request.setFromCurrencyCode("ORO");
+        request.setToCurrencyCode("TIB");
+
+        ConversionResponse response = new ConversionResponse();
+        service.analyzeRisk(response, finalRate, request, multiplier);
+        return response;
+    }
+
+    /**
+     * Longs com magnitudes variadas, incluindo os extremos, para cobrir as bordas de overflow
+     */
+    private static long randomLong(Random random) {
+        switch (random.nextInt(8)) {
+            case 0:
+                return Long.MAX_VALUE - random.nextInt(3);
+            case 1:
+                return Long.MIN_VALUE + 1 + random.nextInt(3);
+            case 2:
+                return random.nextInt(2001) - 1000;
+            default:
+                int bits = 1 + random.nextInt(63);
+                long value = random.nextLong() >>> (64 - bits);
+                return random.nextBoolean() ? value : -value;
+        }
+    }
+
+    private static BigDecimal randomDecimal(Random random, int digits, int scale) {
+        StringBuilder unscaled = new StringBuilder();
+        unscaled.append(1 + random.nextInt(9));
+        for (int i = 1; i < digits; i++) {
+            unscaled.append(random.nextInt(10));
+        }
+        BigDecimal value = new BigDecimal(new BigInteger(unscaled.toString()), scale);
+        return random.nextBoolean() ? value : value.negate();
+    }
+
+    /**
+     * Resultado esperado do ponto fixo para um valor exato: o próprio valor ou OVERFLOW se não couber
+     */
+    private static long fixed(BigInteger exact) {
+        if (exact.compareTo(LONG_MAX) > 0 || exact.compareTo(LONG_MIN) <= 0) {
+            return FixedPointMoney.OVERFLOW;
+        }
+        return exact.longValue();
+    }
+}
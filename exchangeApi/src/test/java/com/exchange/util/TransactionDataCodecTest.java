@@ -0,0 +1,207 @@
+package com.exchange.util;
+
+import com.exchange.domain.dto.TransactionData;
+import com.exchange.domain.enums.TransactionStatus;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TransactionDataCodecTest {
+
+    private static final long SEED = 20261017L;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    // Mesma configuração do RedisConfig
+    private final GenericJackson2JsonRedisSerializer jsonSerializer = new GenericJackson2JsonRedisSerializer(objectMapper);
+
+    @Test
+    void roundTripsTypicalEntry() {
+        TransactionData data = typical();
+
+        byte[] bytes = TransactionDataCodec.encode(data);
+
+        assertTrue(TransactionDataCodec.isBinary(bytes));
+        assertEquals(data, TransactionDataCodec.decode(bytes));
+    }
+
+    @Test
+    void roundTripsRandomEntries() {
+        Random random = new Random(SEED);
+        for (int i = 0; i < 10_000; i++) {
+            TransactionData data = random(random);
+            assertEquals(data, TransactionDataCodec.decode(TransactionDataCodec.encode(data)), data::toString);
+        }
+    }
+
+    @Test
+    void rejectsTruncatedAndUnknownVersions() {
+        byte[] bytes = TransactionDataCodec.encode(typical());
+
+        assertThrows(IllegalArgumentException.class,
+            () -> TransactionDataCodec.decode(Arrays.copyOf(bytes, bytes.length - 3)));
+        bytes[1] = (byte) (TransactionDataCodec.VERSION + 1);
+        assertThrows(IllegalArgumentException.class, () -> TransactionDataCodec.decode(bytes));
+    }
+
+    @Test
+    void serializerWritesBinaryAndReadsItBack() {
+        TransactionDataRedisSerializer serializer = new TransactionDataRedisSerializer(jsonSerializer, objectMapper, true);
+        TransactionData data = typical();
+
+        byte[] bytes = serializer.serialize(data);
+
+        assertTrue(TransactionDataCodec.isBinary(bytes));
+        assertEquals(data, serializer.deserialize(bytes));
+    }
+
+    @Test
+    void legacyJsonEntriesStillDecodeAsTransactionData() {
+        TransactionDataRedisSerializer serializer = new TransactionDataRedisSerializer(jsonSerializer, objectMapper, true);
+        TransactionData data = typical();
+
+        // Entrada gravada antes da troca de serializer: JSON sem informação de tipo
+        byte[] legacy = jsonSerializer.serialize(data);
+        Object decoded = serializer.deserialize(legacy);
+
+        assertInstanceOf(TransactionData.class, decoded);
+        assertEquals(data, decoded);
+    }
+
+    @Test
+    void jsonModeStaysReadableAndLeavesOtherValuesAlone() {
+        TransactionDataRedisSerializer jsonOnly = new TransactionDataRedisSerializer(jsonSerializer, objectMapper, false);
+        TransactionDataRedisSerializer binary = new TransactionDataRedisSerializer(jsonSerializer, objectMapper, true);
+        TransactionData data = typical();
+
+        byte[] bytes = jsonOnly.serialize(data);
+
+        assertEquals('{', bytes[0]);
+        assertEquals(data, binary.deserialize(bytes));
+        assertEquals(Map.of("status", "ok"), binary.deserialize(binary.serialize(Map.of("status", "ok"))));
+    }
+
+    @Test
+    void corruptBinaryEntrySurfacesAsSerializationException() {
+        TransactionDataRedisSerializer serializer = new TransactionDataRedisSerializer(jsonSerializer, objectMapper, true);
+        byte[] bytes = TransactionDataCodec.encode(typical());
+
+        assertThrows(SerializationException.class, () -> serializer.deserialize(Arrays.copyOf(bytes, 10)));
+    }
+
+    /**
+     * Comparação de tamanho e tempo com o JSON: o tamanho é verificado; os tempos são apenas informativos
+     */
+    @Test
+    void binaryIsSmallerThanJson() {
+        TransactionData data = typical();
+        byte[] binary = TransactionDataCodec.encode(data);
+        byte[] json = jsonSerializer.serialize(data);
+
+        assertTrue(binary.length * 3 < json.length, () -> "binário " + binary.length + " bytes, JSON " + json.length);
+
+        int iterations = 50_000;
+        long binaryNanos = time(iterations, () -> TransactionDataCodec.decode(TransactionDataCodec.encode(data)));
+        long jsonNanos = time(iterations, () -> {
+            try {
+                objectMapper.readValue(objectMapper.writeValueAsBytes(data), TransactionData.class);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        System.out.printf("TransactionData: binário %d bytes, %d ns/ida e volta; JSON %d bytes, %d ns/ida e volta%n",
+            binary.length, binaryNanos / iterations, json.length, jsonNanos / iterations);
+    }
+
+    private static long time(int iterations, Runnable roundTrip) {
+        // Aquecimento antes de medir
+        for (int i = 0; i < iterations; i++) {
+            roundTrip.run();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            roundTrip.run();
+        }
+        return System.nanoTime() - start;
+    }
+
+    private static TransactionData typical() {
+        TransactionData data = new TransactionData(
+            UUID.fromString("3f2c8a54-6d1e-4b7a-9c0f-2e5d8b1a7c34"),
+            new BigDecimal("250.00"),
+            new BigDecimal("2.5000"),
+            "ORO",
+            "TIB",
+            42L,
+            TransactionStatus.REQUESTED,
+            "Transação aprovada, aguardando confirmação",
+            new BigDecimal("0.0400"),
+            new ArrayList<>(),
+            List.of("Confirme a transação para finalizar", "A transação expira em 30 minutos")
+        );
+        data.setCreatedAt(LocalDateTime.of(2024, 1, 15, 10, 30, 0));
+        data.setExpiresAt(LocalDateTime.of(2024, 1, 15, 11, 0, 0));
+        return data;
+    }
+
+    private static TransactionData random(Random random) {
+        TransactionData data = new TransactionData();
+        data.setTransactionId(random.nextBoolean() ? new UUID(random.nextLong(), random.nextLong()) : null);
+        data.setConvertedAmount(random.nextBoolean() ? decimal(random) : null);
+        data.setRate(random.nextBoolean() ? decimal(random) : null);
+        data.setFromCurrencyCode(random.nextBoolean() ? pick(random, "ORO", "TIB", "XPT") : null);
+        data.setToCurrencyCode(random.nextBoolean() ? pick(random, "ORO", "TIB", "Lunar ☾") : null);
+        data.setProductId(random.nextBoolean() ? random.nextLong() : null);
+        data.setStatus(random.nextBoolean() ? TransactionStatus.values()[random.nextInt(4)] : null);
+        data.setReason(random.nextBoolean() ? pick(random, "Taxa elevada", "Motivo livre " + random.nextInt()) : null);
+        data.setRiskScore(random.nextBoolean() ? decimal(random) : null);
+        data.setWarnings(random.nextBoolean() ? texts(random) : null);
+        data.setRecommendations(random.nextBoolean() ? texts(random) : null);
+        if (random.nextBoolean()) {
+            // Precisão de segundos, como no JSON
+            LocalDateTime createdAt = LocalDateTime.of(2000, 1, 1, 0, 0).plusSeconds(random.nextInt(Integer.MAX_VALUE));
+            data.setCreatedAt(createdAt);
+            data.setExpiresAt(random.nextBoolean() ? createdAt.plusSeconds(random.nextInt(100_000) - 50_000) : null);
+        }
+        return data;
+    }
+
+    private static BigDecimal decimal(Random random) {
+        BigInteger unscaled = random.nextInt(10) == 0
+            ? new BigInteger(100, random).negate()
+            : BigInteger.valueOf(random.nextLong() >> random.nextInt(64));
+        return new BigDecimal(unscaled, random.nextInt(20) - 4);
+    }
+
+    private static List<String> texts(Random random) {
+        List<String> texts = new ArrayList<>();
+        int size = random.nextInt(4);
+        for (int i = 0; i < size; i++) {
+            texts.add(pick(random, "Taxa elevada", "Transação recomendada", "Aviso " + random.nextInt(1000)));
+        }
+        return texts;
+    }
+
+    private static String pick(Random random, String... values) {
+        return values[random.nextInt(values.length)];
+    }
+}
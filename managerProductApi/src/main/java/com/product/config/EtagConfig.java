@@ -0,0 +1,23 @@
+package com.product.config;
+
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
+
+/**
+ * Habilita ETag nas consultas de produto e reino.
+ * Clientes que enviam If-None-Match com o ETag atual recebem 304 sem corpo.
+ */
+@Configuration
+public class EtagConfig {
+
+    @Bean
+    public FilterRegistrationBean<ShallowEtagHeaderFilter> shallowEtagHeaderFilter() {
+        FilterRegistrationBean<ShallowEtagHeaderFilter> registration =
+            new FilterRegistrationBean<>(new ShallowEtagHeaderFilter());
+        registration.addUrlPatterns("/api/v1/products/*", "/api/v1/kingdoms/*");
+        registration.setName("etagFilter");
+        return registration;
+    }
+}
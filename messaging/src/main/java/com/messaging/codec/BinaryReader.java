@@ -0,0 +1,160 @@
+package com.messaging.codec;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.UUID;
+
+/**
+ * Lê mensagens gravadas por {@link BinaryWriter}.
+ * O codec percorre os campos com {@link #nextField()} e chama {@link #skipField()} nos que não conhece
+ */
+public final class BinaryReader {
+
+    private final byte[] data;
+    private int position;
+    private int tag;
+
+    public BinaryReader(byte[] data, int offset) {
+        this.data = data;
+        this.position = offset;
+    }
+
+    public int readByte() {
+        require(1);
+        return data[position++] & 0xFF;
+    }
+
+    /**
+     * Avança para o próximo campo e retorna seu número, ou -1 no fim da mensagem
+     */
+    public int nextField() {
+        if (position >= data.length) {
+            return -1;
+        }
+        tag = (int) readVarint();
+        return tag >>> 3;
+    }
+
+    public String readString() {
+        int length = readLength();
+        String value = new String(data, position, length, StandardCharsets.UTF_8);
+        position += length;
+        return value;
+    }
+
+    public long readLong() {
+        return unzigzag(readVarint());
+    }
+
+    public int readInt() {
+        return Math.toIntExact(readLong());
+    }
+
+    public int readUnsigned() {
+        return (int) readVarint();
+    }
+
+    public boolean readBoolean() {
+        return readVarint() != 0;
+    }
+
+    public float readFloat() {
+        require(4);
+        int bits = 0;
+        for (int i = 0; i < 4; i++) {
+            bits |= (data[position++] & 0xFF) << (8 * i);
+        }
+        return Float.intBitsToFloat(bits);
+    }
+
+    public BigDecimal readDecimal() {
+        int end = readLength() + position;
+        int scale = Math.toIntExact(unzigzag(readVarint()));
+        BigInteger unscaled = new BigInteger(Arrays.copyOfRange(data, position, end));
+        position = end;
+        return new BigDecimal(unscaled, scale);
+    }
+
+    public UUID readUuid() {
+        if (readLength() != 16) {
+            throw new IllegalArgumentException("UUID com tamanho inválido");
+        }
+        return new UUID(readFixed64(), readFixed64());
+    }
+
+    public LocalDateTime readTimestamp() {
+        int end = readLength() + position;
+        long seconds = unzigzag(readVarint());
+        int nanos = (int) readVarint();
+        position = end;
+        return LocalDateTime.ofEpochSecond(seconds, nanos, ZoneOffset.UTC);
+    }
+
+    public LocalDate readDate() {
+        return LocalDate.ofEpochDay(readLong());
+    }
+
+    /**
+     * Pula o valor do campo atual, usado para campos de versões mais novas do esquema
+     */
+    public void skipField() {
+        switch (tag & 0x7) {
+            case BinaryWriter.VARINT -> readVarint();
+            case BinaryWriter.FIXED64 -> skip(8);
+            case BinaryWriter.BYTES -> skip(readLength());
+            case BinaryWriter.FIXED32 -> skip(4);
+            default -> throw new IllegalArgumentException("Tipo de campo desconhecido: " + (tag & 0x7));
+        }
+    }
+
+    private long readFixed64() {
+        require(8);
+        long value = 0;
+        for (int i = 0; i < 8; i++) {
+            value |= (data[position++] & 0xFFL) << (8 * i);
+        }
+        return value;
+    }
+
+    private long readVarint() {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            require(1);
+            byte b = data[position++];
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Varint malformado");
+    }
+
+    private int readLength() {
+        int length = (int) readVarint();
+        if (length < 0) {
+            throw new IllegalArgumentException("Tamanho de campo inválido: " + length);
+        }
+        require(length);
+        return length;
+    }
+
+    private void skip(int count) {
+        require(count);
+        position += count;
+    }
+
+    private void require(int count) {
+        if (count > data.length - position) {
+            throw new IllegalArgumentException("Mensagem truncada");
+        }
+    }
+
+    private static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+}
@@ -0,0 +1,191 @@
+package com.messaging.codec;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.UUID;
+
+/**
+ * Escreve mensagens no formato binário compacto.
+ * Cada campo é gravado como uma tag (número do campo e tipo de valor, em varint) seguida do valor;
+ * campos nulos não ocupam espaço. Como o leitor consegue pular qualquer campo pelo tipo,
+ * versões novas do esquema podem acrescentar campos sem quebrar consumidores antigos.
+ */
+public final class BinaryWriter {
+
+    static final int VARINT = 0;
+    static final int FIXED64 = 1;
+    static final int BYTES = 2;
+    static final int FIXED32 = 5;
+
+    private byte[] buffer;
+    private int position;
+
+    public BinaryWriter() {
+        this(128);
+    }
+
+    public BinaryWriter(int initialCapacity) {
+        this.buffer = new byte[initialCapacity];
+    }
+
+    public void writeByte(int value) {
+        ensureCapacity(1);
+        buffer[position++] = (byte) value;
+    }
+
+    public void writeString(int field, String value) {
+        if (value == null) {
+            return;
+        }
+        writeTag(field, BYTES);
+        writeLengthDelimited(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public void writeLong(int field, Long value) {
+        if (value == null) {
+            return;
+        }
+        writeTag(field, VARINT);
+        writeVarint(zigzag(value));
+    }
+
+    public void writeInt(int field, Integer value) {
+        if (value == null) {
+            return;
+        }
+        writeLong(field, value.longValue());
+    }
+
+    public void writeUnsigned(int field, int value) {
+        writeTag(field, VARINT);
+        writeVarint(value);
+    }
+
+    /**
+     * Booleanos só são gravados quando verdadeiros; ausente equivale a false
+     */
+    public void writeBoolean(int field, boolean value) {
+        if (value) {
+            writeUnsigned(field, 1);
+        }
+    }
+
+    public void writeFloat(int field, Float value) {
+        if (value == null) {
+            return;
+        }
+        writeTag(field, FIXED32);
+        int bits = Float.floatToIntBits(value);
+        ensureCapacity(4);
+        for (int i = 0; i < 4; i++) {
+            buffer[position++] = (byte) (bits >>> (8 * i));
+        }
+    }
+
+    /**
+     * BigDecimal como escala (zigzag) seguida do valor sem escala em complemento de dois
+     */
+    public void writeDecimal(int field, BigDecimal value) {
+        if (value == null) {
+            return;
+        }
+        byte[] unscaled = value.unscaledValue().toByteArray();
+        writeTag(field, BYTES);
+        writeVarint(varintSize(zigzag(value.scale())) + unscaled.length);
+        writeVarint(zigzag(value.scale()));
+        writeRaw(unscaled);
+    }
+
+    public void writeUuid(int field, UUID value) {
+        if (value == null) {
+            return;
+        }
+        writeTag(field, BYTES);
+        writeVarint(16);
+        writeFixed64(value.getMostSignificantBits());
+        writeFixed64(value.getLeastSignificantBits());
+    }
+
+    /**
+     * Data/hora como segundos de época (UTC, zigzag) seguidos dos nanossegundos
+     */
+    public void writeTimestamp(int field, LocalDateTime value) {
+        if (value == null) {
+            return;
+        }
+        long seconds = zigzag(value.toEpochSecond(ZoneOffset.UTC));
+        int nanos = value.getNano();
+        writeTag(field, BYTES);
+        writeVarint(varintSize(seconds) + varintSize(nanos));
+        writeVarint(seconds);
+        writeVarint(nanos);
+    }
+
+    /**
+     * Data como dia de época (zigzag)
+     */
+    public void writeDate(int field, LocalDate value) {
+        if (value == null) {
+            return;
+        }
+        writeLong(field, value.toEpochDay());
+    }
+
+    public byte[] toByteArray() {
+        return Arrays.copyOf(buffer, position);
+    }
+
+    private void writeTag(int field, int wireType) {
+        writeVarint(((long) field << 3) | wireType);
+    }
+
+    private void writeLengthDelimited(byte[] bytes) {
+        writeVarint(bytes.length);
+        writeRaw(bytes);
+    }
+
+    private void writeRaw(byte[] bytes) {
+        ensureCapacity(bytes.length);
+        System.arraycopy(bytes, 0, buffer, position, bytes.length);
+        position += bytes.length;
+    }
+
+    private void writeFixed64(long value) {
+        ensureCapacity(8);
+        for (int i = 0; i < 8; i++) {
+            buffer[position++] = (byte) (value >>> (8 * i));
+        }
+    }
+
+    private void writeVarint(long value) {
+        ensureCapacity(10);
+        while ((value & ~0x7FL) != 0) {
+            buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buffer[position++] = (byte) value;
+    }
+
+    private void ensureCapacity(int extra) {
+        if (position + extra > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, position + extra));
+        }
+    }
+
+    private static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static int varintSize(long value) {
+        int size = 1;
+        while ((value & ~0x7FL) != 0) {
+            value >>>= 7;
+            size++;
+        }
+        return size;
+    }
+}
@@ -0,0 +1,38 @@
+package com.messaging.codec;
+
+import java.util.UUID;
+
+/**
+ * Formas compactas de campos que o esquema JSON mantém como texto.
+ * Cada campo tem dois números: o compacto, usado quando o texto volta idêntico da conversão,
+ * e o textual, usado para qualquer outro valor. Na leitura vale o que estiver presente.
+ */
+final class CompactFields {
+
+    private CompactFields() {
+    }
+
+    /**
+     * Identificadores em formato UUID ocupam 16 bytes em vez de 36 caracteres
+     */
+    static void writeIdentifier(BinaryWriter writer, int textField, int uuidField, String value) {
+        UUID uuid = asUuid(value);
+        if (uuid != null) {
+            writer.writeUuid(uuidField, uuid);
+        } else {
+            writer.writeString(textField, value);
+        }
+    }
+
+    private static UUID asUuid(String value) {
+        if (value == null || value.length() != 36) {
+            return null;
+        }
+        try {
+            UUID uuid = UUID.fromString(value);
+            return uuid.toString().equals(value) ? uuid : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
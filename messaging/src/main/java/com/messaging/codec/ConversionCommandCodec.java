@@ -0,0 +1,91 @@
+package com.messaging.codec;
+
+import com.messaging.command.ConversionCommand;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Codec binário de {@link ConversionCommand}
+ */
+public final class ConversionCommandCodec implements MessageCodec<ConversionCommand> {
+
+    public static final int SCHEMA_ID = 1;
+    public static final int VERSION = 1;
+
+    // Números dos campos: nunca reaproveitar
+    private static final int COMMAND_ID = 1;
+    private static final int COMMAND_ID_UUID = 2;
+    private static final int CORRELATION_ID = 3;
+    private static final int CORRELATION_ID_UUID = 4;
+    private static final int TIMESTAMP = 5; // textual: só lido, de mensagens de producers antigos
+    private static final int TIMESTAMP_COMPACT = 6;
+    private static final int TRANSACTION_ID = 7;
+    private static final int TRANSACTION_ID_UUID = 8;
+    private static final int FROM_CURRENCY_CODE = 9;
+    private static final int TO_CURRENCY_CODE = 10;
+    private static final int QUANTITY_PRODUCT = 11;
+    private static final int QUANTITY_CURRENCY = 12;
+    private static final int PRODUCT_ID = 13;
+    private static final int KINGDOM_ID = 14;
+    private static final int CONVERSION_DATE = 15; // textual: só lido, de mensagens de producers antigos
+    private static final int CONVERSION_DATE_EPOCH_DAY = 16;
+
+    @Override
+    public int schemaId() {
+        return SCHEMA_ID;
+    }
+
+    @Override
+    public int version() {
+        return VERSION;
+    }
+
+    @Override
+    public Class<ConversionCommand> type() {
+        return ConversionCommand.class;
+    }
+
+    @Override
+    public void write(ConversionCommand command, BinaryWriter writer) {
+        CompactFields.writeIdentifier(writer, COMMAND_ID, COMMAND_ID_UUID, command.getCommandId());
+        CompactFields.writeIdentifier(writer, CORRELATION_ID, CORRELATION_ID_UUID, command.getCorrelationId());
+        writer.writeTimestamp(TIMESTAMP_COMPACT, command.getTimestamp());
+        CompactFields.writeIdentifier(writer, TRANSACTION_ID, TRANSACTION_ID_UUID, command.getTransactionId());
+        writer.writeString(FROM_CURRENCY_CODE, command.getFromCurrencyCode());
+        writer.writeString(TO_CURRENCY_CODE, command.getToCurrencyCode());
+        writer.writeInt(QUANTITY_PRODUCT, command.getQuantityProduct());
+        writer.writeFloat(QUANTITY_CURRENCY, command.getQuantityCurrency());
+        writer.writeLong(PRODUCT_ID, command.getProductId());
+        writer.writeLong(KINGDOM_ID, command.getKingdomId());
+        writer.writeDate(CONVERSION_DATE_EPOCH_DAY, command.getConversionDate());
+    }
+
+    @Override
+    public ConversionCommand read(BinaryReader reader, int version) {
+        ConversionCommand command = new ConversionCommand();
+        int field;
+        while ((field = reader.nextField()) != -1) {
+            switch (field) {
+                case COMMAND_ID -> command.setCommandId(reader.readString());
+                case COMMAND_ID_UUID -> command.setCommandId(reader.readUuid().toString());
+                case CORRELATION_ID -> command.setCorrelationId(reader.readString());
+                case CORRELATION_ID_UUID -> command.setCorrelationId(reader.readUuid().toString());
+                case TIMESTAMP -> command.setTimestamp(LocalDateTime.parse(reader.readString()));
+                case TIMESTAMP_COMPACT -> command.setTimestamp(reader.readTimestamp());
+                case TRANSACTION_ID -> command.setTransactionId(reader.readString());
+                case TRANSACTION_ID_UUID -> command.setTransactionId(reader.readUuid().toString());
+                case FROM_CURRENCY_CODE -> command.setFromCurrencyCode(reader.readString());
+                case TO_CURRENCY_CODE -> command.setToCurrencyCode(reader.readString());
+                case QUANTITY_PRODUCT -> command.setQuantityProduct(reader.readInt());
+                case QUANTITY_CURRENCY -> command.setQuantityCurrency(reader.readFloat());
+                case PRODUCT_ID -> command.setProductId(reader.readLong());
+                case KINGDOM_ID -> command.setKingdomId(reader.readLong());
+                case CONVERSION_DATE -> command.setConversionDate(LocalDate.parse(reader.readString()));
+                case CONVERSION_DATE_EPOCH_DAY -> command.setConversionDate(reader.readDate());
+                default -> reader.skipField();
+            }
+        }
+        return command;
+    }
+}
@@ -0,0 +1,155 @@
+package com.messaging.codec;
+
+import com.messaging.event.ConversionMessageEvent;
+import com.messaging.event.ConversionStatus;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Codec binário de {@link ConversionMessageEvent}.
+ * Subclasses do evento (como a da exchangeApi) são gravadas com os campos do esquema canônico
+ */
+public final class ConversionMessageEventCodec implements MessageCodec<ConversionMessageEvent> {
+
+    public static final int SCHEMA_ID = 2;
+    public static final int VERSION = 1;
+
+    // Números dos campos: nunca reaproveitar
+    private static final int EVENT_ID = 1;
+    private static final int COMMAND_ID = 2;
+    private static final int COMMAND_ID_UUID = 3;
+    private static final int TRANSACTION_ID = 4;
+    private static final int TRANSACTION_ID_UUID = 5;
+    private static final int CORRELATION_ID = 6;
+    private static final int CORRELATION_ID_UUID = 7;
+    private static final int CONVERTED_AMOUNT = 8;
+    private static final int RATE = 9;
+    private static final int FROM_CURRENCY_CODE = 10;
+    private static final int TO_CURRENCY_CODE = 11;
+    private static final int STATUS = 12;
+    private static final int REASON = 13;
+    private static final int RISK_SCORE = 14;
+    private static final int WARNING = 15;
+    private static final int RECOMMENDATION = 16;
+    private static final int CAN_PROCEED = 17;
+    private static final int REQUIRES_APPROVAL = 18;
+    private static final int PROCESSED_AT = 19;
+    private static final int EXPIRES_AT = 20;
+    private static final int CONFIRMATION_URL = 21;
+
+    // Códigos fixos dos status: a posição no array é o código gravado, nunca reordenar
+    private static final ConversionStatus[] STATUSES = {
+        null,
+        ConversionStatus.REQUESTED,
+        ConversionStatus.APPROVED,
+        ConversionStatus.NOT_APPROVED,
+        ConversionStatus.WARNING
+    };
+
+    @Override
+    public int schemaId() {
+        return SCHEMA_ID;
+    }
+
+    @Override
+    public int version() {
+        return VERSION;
+    }
+
+    @Override
+    public Class<ConversionMessageEvent> type() {
+        return ConversionMessageEvent.class;
+    }
+
+    @Override
+    public void write(ConversionMessageEvent event, BinaryWriter writer) {
+        writer.writeUuid(EVENT_ID, event.getEventId());
+        CompactFields.writeIdentifier(writer, COMMAND_ID, COMMAND_ID_UUID, event.getCommandId());
+        CompactFields.writeIdentifier(writer, TRANSACTION_ID, TRANSACTION_ID_UUID, event.getTransactionId());
+        CompactFields.writeIdentifier(writer, CORRELATION_ID, CORRELATION_ID_UUID, event.getCorrelationId());
+        writer.writeDecimal(CONVERTED_AMOUNT, event.getConvertedAmount());
+        writer.writeDecimal(RATE, event.getRate());
+        writer.writeString(FROM_CURRENCY_CODE, event.getFromCurrencyCode());
+        writer.writeString(TO_CURRENCY_CODE, event.getToCurrencyCode());
+        if (event.getStatus() != null) {
+            writer.writeUnsigned(STATUS, statusCode(event.getStatus()));
+        }
+        writer.writeString(REASON, event.getReason());
+        writer.writeDecimal(RISK_SCORE, event.getRiskScore());
+        writeList(writer, WARNING, event.getWarnings());
+        writeList(writer, RECOMMENDATION, event.getRecommendations());
+        writer.writeBoolean(CAN_PROCEED, event.isCanProceed());
+        writer.writeBoolean(REQUIRES_APPROVAL, event.isRequiresApproval());
+        writer.writeTimestamp(PROCESSED_AT, event.getProcessedAt());
+        writer.writeTimestamp(EXPIRES_AT, event.getExpiresAt());
+        writer.writeString(CONFIRMATION_URL, event.getConfirmationUrl());
+    }
+
+    @Override
+    public ConversionMessageEvent read(BinaryReader reader, int version) {
+        ConversionMessageEvent event = new ConversionMessageEvent();
+        int field;
+        while ((field = reader.nextField()) != -1) {
+            switch (field) {
+                case EVENT_ID -> event.setEventId(reader.readUuid());
+                case COMMAND_ID -> event.setCommandId(reader.readString());
+                case COMMAND_ID_UUID -> event.setCommandId(reader.readUuid().toString());
+                case TRANSACTION_ID -> event.setTransactionId(reader.readString());
+                case TRANSACTION_ID_UUID -> event.setTransactionId(reader.readUuid().toString());
+                case CORRELATION_ID -> event.setCorrelationId(reader.readString());
+                case CORRELATION_ID_UUID -> event.setCorrelationId(reader.readUuid().toString());
+                case CONVERTED_AMOUNT -> event.setConvertedAmount(reader.readDecimal());
+                case RATE -> event.setRate(reader.readDecimal());
+                case FROM_CURRENCY_CODE -> event.setFromCurrencyCode(reader.readString());
+                case TO_CURRENCY_CODE -> event.setToCurrencyCode(reader.readString());
+                case STATUS -> event.setStatus(status(reader.readUnsigned()));
+                case REASON -> event.setReason(reader.readString());
+                case RISK_SCORE -> event.setRiskScore(reader.readDecimal());
+                case WARNING -> event.setWarnings(append(event.getWarnings(), reader.readString()));
+                case RECOMMENDATION -> event.setRecommendations(append(event.getRecommendations(), reader.readString()));
+                case CAN_PROCEED -> event.setCanProceed(reader.readBoolean());
+                case REQUIRES_APPROVAL -> event.setRequiresApproval(reader.readBoolean());
+                case PROCESSED_AT -> event.setProcessedAt(reader.readTimestamp());
+                case EXPIRES_AT -> event.setExpiresAt(reader.readTimestamp());
+                case CONFIRMATION_URL -> event.setConfirmationUrl(reader.readString());
+                default -> reader.skipField();
+            }
+        }
+        return event;
+    }
+
+    /**
+     * Listas viram um campo repetido por elemento
+     */
+    private static void writeList(BinaryWriter writer, int field, List<String> values) {
+        if (values == null) {
+            return;
+        }
+        for (String value : values) {
+            writer.writeString(field, value);
+        }
+    }
+
+    private static List<String> append(List<String> values, String value) {
+        List<String> list = values != null ? values : new ArrayList<>();
+        list.add(value);
+        return list;
+    }
+
+    private static int statusCode(ConversionStatus status) {
+        for (int i = 1; i < STATUSES.length; i++) {
+            if (STATUSES[i] == status) {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException("Status sem código no esquema: " + status);
+    }
+
+    /**
+     * Códigos de versões mais novas que este consumidor não conhece são lidos como nulos
+     */
+    private static ConversionStatus status(int code) {
+        return code > 0 && code < STATUSES.length ? STATUSES[code] : null;
+    }
+}
@@ -0,0 +1,24 @@
+package com.messaging.codec;
+
+/**
+ * Codec binário de um tipo de mensagem.
+ * O schemaId identifica o tipo na mensagem e nunca muda; a versão sobe quando campos são acrescentados.
+ * Regras de evolução: números de campo não são reaproveitados nem mudam de tipo, campos novos
+ * recebem números novos e campos ausentes são lidos como nulos. Assim um consumidor lê mensagens
+ * de versões anteriores e posteriores à sua.
+ */
+public interface MessageCodec<T> {
+
+    int schemaId();
+
+    int version();
+
+    Class<T> type();
+
+    void write(T message, BinaryWriter writer);
+
+    /**
+     * Lê o corpo da mensagem; version é a versão com que ela foi gravada
+     */
+    T read(BinaryReader reader, int version);
+}
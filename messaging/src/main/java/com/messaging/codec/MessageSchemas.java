@@ -0,0 +1,80 @@
+package com.messaging.codec;
+
+import java.util.List;
+
+/**
+ * Registro dos esquemas binários conhecidos.
+ * Cabeçalho de toda mensagem: MAGIC, schemaId e versão do esquema, um byte cada
+ */
+public final class MessageSchemas {
+
+    /**
+     * Primeiro byte das mensagens binárias. Não é um início válido de JSON, o que permite
+     * distinguir registros antigos sem depender de headers
+     */
+    public static final byte MAGIC = (byte) 0xC5;
+
+    public static final int HEADER_SIZE = 3;
+
+    private static final List<MessageCodec<?>> CODECS = List.of(
+        new ConversionCommandCodec(),
+        new ConversionMessageEventCodec()
+    );
+
+    private MessageSchemas() {
+    }
+
+    /**
+     * Codec do tipo da mensagem (ou de um supertipo dela), ou null se não houver esquema binário
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> MessageCodec<T> codecFor(Object message) {
+        for (MessageCodec<?> codec : CODECS) {
+            if (codec.type().isInstance(message)) {
+                return (MessageCodec<T>) codec;
+            }
+        }
+        return null;
+    }
+
+    public static MessageCodec<?> codecFor(int schemaId) {
+        for (MessageCodec<?> codec : CODECS) {
+            if (codec.schemaId() == schemaId) {
+                return codec;
+            }
+        }
+        return null;
+    }
+
+    public static boolean isBinary(byte[] data) {
+        return data != null && data.length >= HEADER_SIZE && data[0] == MAGIC;
+    }
+
+    public static <T> byte[] encode(MessageCodec<T> codec, T message) {
+        BinaryWriter writer = new BinaryWriter();
+        writer.writeByte(MAGIC);
+        writer.writeByte(codec.schemaId());
+        writer.writeByte(codec.version());
+        codec.write(message, writer);
+        return writer.toByteArray();
+    }
+
+    /**
+     * Decodifica uma mensagem binária. Versões mais novas que a do codec local são lidas
+     * com os campos conhecidos; os demais são ignorados
+     */
+    public static Object decode(byte[] data) {
+        if (!isBinary(data)) {
+            throw new IllegalArgumentException("Mensagem não está no formato binário");
+        }
+        BinaryReader reader = new BinaryReader(data, 0);
+        reader.readByte();
+        int schemaId = reader.readByte();
+        int version = reader.readByte();
+        MessageCodec<?> codec = codecFor(schemaId);
+        if (codec == null) {
+            throw new IllegalArgumentException("Esquema binário desconhecido: " + schemaId);
+        }
+        return codec.read(reader, version);
+    }
+}
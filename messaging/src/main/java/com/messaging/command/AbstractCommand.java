@@ -1,21 +1,27 @@
-package com.exchange.domain.command;
+package com.messaging.command;
 
+import com.fasterxml.jackson.annotation.JsonFormat;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.*;
 
 import java.io.Serializable;
-import java.util.UUID;
+import java.time.LocalDateTime;
 
 @Getter
+@Setter
+@ToString
+@EqualsAndHashCode
 @AllArgsConstructor
 @NoArgsConstructor
 public abstract class AbstractCommand implements Serializable {
     @JsonProperty("command_id")
     protected String commandId;
-    
+
     @JsonProperty("correlation_id")
     protected String correlationId;
-    
+
+    // Em JSON continua como texto ISO-8601, o formato que os consumidores já leem
     @JsonProperty("timestamp")
-    protected String timestamp;
-} 
\ No newline at end of file
+    @JsonFormat(shape = JsonFormat.Shape.STRING)
+    protected LocalDateTime timestamp;
+}
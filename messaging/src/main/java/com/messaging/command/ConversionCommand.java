@@ -0,0 +1,64 @@
+package com.messaging.command;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Comando de conversão enviado para o tópico conversion-commands.
+ * Esquema canônico compartilhado entre quem publica e quem consome; no formato binário
+ * é codificado por {@link com.messaging.codec.ConversionCommandCodec}
+ */
+@Getter
+@Setter
+@ToString(callSuper = true)
+@EqualsAndHashCode(callSuper = true)
+@NoArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class ConversionCommand extends AbstractCommand {
+
+    @JsonProperty("transaction_id")
+    private String transactionId;
+
+    @JsonProperty("from_currency_code")
+    private String fromCurrencyCode;
+
+    @JsonProperty("to_currency_code")
+    private String toCurrencyCode;
+
+    @JsonProperty("quantity_product")
+    private Integer quantityProduct;
+
+    @JsonProperty("quantity_currency")
+    private Float quantityCurrency;
+
+    @JsonProperty("product_id")
+    private Long productId;
+
+    @JsonProperty("kingdom_id")
+    private Long kingdomId;
+
+    @JsonProperty("conversion_date")
+    @JsonFormat(shape = JsonFormat.Shape.STRING)
+    private LocalDate conversionDate;
+
+    @Builder
+    public ConversionCommand(String commandId, String correlationId, LocalDateTime timestamp,
+                             String transactionId, String fromCurrencyCode, String toCurrencyCode,
+                             Integer quantityProduct, Float quantityCurrency, Long productId,
+                             Long kingdomId, LocalDate conversionDate) {
+        super(commandId, correlationId, timestamp);
+        this.transactionId = transactionId;
+        this.fromCurrencyCode = fromCurrencyCode;
+        this.toCurrencyCode = toCurrencyCode;
+        this.quantityProduct = quantityProduct;
+        this.quantityCurrency = quantityCurrency;
+        this.productId = productId;
+        this.kingdomId = kingdomId;
+        this.conversionDate = conversionDate;
+    }
+}
@@ -1,29 +1,38 @@
-package com.transaction.domain.dto;
+package com.messaging.event;
 
-import com.transaction.domain.enums.TransactionStatus;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 
+/**
+ * Evento de resultado de conversão publicado no tópico conversion-events.
+ * Esquema canônico compartilhado; no formato binário é codificado por
+ * {@link com.messaging.codec.ConversionMessageEventCodec}
+ */
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true)
 public class ConversionMessageEvent {
     private UUID eventId;
-    private UUID commandId;
+    private String commandId;
     private String transactionId;
     private String correlationId;
 
+    // Dados da conversão
     private BigDecimal convertedAmount;
     private BigDecimal rate;
     private String fromCurrencyCode;
     private String toCurrencyCode;
 
-    private TransactionStatus status;
+    // Status e resultado
+    private ConversionStatus status;
     private String reason;
     private BigDecimal riskScore;
     private List<String> warnings;
@@ -31,7 +40,8 @@ public class ConversionMessageEvent {
     private boolean canProceed;
     private boolean requiresApproval;
 
+    // Metadados do evento
     private LocalDateTime processedAt;
     private LocalDateTime expiresAt;
     private String confirmationUrl;
-} 
\ No newline at end of file
+}
@@ -0,0 +1,12 @@
+package com.messaging.event;
+
+/**
+ * Status do resultado de uma conversão, como trafega nos eventos.
+ * Os nomes são os mesmos do TransactionStatus de cada API
+ */
+public enum ConversionStatus {
+    REQUESTED,
+    APPROVED,
+    NOT_APPROVED,
+    WARNING
+}
@@ -0,0 +1,93 @@
+package com.messaging.kafka;
+
+import com.messaging.codec.MessageSchemas;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.serialization.Deserializer;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+
+import java.util.function.Function;
+
+/**
+ * Deserializer Kafka que lê tanto o formato binário compacto quanto registros JSON antigos.
+ * O formato é reconhecido pelo primeiro byte da mensagem. Em JSON o tipo vem do deserializer
+ * (e não de headers de tipo), exceto na variante sem tipo, que aceita só os pacotes do esquema compartilhado.
+ */
+public class CompactMessageDeserializer<T> implements Deserializer<T> {
+
+    private static final String[] SCHEMA_PACKAGES = {"com.messaging.command", "com.messaging.event"};
+
+    private final Class<?> schemaType;
+
+    private final Function<Object, T> mapper;
+
+    private final JsonDeserializer<?> jsonDeserializer;
+
+    /**
+     * Variante sem tipo: em JSON usa os headers de tipo do producer
+     */
+    @SuppressWarnings("unchecked")
+    public CompactMessageDeserializer() {
+        this.schemaType = Object.class;
+        this.mapper = value -> (T) value;
+        JsonDeserializer<Object> json = new JsonDeserializer<>();
+        json.addTrustedPackages(SCHEMA_PACKAGES);
+        this.jsonDeserializer = json;
+    }
+
+    public CompactMessageDeserializer(Class<T> targetType) {
+        this(targetType, targetType::cast);
+    }
+
+    private CompactMessageDeserializer(Class<?> schemaType, Function<Object, T> mapper) {
+        this.schemaType = schemaType;
+        this.mapper = mapper;
+        this.jsonDeserializer = typedJson(schemaType);
+    }
+
+    /**
+     * Lê a mensagem no esquema canônico schemaType e entrega ao listener o resultado de mapper,
+     * para listeners que trabalham com outra representação do mesmo comando ou evento
+     */
+    public static <S, T> CompactMessageDeserializer<T> mapping(Class<S> schemaType, Function<? super S, ? extends T> mapper) {
+        return new CompactMessageDeserializer<>(schemaType, value -> mapper.apply(schemaType.cast(value)));
+    }
+
+    @Override
+    public T deserialize(String topic, byte[] data) {
+        return deserialize(topic, null, data);
+    }
+
+    @Override
+    public T deserialize(String topic, Headers headers, byte[] data) {
+        if (data == null) {
+            return null;
+        }
+
+        Object value;
+        if (MessageSchemas.isBinary(data)) {
+            try {
+                value = MessageSchemas.decode(data);
+            } catch (RuntimeException e) {
+                throw new SerializationException("Mensagem binária inválida no tópico " + topic, e);
+            }
+            if (!schemaType.isInstance(value)) {
+                throw new SerializationException("Mensagem do tipo " + value.getClass().getName()
+                    + " não esperada no tópico " + topic + " (esperado " + schemaType.getName() + ")");
+            }
+        } else {
+            // Registro gravado em JSON, antes do formato binário ou com ele desligado
+            value = headers != null ? jsonDeserializer.deserialize(topic, headers, data) : jsonDeserializer.deserialize(topic, data);
+        }
+        return value != null ? mapper.apply(value) : null;
+    }
+
+    @Override
+    public void close() {
+        jsonDeserializer.close();
+    }
+
+    private static <S> JsonDeserializer<S> typedJson(Class<S> type) {
+        return new JsonDeserializer<>(type, false);
+    }
+}
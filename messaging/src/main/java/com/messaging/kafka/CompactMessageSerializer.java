@@ -0,0 +1,64 @@
+package com.messaging.kafka;
+
+import com.messaging.codec.MessageCodec;
+import com.messaging.codec.MessageSchemas;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.serialization.Serializer;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+import java.util.Map;
+
+/**
+ * Serializer Kafka que grava no formato binário compacto os tipos com esquema registrado em
+ * {@link MessageSchemas} e em JSON todos os demais.
+ * Com binary-enabled desligado tudo sai em JSON, o que permite atualizar os consumidores antes
+ * de ligar o formato binário nos producers.
+ */
+public class CompactMessageSerializer<T> implements Serializer<T> {
+
+    public static final String BINARY_ENABLED = "messaging.compact.binary-enabled";
+
+    private final JsonSerializer<T> jsonSerializer = new JsonSerializer<>();
+
+    private boolean binaryEnabled;
+
+    public CompactMessageSerializer() {
+        this(true);
+    }
+
+    public CompactMessageSerializer(boolean binaryEnabled) {
+        this.binaryEnabled = binaryEnabled;
+    }
+
+    @Override
+    public void configure(Map<String, ?> configs, boolean isKey) {
+        Object flag = configs.get(BINARY_ENABLED);
+        if (flag != null) {
+            binaryEnabled = Boolean.parseBoolean(flag.toString());
+        }
+    }
+
+    @Override
+    public byte[] serialize(String topic, T data) {
+        return serialize(topic, null, data);
+    }
+
+    @Override
+    public byte[] serialize(String topic, Headers headers, T data) {
+        if (data == null) {
+            return null;
+        }
+        if (binaryEnabled) {
+            MessageCodec<Object> codec = MessageSchemas.codecFor(data);
+            if (codec != null) {
+                return MessageSchemas.encode(codec, data);
+            }
+        }
+        return headers != null ? jsonSerializer.serialize(topic, headers, data) : jsonSerializer.serialize(topic, data);
+    }
+
+    @Override
+    public void close() {
+        jsonSerializer.close();
+    }
+}
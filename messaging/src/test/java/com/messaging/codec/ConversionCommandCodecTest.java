@@ -0,0 +1,155 @@
+package com.messaging.codec;
+
+import com.messaging.command.ConversionCommand;
+import com.messaging.kafka.CompactMessageDeserializer;
+import com.messaging.kafka.CompactMessageSerializer;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ConversionCommandCodecTest {
+
+    private static final String TOPIC = "conversion-commands";
+
+    private final CompactMessageSerializer<ConversionCommand> serializer = new CompactMessageSerializer<>(true);
+
+    private final CompactMessageDeserializer<ConversionCommand> deserializer = new CompactMessageDeserializer<>(ConversionCommand.class);
+
+    // Mesmo serializer JSON usado com o formato binário desligado
+    private final JsonSerializer<ConversionCommand> jsonSerializer = new JsonSerializer<>();
+
+    @Test
+    void roundTripsTypicalCommand() {
+        ConversionCommand command = typical();
+
+        byte[] bytes = serializer.serialize(TOPIC, command);
+
+        assertTrue(MessageSchemas.isBinary(bytes));
+        assertEquals(command, deserializer.deserialize(TOPIC, bytes));
+    }
+
+    @Test
+    void roundTripsNullsAndNonUuidIdentifiers() {
+        ConversionCommand command = ConversionCommand.builder()
+            .commandId("cmd-42")
+            .fromCurrencyCode("Lunar ☾")
+            .quantityCurrency(0.5f)
+            .build();
+
+        ConversionCommand decoded = deserializer.deserialize(TOPIC, serializer.serialize(TOPIC, command));
+
+        assertEquals(command, decoded);
+        assertNull(decoded.getTimestamp());
+        assertNull(decoded.getConversionDate());
+    }
+
+    @Test
+    void timestampAndDateAreWrittenAsEpochNumbers() {
+        ConversionCommand command = typical();
+
+        byte[] bytes = serializer.serialize(TOPIC, command);
+        String asText = new String(bytes, StandardCharsets.ISO_8859_1);
+
+        // Nenhum trecho ISO-8601 no binário: timestamp em segundos/nanos de época e data em dia de época
+        assertFalse(asText.contains("2024-01-15"), asText);
+        BinaryReader reader = new BinaryReader(bytes, MessageSchemas.HEADER_SIZE);
+        int field;
+        boolean timestamp = false;
+        boolean date = false;
+        while ((field = reader.nextField()) != -1) {
+            if (field == 6) {
+                timestamp = reader.readTimestamp().equals(command.getTimestamp());
+            } else if (field == 16) {
+                date = reader.readLong() == command.getConversionDate().toEpochDay();
+            } else {
+                reader.skipField();
+            }
+        }
+        assertTrue(timestamp && date);
+    }
+
+    @Test
+    void readsTextualTimestampAndDateFromOlderProducers() {
+        // Producers anteriores gravavam em texto os valores que não voltavam idênticos do ISO-8601
+        BinaryWriter writer = new BinaryWriter();
+        writer.writeByte(MessageSchemas.MAGIC);
+        writer.writeByte(ConversionCommandCodec.SCHEMA_ID);
+        writer.writeByte(ConversionCommandCodec.VERSION);
+        writer.writeString(1, "cmd-legacy");
+        writer.writeString(5, "2024-01-15T10:30:00");
+        writer.writeString(15, "2024-01-15");
+
+        ConversionCommand decoded = deserializer.deserialize(TOPIC, writer.toByteArray());
+
+        assertEquals("cmd-legacy", decoded.getCommandId());
+        assertEquals(LocalDateTime.of(2024, 1, 15, 10, 30), decoded.getTimestamp());
+        assertEquals(LocalDate.of(2024, 1, 15), decoded.getConversionDate());
+    }
+
+    @Test
+    void jsonKeepsIsoTextAndStillDecodes() {
+        ConversionCommand command = typical();
+
+        byte[] json = new CompactMessageSerializer<ConversionCommand>(false).serialize(TOPIC, command);
+        String text = new String(json, StandardCharsets.UTF_8);
+
+        assertTrue(text.contains("\"timestamp\":\"2024-01-15T10:30:00.123\""), text);
+        assertTrue(text.contains("\"conversion_date\":\"2024-01-15\""), text);
+        assertEquals(command, deserializer.deserialize(TOPIC, json));
+    }
+
+    /**
+     * Comparação de tamanho e tempo com o JSON: o tamanho é verificado; os tempos são apenas informativos
+     */
+    @Test
+    void binaryIsSmallerThanJson() {
+        ConversionCommand command = typical();
+        byte[] binary = serializer.serialize(TOPIC, command);
+        byte[] json = jsonSerializer.serialize(TOPIC, command);
+
+        assertTrue(binary.length * 3 < json.length, () -> "binário " + binary.length + " bytes, JSON " + json.length);
+
+        CompactMessageSerializer<ConversionCommand> jsonOnly = new CompactMessageSerializer<>(false);
+        int iterations = 50_000;
+        long binaryNanos = time(iterations, () -> deserializer.deserialize(TOPIC, serializer.serialize(TOPIC, command)));
+        long jsonNanos = time(iterations, () -> deserializer.deserialize(TOPIC, jsonOnly.serialize(TOPIC, command)));
+        System.out.printf("ConversionCommand: binário %d bytes, %d ns/ida e volta; JSON %d bytes, %d ns/ida e volta%n",
+            binary.length, binaryNanos / iterations, json.length, jsonNanos / iterations);
+    }
+
+    private static long time(int iterations, Runnable roundTrip) {
+        // Aquecimento antes de medir
+        for (int i = 0; i < iterations; i++) {
+            roundTrip.run();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            roundTrip.run();
+        }
+        return System.nanoTime() - start;
+    }
+
+    private static ConversionCommand typical() {
+        return ConversionCommand.builder()
+            .commandId("8d3f5a2e-1c4b-4e7a-9f60-2b8c7d1e3a45")
+            .correlationId("0a9b8c7d-6e5f-4a3b-8c1d-2e3f4a5b6c7d")
+            .timestamp(LocalDateTime.of(2024, 1, 15, 10, 30, 0, 123_000_000))
+            .transactionId("3f2c8a54-6d1e-4b7a-9c0f-2e5d8b1a7c34")
+            .fromCurrencyCode("ORO")
+            .toCurrencyCode("TIB")
+            .quantityProduct(3)
+            .quantityCurrency(250.5f)
+            .productId(42L)
+            .kingdomId(7L)
+            .conversionDate(LocalDate.of(2024, 1, 15))
+            .build();
+    }
+}
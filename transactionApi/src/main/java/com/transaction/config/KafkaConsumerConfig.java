@@ -1,6 +1,7 @@
 package com.transaction.config;
 
-import com.transaction.domain.dto.ConversionMessageEvent;
+import com.messaging.event.ConversionMessageEvent;
+import com.messaging.kafka.CompactMessageDeserializer;
 import lombok.extern.log4j.Log4j2;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
 import org.apache.kafka.common.serialization.StringDeserializer;
@@ -13,7 +14,6 @@ import org.springframework.kafka.core.ConsumerFactory;
 import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
 import org.springframework.kafka.listener.ContainerProperties;
 import org.springframework.kafka.support.serializer.ErrorHandlingDeserializer;
-import org.springframework.kafka.support.serializer.JsonDeserializer;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -35,8 +35,7 @@ public class KafkaConsumerConfig {
     public ConsumerFactory<String, Object> consumerFactory() {
         final Map<String, Object> configProps = new HashMap<>();
 
-        final JsonDeserializer<Object> jsonDeserializer = new JsonDeserializer<>();
-        jsonDeserializer.addTrustedPackages("*");
+        final var valueDeserializer = new ErrorHandlingDeserializer<Object>(new CompactMessageDeserializer<>());
 
         configProps.put(BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
         configProps.put(GROUP_ID_CONFIG, groupId);
@@ -45,21 +44,18 @@ public class KafkaConsumerConfig {
         configProps.put(PARTITION_ASSIGNMENT_STRATEGY_CONFIG, "org.apache.kafka.clients.consumer.RoundRobinAssignor");
 
         configProps.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
-        configProps.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, JsonDeserializer.class);
-
         configProps.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ErrorHandlingDeserializer.class);
         configProps.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, ErrorHandlingDeserializer.class);
-        configProps.put(ErrorHandlingDeserializer.VALUE_DESERIALIZER_CLASS, JsonDeserializer.class.getName());
+        configProps.put(ErrorHandlingDeserializer.VALUE_DESERIALIZER_CLASS, CompactMessageDeserializer.class.getName());
 
-        return new DefaultKafkaConsumerFactory<>(configProps, new StringDeserializer(), jsonDeserializer);
+        return new DefaultKafkaConsumerFactory<>(configProps, new StringDeserializer(), valueDeserializer);
     }
 
     // Factory específica para ConversionMessageEvent
     public ConsumerFactory<String, ConversionMessageEvent> conversionMessageEventConsumerFactory() {
         final Map<String, Object> configProps = new HashMap<>();
 
-        final JsonDeserializer<ConversionMessageEvent> jsonDeserializer = new JsonDeserializer<>(ConversionMessageEvent.class);
-        jsonDeserializer.addTrustedPackages("*");
+        final var valueDeserializer = new ErrorHandlingDeserializer<>(new CompactMessageDeserializer<>(ConversionMessageEvent.class));
 
         configProps.put(BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
         configProps.put(GROUP_ID_CONFIG, groupId);
@@ -70,17 +66,16 @@ public class KafkaConsumerConfig {
         configProps.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
         configProps.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ErrorHandlingDeserializer.class);
         configProps.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, ErrorHandlingDeserializer.class);
-        configProps.put(ErrorHandlingDeserializer.VALUE_DESERIALIZER_CLASS, JsonDeserializer.class.getName());
+        configProps.put(ErrorHandlingDeserializer.VALUE_DESERIALIZER_CLASS, CompactMessageDeserializer.class.getName());
 
-        return new DefaultKafkaConsumerFactory<>(configProps, new StringDeserializer(), jsonDeserializer);
+        return new DefaultKafkaConsumerFactory<>(configProps, new StringDeserializer(), valueDeserializer);
     }
 
     // Método genérico para criar factories específicas para qualquer tipo
     public <T> ConsumerFactory<String, T> createTypedConsumerFactory(Class<T> targetType) {
         final Map<String, Object> configProps = new HashMap<>();
 
-        final JsonDeserializer<T> jsonDeserializer = new JsonDeserializer<>(targetType);
-        jsonDeserializer.addTrustedPackages("*");
+        final var valueDeserializer = new ErrorHandlingDeserializer<>(new CompactMessageDeserializer<>(targetType));
 
         configProps.put(BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
         configProps.put(GROUP_ID_CONFIG, groupId);
@@ -91,9 +86,9 @@ public class KafkaConsumerConfig {
         configProps.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
         configProps.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ErrorHandlingDeserializer.class);
         configProps.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, ErrorHandlingDeserializer.class);
-        configProps.put(ErrorHandlingDeserializer.VALUE_DESERIALIZER_CLASS, JsonDeserializer.class.getName());
+        configProps.put(ErrorHandlingDeserializer.VALUE_DESERIALIZER_CLASS, CompactMessageDeserializer.class.getName());
 
-        return new DefaultKafkaConsumerFactory<>(configProps, new StringDeserializer(), jsonDeserializer);
+        return new DefaultKafkaConsumerFactory<>(configProps, new StringDeserializer(), valueDeserializer);
     }
 
     @Bean
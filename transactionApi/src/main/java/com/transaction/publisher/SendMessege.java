@@ -1,20 +1,33 @@
 package com.transaction.publisher;
 
-import com.transaction.domain.command.ConversionCommand;
+import com.messaging.command.ConversionCommand;
 import com.transaction.domain.dto.ConversionRequest;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.KafkaException;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.kafka.support.SendResult;
 import org.springframework.messaging.Message;
 import org.springframework.messaging.support.MessageBuilder;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
 
 @Service
+@Slf4j
 public class SendMessege {
 
     @Autowired
@@ -24,6 +37,30 @@ public class SendMessege {
     @Value("${kafka.topic.conversion.command:conversion-commands}")
     private String topicConversionCommand;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.kafka.producer.max-in-flight-sends:10000}")
+    private int maxInFlightSends;
+
+    @Value("${app.kafka.producer.send-timeout:30s}")
+    private Duration sendTimeout;
+
+    private Semaphore inFlightSends;
+
+    private Timer sendLatency;
+
+    private Counter sendErrors;
+
+    @PostConstruct
+    void initMetrics() {
+        inFlightSends = new Semaphore(maxInFlightSends);
+        sendLatency = Timer.builder("kafka.producer.send").register(meterRegistry);
+        sendErrors = Counter.builder("kafka.producer.send.errors").register(meterRegistry);
+        meterRegistry.gauge("kafka.producer.in_flight", inFlightSends,
+            semaphore -> maxInFlightSends - semaphore.availablePermits());
+    }
+
     /**
      * Envia comando de conversão usando objeto tipado.
      * 
@@ -31,13 +68,14 @@ public class SendMessege {
      * -> Usa o template específico para ConversionCommand
      * 
      * @param conversionRequest Request de conversão
+     * @return future que completa quando o broker confirma o comando
      */
-    public void sendConversionCommand(ConversionRequest conversionRequest) {
+    public CompletableFuture<SendResult<String, ConversionCommand>> sendConversionCommand(ConversionRequest conversionRequest) {
         // Criar o comando tipado diretamente
         ConversionCommand command = ConversionCommand.builder()
-                .commandId(UUID.randomUUID())
+                .commandId(UUID.randomUUID().toString())
                 .correlationId(UUID.randomUUID().toString())
-                .timestamp(LocalDateTime.now().toString())
+                .timestamp(LocalDateTime.now())
                 .transactionId(conversionRequest.getTransactionId())
                 .fromCurrencyCode(conversionRequest.getFromCurrencyCode())
                 .toCurrencyCode(conversionRequest.getToCurrencyCode())
@@ -46,7 +84,7 @@ public class SendMessege {
                 .productId(conversionRequest.getProductId())
                 .kingdomId(conversionRequest.getKingdomId())
                 .conversionDate(conversionRequest.getConversionDate() != null ? 
-                    conversionRequest.getConversionDate().toString() : LocalDateTime.now().toLocalDate().toString())
+                    conversionRequest.getConversionDate() : LocalDate.now())
                 .build();
 
         Message<ConversionCommand> message = MessageBuilder
@@ -55,6 +93,40 @@ public class SendMessege {
                 .setHeader("eventName", "ConversionCommand")
                 .build();
         
-        conversionCommandTemplate.send(message);
+        return send(message);
+    }
+
+    /**
+     * Envia sem bloquear, limitado a max-in-flight-sends envios sem confirmação do broker.
+     * Com o limite atingido, quem envia espera até send-timeout; a confirmação alimenta as métricas
+     */
+    private CompletableFuture<SendResult<String, ConversionCommand>> send(Message<ConversionCommand> message) {
+        try {
+            if (!inFlightSends.tryAcquire(sendTimeout.toNanos(), TimeUnit.NANOSECONDS)) {
+                sendErrors.increment();
+                throw new KafkaException("Limite de envios em andamento atingido (" + maxInFlightSends + ")");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new KafkaException("Envio interrompido aguardando vaga no producer", e);
+        }
+
+        long start = System.nanoTime();
+        CompletableFuture<SendResult<String, ConversionCommand>> future;
+        try {
+            future = conversionCommandTemplate.send(message);
+        } catch (RuntimeException e) {
+            inFlightSends.release();
+            sendErrors.increment();
+            throw e;
+        }
+        return future.whenComplete((result, error) -> {
+            inFlightSends.release();
+            sendLatency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            if (error != null) {
+                sendErrors.increment();
+                log.error("Falha ao enviar comando de conversão {}", message.getPayload().getCommandId(), error);
+            }
+        });
     }
 } 
\ No newline at end of file
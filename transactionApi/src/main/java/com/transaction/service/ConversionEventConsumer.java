@@ -9,7 +9,7 @@ import org.springframework.messaging.handler.annotation.Payload;
 import org.springframework.stereotype.Service;
 
 import java.util.Map;
-import com.transaction.domain.dto.ConversionMessageEvent;
+import com.messaging.event.ConversionMessageEvent;
 
 /**
  * Consumer para eventos de conversão usando factory específica.